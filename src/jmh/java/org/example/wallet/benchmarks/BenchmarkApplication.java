@@ -0,0 +1,130 @@
+package org.example.wallet.benchmarks;
+
+import org.example.wallet.WalletApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+final class BenchmarkApplication {
+    static final BigDecimal OPENING_BALANCE = new BigDecimal("1000000000.00");
+    private static final String REACTIVE_APPLICATION = "org.example.wallet.reactive.ReactiveWalletApplication";
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start(String... overrides) {
+        return start(WebApplicationType.NONE, overrides);
+    }
+
+    static ConfigurableApplicationContext startWeb(String... overrides) {
+        return start(WebApplicationType.SERVLET, Stream.concat(Stream.of("--server.port=0"), Stream.of(overrides))
+                .toArray(String[]::new));
+    }
+
+    static ConfigurableApplicationContext startReactive(String... overrides) {
+        String database = "bench-" + UUID.randomUUID();
+        String[] defaults = {
+                "--server.port=0",
+                "--spring.autoconfigure.exclude=",
+                "--spring.r2dbc.url=r2dbc:h2:mem:///" + database,
+                "--spring.r2dbc.username=sa",
+                "--spring.r2dbc.pool.max-size=16",
+                "--spring.liquibase.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1",
+                "--spring.liquibase.user=sa",
+                "--logging.level.root=" + System.getProperty("benchmark.log-level", "WARN")
+        };
+        String[] args = Stream.concat(Stream.of(defaults), Stream.of(overrides)).toArray(String[]::new);
+        return new SpringApplicationBuilder(reactiveApplication())
+                .web(WebApplicationType.REACTIVE)
+                .logStartupInfo(false)
+                .run(args);
+    }
+
+    static ConfigurableApplicationContext startPostgres(String url, String username, String password,
+                                                        String... overrides) {
+        String[] defaults = {
+                "--spring.datasource.url=" + url,
+                "--spring.datasource.driver-class-name=org.postgresql.Driver",
+                "--spring.datasource.username=" + username,
+                "--spring.datasource.password=" + password,
+                "--spring.jpa.hibernate.ddl-auto=none",
+                "--logging.level.root=" + System.getProperty("benchmark.log-level", "WARN"),
+                "--wallet.engine.ledger.log-dir=" + ledgerDir(),
+                "--wallet.engine.ledger.fsync=false"
+        };
+        String[] args = Stream.concat(Stream.of(defaults), Stream.of(overrides)).toArray(String[]::new);
+        return new SpringApplicationBuilder(WalletApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run(args);
+    }
+
+    private static ConfigurableApplicationContext start(WebApplicationType webApplicationType, String... overrides) {
+        String[] defaults = {
+                "--spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.datasource.hikari.maximum-pool-size=16",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=none",
+                "--logging.level.root=" + System.getProperty("benchmark.log-level", "WARN"),
+                "--wallet.engine.ledger.log-dir=" + ledgerDir(),
+                "--wallet.engine.ledger.fsync=false"
+        };
+        String[] args = Stream.concat(Stream.of(defaults), Stream.of(overrides)).toArray(String[]::new);
+        return new SpringApplicationBuilder(WalletApplication.class)
+                .web(webApplicationType)
+                .logStartupInfo(false)
+                .run(args);
+    }
+
+    private static String ledgerDir() {
+        try {
+            return Files.createTempDirectory("wallet-bench-ledger").toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Class<?> reactiveApplication() {
+        try {
+            return Class.forName(REACTIVE_APPLICATION);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Reactive stack is not on the classpath, run with -Preactive", e);
+        }
+    }
+
+    static UUID[] seedReactiveWallets(ConfigurableApplicationContext context, int count) {
+        String url = context.getEnvironment().getRequiredProperty("spring.liquibase.url");
+        String user = context.getEnvironment().getProperty("spring.liquibase.user");
+        return seedWallets(new JdbcTemplate(new DriverManagerDataSource(url, user, "")), count);
+    }
+
+    static UUID[] seedWallets(ConfigurableApplicationContext context, int count) {
+        return seedWallets(context.getBean(JdbcTemplate.class), count);
+    }
+
+    private static UUID[] seedWallets(JdbcTemplate jdbcTemplate, int count) {
+        UUID[] wallets = new UUID[count];
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            wallets[i] = UUID.randomUUID();
+            rows.add(new Object[]{wallets[i], OPENING_BALANCE});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO wallet (wallet_id, balance) VALUES (?, ?)", rows);
+        return wallets;
+    }
+}
@@ -0,0 +1,49 @@
+package org.example.wallet.benchmarks;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+
+public class WalletBenchmarks {
+    private static final int[] SERVICE_THREADS = {1, 8, 64};
+    private static final int[] STACK_THREADS = {64, 256};
+    private static final int TUNING_THREADS = 16;
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        if (args.length > 0) {
+            Main.main(args);
+            return;
+        }
+
+        new Runner(new OptionsBuilder()
+                .include(WalletMapperBenchmark.class.getSimpleName())
+                .include(WalletJsonBenchmark.class.getSimpleName())
+                .include(WalletRejectionBenchmark.class.getSimpleName())
+                .threads(1)
+                .build()).run();
+
+        for (int threads : SERVICE_THREADS) {
+            new Runner(new OptionsBuilder()
+                    .include(WalletServiceBenchmark.class.getSimpleName())
+                    .include(WalletHttpBenchmark.class.getSimpleName())
+                    .include(WalletTransferBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .build()).run();
+        }
+
+        new Runner(new OptionsBuilder()
+                .include(WalletTuningBenchmark.class.getSimpleName())
+                .threads(TUNING_THREADS)
+                .build()).run();
+
+        for (int threads : STACK_THREADS) {
+            new Runner(new OptionsBuilder()
+                    .include(WalletStackBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .build()).run();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package org.example.wallet.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WalletHttpBenchmark {
+    private static final int WALLETS = 1024;
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    @Param({"sql"})
+    public String engine;
+
+    @Param({"single", "uniform"})
+    public String distribution;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private String baseUrl;
+    private UUID[] wallets;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkApplication.startWeb(
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--wallet.engine.mode=" + engine,
+                "--wallet.cache.enabled=false");
+        wallets = BenchmarkApplication.seedWallets(context, WALLETS);
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/v1/wallet";
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Caller {
+        private long counter;
+    }
+
+    @Benchmark
+    public int doOperation(Caller caller) throws IOException, InterruptedException {
+        String type = (caller.counter++ & 1) == 0 ? "DEPOSIT" : "WITHDRAW";
+        String body = "{\"walletId\":\"" + nextWallet() + "\",\"operationType\":\"" + type + "\",\"amount\":1.00}";
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @Benchmark
+    public int getBalance() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/" + nextWallet())).GET().build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private UUID nextWallet() {
+        return "single".equals(distribution)
+                ? wallets[0]
+                : wallets[ThreadLocalRandom.current().nextInt(wallets.length)];
+    }
+}
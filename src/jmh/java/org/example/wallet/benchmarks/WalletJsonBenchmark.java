@@ -0,0 +1,69 @@
+package org.example.wallet.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.example.wallet.api.dtos.wallet.OperationType;
+import org.example.wallet.api.dtos.wallet.WalletOperationResponseDto;
+import org.example.wallet.api.dtos.wallet.WalletRequestDto;
+import org.example.wallet.money.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WalletJsonBenchmark {
+    private static final UUID WALLET_ID = UUID.fromString("11111111-1111-1111-1111-111111111111");
+
+    private final WalletRequestDto request =
+            new WalletRequestDto(WALLET_ID, OperationType.WITHDRAW, Money.parse("100.00"));
+    private final WalletOperationResponseDto response =
+            new WalletOperationResponseDto("Снятие", Money.parse("100.00"), Money.parse("900.00"));
+
+    private ObjectWriter requestWriter;
+    private ObjectWriter responseWriter;
+    private ObjectReader requestReader;
+    private byte[] requestJson;
+
+    @Setup
+    public void setup() throws JsonProcessingException {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        requestWriter = objectMapper.writerFor(WalletRequestDto.class);
+        responseWriter = objectMapper.writerFor(WalletOperationResponseDto.class);
+        requestReader = objectMapper.readerFor(WalletRequestDto.class);
+        requestJson = requestWriter.writeValueAsBytes(request);
+    }
+
+    @Benchmark
+    public byte[] serializeRequest() throws JsonProcessingException {
+        return requestWriter.writeValueAsBytes(request);
+    }
+
+    @Benchmark
+    public byte[] serializeOperationResponse() throws JsonProcessingException {
+        return responseWriter.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public WalletRequestDto deserializeRequest() throws IOException {
+        return requestReader.readValue(requestJson);
+    }
+}
@@ -0,0 +1,78 @@
+package org.example.wallet.benchmarks;
+
+import org.example.wallet.api.dtos.wallet.OperationType;
+import org.example.wallet.api.dtos.wallet.WalletOperationResponseDto;
+import org.example.wallet.api.dtos.wallet.WalletRequestDto;
+import org.example.wallet.api.mappers.WalletMapper;
+import org.example.wallet.api.mappers.WalletMapperImpl;
+import org.example.wallet.money.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WalletMapperBenchmark {
+    private static final UUID WALLET_ID = UUID.fromString("11111111-1111-1111-1111-111111111111");
+
+    private final WalletMapper walletMapper = new WalletMapperImpl();
+    private final WalletRequestDto request =
+            new WalletRequestDto(WALLET_ID, OperationType.DEPOSIT, Money.parse("100.5"));
+    private final Money balance = Money.parse("1100.00");
+
+    private final String amountText = "100.5";
+    private final BigDecimal decimalAmount = new BigDecimal("100.5");
+    private final BigDecimal decimalBalance = new BigDecimal("1000.00");
+    private final Money moneyAmount = Money.parse("100.5");
+    private final Money moneyBalance = Money.parse("1000.00");
+
+    @Benchmark
+    public WalletOperationResponseDto toOperationResponseDto() {
+        return walletMapper.toOperationResponseDto(request, balance);
+    }
+
+    @Benchmark
+    public BigDecimal parse_bigDecimal() {
+        return new BigDecimal(amountText).setScale(2, RoundingMode.UNNECESSARY);
+    }
+
+    @Benchmark
+    public Money parse_money() {
+        return Money.parse(amountText);
+    }
+
+    @Benchmark
+    public BigDecimal add_bigDecimal() {
+        return decimalBalance.add(decimalAmount).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    @Benchmark
+    public Money add_money() {
+        return moneyBalance.plus(moneyAmount);
+    }
+
+    @Benchmark
+    public String format_bigDecimal() {
+        return decimalBalance.add(decimalAmount).setScale(2, RoundingMode.HALF_UP).toPlainString();
+    }
+
+    @Benchmark
+    public String format_money() {
+        return moneyBalance.plus(moneyAmount).toString();
+    }
+}
@@ -0,0 +1,105 @@
+package org.example.wallet.benchmarks;
+
+import org.example.wallet.api.dtos.wallet.OperationType;
+import org.example.wallet.api.dtos.wallet.WalletRequestDto;
+import org.example.wallet.money.Money;
+import org.example.wallet.api.errors.ServerErrorCode;
+import org.example.wallet.api.errors.ServerException;
+import org.example.wallet.api.services.WalletService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WalletRejectionBenchmark {
+    private static final Money AMOUNT = Money.ofMinor(100);
+
+    @Param({"96"})
+    public int stackDepth;
+
+    private ConfigurableApplicationContext context;
+    private WalletService walletService;
+    private HttpClient httpClient;
+    private HttpRequest rejectedRequest;
+    private WalletRequestDto rejectedOperation;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkApplication.startWeb("--wallet.cache.enabled=false");
+        walletService = context.getBean(WalletService.class);
+        UUID emptyWallet = BenchmarkApplication.seedWallets(context, 1)[0];
+        context.getBean(JdbcTemplate.class).update("UPDATE wallet SET balance = 0 WHERE wallet_id = ?", emptyWallet);
+
+        rejectedOperation = new WalletRequestDto(emptyWallet, OperationType.WITHDRAW, AMOUNT);
+        String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/v1/wallet";
+        String body = "{\"walletId\":\"" + emptyWallet + "\",\"operationType\":\"WITHDRAW\",\"amount\":1.00}";
+        rejectedRequest = HttpRequest.newBuilder(URI.create(baseUrl))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object createWithStackTrace() {
+        return createAt(stackDepth, true);
+    }
+
+    @Benchmark
+    public Object createStackless() {
+        return createAt(stackDepth, false);
+    }
+
+    @Benchmark
+    public Object rejectedOperation() {
+        try {
+            return walletService.doOperation(rejectedOperation);
+        } catch (ServerException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public int rejectedRequest() throws IOException, InterruptedException {
+        return httpClient.send(rejectedRequest, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private static RuntimeException createAt(int depth, boolean withStackTrace) {
+        if (depth > 0) {
+            return createAt(depth - 1, withStackTrace);
+        }
+        return withStackTrace
+                ? new RuntimeException(ServerErrorCode.INSUFFICIENT_FUNDS.getErrorMessage())
+                : new ServerException(ServerErrorCode.INSUFFICIENT_FUNDS);
+    }
+}
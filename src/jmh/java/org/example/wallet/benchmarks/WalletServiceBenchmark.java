@@ -0,0 +1,86 @@
+package org.example.wallet.benchmarks;
+
+import org.example.wallet.api.dtos.wallet.OperationType;
+import org.example.wallet.api.dtos.wallet.WalletBalanceDto;
+import org.example.wallet.api.dtos.wallet.WalletOperationResponseDto;
+import org.example.wallet.api.dtos.wallet.WalletRequestDto;
+import org.example.wallet.money.Money;
+import org.example.wallet.api.services.WalletService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WalletServiceBenchmark {
+    private static final Money AMOUNT = Money.ofMinor(100);
+    private static final int WALLETS = 1024;
+
+    @Param({"sql", "batch", "ledger"})
+    public String engine;
+
+    @Param({"single", "uniform"})
+    public String distribution;
+
+    @Param({"false"})
+    public boolean cache;
+
+    private ConfigurableApplicationContext context;
+    private WalletService walletService;
+    private UUID[] wallets;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkApplication.start(
+                "--wallet.engine.mode=" + engine,
+                "--wallet.cache.enabled=" + cache);
+        walletService = context.getBean(WalletService.class);
+        wallets = BenchmarkApplication.seedWallets(context, WALLETS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Caller {
+        private long counter;
+    }
+
+    @Benchmark
+    public WalletOperationResponseDto doOperation(Caller caller) {
+        OperationType type = (caller.counter++ & 1) == 0 ? OperationType.DEPOSIT : OperationType.WITHDRAW;
+        return walletService.doOperation(new WalletRequestDto(nextWallet(), type, AMOUNT));
+    }
+
+    @Benchmark
+    public WalletBalanceDto getBalance() {
+        return walletService.getBalance(nextWallet());
+    }
+
+    private UUID nextWallet() {
+        return "single".equals(distribution)
+                ? wallets[0]
+                : wallets[ThreadLocalRandom.current().nextInt(wallets.length)];
+    }
+}
@@ -0,0 +1,87 @@
+package org.example.wallet.benchmarks;
+
+import org.example.wallet.api.dtos.wallet.OperationType;
+import org.example.wallet.api.dtos.wallet.WalletRequestDto;
+import org.example.wallet.api.dtos.wallet.WalletTransferRequestDto;
+import org.example.wallet.api.services.WalletService;
+import org.example.wallet.api.services.WalletTransferService;
+import org.example.wallet.money.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WalletTransferBenchmark {
+    private static final Money AMOUNT = Money.parse("1.00");
+    private static final int WALLETS = 1024;
+
+    @Param({"pair", "uniform"})
+    public String distribution;
+
+    private ConfigurableApplicationContext context;
+    private WalletService walletService;
+    private WalletTransferService walletTransferService;
+    private UUID[] wallets;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkApplication.start("--wallet.cache.enabled=false");
+        walletService = context.getBean(WalletService.class);
+        walletTransferService = context.getBean(WalletTransferService.class);
+        wallets = BenchmarkApplication.seedWallets(context, WALLETS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Caller {
+        private long counter;
+    }
+
+    @Benchmark
+    public Object transfer(Caller caller) {
+        UUID[] pair = nextPair(caller);
+        return walletTransferService.transfer(new WalletTransferRequestDto(pair[0], pair[1], AMOUNT));
+    }
+
+    @Benchmark
+    public Object twoCalls(Caller caller) {
+        UUID[] pair = nextPair(caller);
+        walletService.doOperation(new WalletRequestDto(pair[0], OperationType.WITHDRAW, AMOUNT));
+        return walletService.doOperation(new WalletRequestDto(pair[1], OperationType.DEPOSIT, AMOUNT));
+    }
+
+    private UUID[] nextPair(Caller caller) {
+        boolean forward = (caller.counter++ & 1) == 0;
+        if ("pair".equals(distribution)) {
+            return forward ? new UUID[]{wallets[0], wallets[1]} : new UUID[]{wallets[1], wallets[0]};
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int from = random.nextInt(wallets.length);
+        int to = (from + 1 + random.nextInt(wallets.length - 1)) % wallets.length;
+        return new UUID[]{wallets[from], wallets[to]};
+    }
+}
@@ -0,0 +1,112 @@
+package org.example.wallet.benchmarks;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.example.wallet.api.dtos.wallet.OperationType;
+import org.example.wallet.api.dtos.wallet.WalletBalanceDto;
+import org.example.wallet.api.dtos.wallet.WalletOperationResponseDto;
+import org.example.wallet.api.dtos.wallet.WalletRequestDto;
+import org.example.wallet.api.services.WalletService;
+import org.example.wallet.money.Money;
+import org.example.wallet.store.entities.Wallet;
+import org.example.wallet.store.repo.WalletRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WalletTuningBenchmark {
+    private static final Money AMOUNT = Money.ofMinor(100);
+    private static final int WALLETS = 1024;
+
+    @Param({"default", "perf"})
+    public String profile;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private WalletService walletService;
+    private WalletRepository walletRepository;
+    private TransactionTemplate readOnly;
+    private UUID[] wallets;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        String url = System.getProperty("benchmark.postgres.url");
+        String username = System.getProperty("benchmark.postgres.username", "postgres");
+        String password = System.getProperty("benchmark.postgres.password", "postgres");
+        if (url == null) {
+            postgres = EmbeddedPostgres.start();
+            url = postgres.getJdbcUrl("postgres", "postgres");
+        }
+        context = BenchmarkApplication.startPostgres(url, username, password,
+                "--spring.profiles.active=" + profile,
+                "--wallet.cache.enabled=false",
+                "--wallet.outbox.enabled=false");
+        walletService = context.getBean(WalletService.class);
+        walletRepository = context.getBean(WalletRepository.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        wallets = BenchmarkApplication.seedWallets(context, WALLETS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Caller {
+        private long counter;
+    }
+
+    @Benchmark
+    public WalletOperationResponseDto doOperation(Caller caller) {
+        OperationType type = (caller.counter++ & 1) == 0 ? OperationType.DEPOSIT : OperationType.WITHDRAW;
+        return walletService.doOperation(new WalletRequestDto(nextWallet(), type, AMOUNT));
+    }
+
+    @Benchmark
+    public WalletBalanceDto getBalance() {
+        return walletService.getBalance(nextWallet());
+    }
+
+    @Benchmark
+    public Optional<Wallet> loadEntity() {
+        return readOnly.execute(status -> walletRepository.findById(nextWallet()));
+    }
+
+    @Benchmark
+    public Optional<Money> loadBalance() {
+        return readOnly.execute(status -> walletRepository.findBalanceById(nextWallet()));
+    }
+
+    private UUID nextWallet() {
+        return wallets[ThreadLocalRandom.current().nextInt(wallets.length)];
+    }
+}
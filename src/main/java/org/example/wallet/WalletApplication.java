@@ -1,12 +1,22 @@
 package org.example.wallet;
 
+import org.example.wallet.migration.MigrationApplication;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
+@EnableScheduling
+@ImportRuntimeHints(WalletRuntimeHints.class)
 public class WalletApplication {
 
     public static void main(String[] args) {
+        if (MigrationApplication.isRequested(args)) {
+            System.exit(MigrationApplication.migrate(args));
+        }
         SpringApplication.run(WalletApplication.class, args);
     }
 
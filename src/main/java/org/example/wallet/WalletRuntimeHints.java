@@ -0,0 +1,36 @@
+package org.example.wallet;
+
+import org.example.wallet.api.dtos.error.ErrorDtoResponse;
+import org.example.wallet.api.dtos.error.SingleErrorDto;
+import org.example.wallet.api.dtos.wallet.CurrencyBalanceDto;
+import org.example.wallet.api.dtos.wallet.WalletBalanceDto;
+import org.example.wallet.api.dtos.wallet.WalletBalancesDto;
+import org.example.wallet.api.dtos.wallet.WalletBatchItemResultDto;
+import org.example.wallet.api.dtos.wallet.WalletCreateRequestDto;
+import org.example.wallet.api.dtos.wallet.WalletRequestDto;
+import org.example.wallet.outbox.WalletBalanceEvent;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+public class WalletRuntimeHints implements RuntimeHintsRegistrar {
+    private static final Class<?>[] JSON_TYPES = {
+            ErrorDtoResponse.class,
+            SingleErrorDto.class,
+            CurrencyBalanceDto.class,
+            WalletBalanceDto.class,
+            WalletBalancesDto.class,
+            WalletBatchItemResultDto.class,
+            WalletCreateRequestDto.class,
+            WalletRequestDto.class,
+            WalletBalanceEvent.class
+    };
+
+    private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        bindingRegistrar.registerReflectionHints(hints.reflection(), JSON_TYPES);
+        hints.resources().registerPattern("db/changelog/**");
+    }
+}
@@ -0,0 +1,47 @@
+package org.example.wallet.api.controllers;
+
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.RequiredArgsConstructor;
+import org.example.wallet.api.dtos.wallet.BatchMode;
+import org.example.wallet.api.dtos.wallet.WalletBatchItemResultDto;
+import org.example.wallet.api.dtos.wallet.WalletRequestDto;
+import org.example.wallet.api.services.WalletBatchService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("api/v1/wallet")
+@ConditionalOnExpression("'${wallet.engine.mode:sql}' != 'ledger'")
+public class WalletBatchController {
+    private final WalletBatchService walletBatchService;
+
+    private static final String BATCH = "/batch";
+
+    @PostMapping(BATCH)
+    public void doBatch(
+            @RequestBody @NotEmpty(message = "Пакет операций не может быть пустым") List<@Valid WalletRequestDto> operations,
+            @RequestParam(name = "mode", defaultValue = "ATOMIC") BatchMode mode,
+            HttpServletResponse response) throws IOException {
+        walletBatchService.validate(operations);
+        if (mode == BatchMode.ATOMIC) {
+            List<WalletBatchItemResultDto> results = walletBatchService.executeAtomically(operations);
+            prepare(response);
+            walletBatchService.writeResults(results, response.getOutputStream());
+        } else {
+            prepare(response);
+            walletBatchService.executeBestEffort(operations, response.getOutputStream());
+        }
+    }
+
+    private static void prepare(HttpServletResponse response) {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+    }
+}
@@ -1,12 +1,23 @@
 package org.example.wallet.api.controllers;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import org.example.wallet.api.dtos.wallet.WalletOperationResponseDto;
 import org.example.wallet.api.dtos.wallet.WalletRequestDto;
 import org.example.wallet.api.dtos.wallet.WalletBalanceDto;
+import org.example.wallet.api.dtos.wallet.WalletBalancesDto;
+import org.example.wallet.api.dtos.wallet.WalletTransactionPageDto;
+import org.example.wallet.api.services.WalletEventService;
 import org.example.wallet.api.services.WalletService;
+import org.example.wallet.api.services.WalletTransactionService;
+import org.example.wallet.limiter.ConcurrencyLimited;
+import org.example.wallet.limiter.LimitGroup;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.UUID;
 
@@ -15,16 +26,50 @@ import java.util.UUID;
 @RequestMapping("api/v1/wallet")
 public class WalletController {
     private final WalletService walletService;
+    private final WalletTransactionService walletTransactionService;
+    private final WalletEventService walletEventService;
 
     private static final String GET_BALANCE = "/{wallet_uuid}";
+    private static final String GET_BALANCES = "/{wallet_uuid}/balances";
+    private static final String GET_TRANSACTIONS = "/{wallet_uuid}/transactions";
+    private static final String GET_EVENTS = "/{wallet_uuid}/events";
 
     @PostMapping
-    public WalletOperationResponseDto doOperation(@RequestBody @Valid WalletRequestDto walletRequestDto) {
-        return walletService.doOperation(walletRequestDto);
+    @ConcurrencyLimited(LimitGroup.WRITE)
+    public WalletOperationResponseDto doOperation(
+            @RequestBody @Valid WalletRequestDto walletRequestDto,
+            @RequestHeader(name = "Idempotency-Key", required = false)
+            @Size(min = 1, max = 128, message = "Ключ идемпотентности должен содержать от 1 до 128 символов")
+            String idempotencyKey) {
+        return walletService.doOperation(walletRequestDto, idempotencyKey);
     }
 
     @GetMapping(GET_BALANCE)
+    @ConcurrencyLimited(LimitGroup.READ)
     public WalletBalanceDto getBalance(@PathVariable("wallet_uuid") UUID walletUuid) {
         return walletService.getBalance(walletUuid);
     }
+
+    @GetMapping(GET_BALANCES)
+    @ConcurrencyLimited(LimitGroup.READ)
+    public WalletBalancesDto getBalances(@PathVariable("wallet_uuid") UUID walletUuid) {
+        return walletService.getBalances(walletUuid);
+    }
+
+    @GetMapping(GET_TRANSACTIONS)
+    @ConcurrencyLimited(LimitGroup.READ)
+    public WalletTransactionPageDto getTransactions(
+            @PathVariable("wallet_uuid") UUID walletUuid,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50")
+            @Min(value = 1, message = "Размер страницы должен быть не меньше 1")
+            @Max(value = 500, message = "Размер страницы должен быть не больше 500")
+            int limit) {
+        return walletTransactionService.getTransactions(walletUuid, cursor, limit);
+    }
+
+    @GetMapping(value = GET_EVENTS, produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@PathVariable("wallet_uuid") UUID walletUuid) {
+        return walletEventService.subscribe(walletUuid);
+    }
 }
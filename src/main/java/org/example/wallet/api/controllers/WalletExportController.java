@@ -0,0 +1,33 @@
+package org.example.wallet.api.controllers;
+
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.example.wallet.api.dtos.wallet.ExportFormat;
+import org.example.wallet.api.services.WalletExportService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.UUID;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("api/v1/wallets")
+@ConditionalOnExpression("'${wallet.engine.mode:sql}' != 'ledger'")
+public class WalletExportController {
+    private final WalletExportService walletExportService;
+
+    private static final String EXPORT = "/export";
+    private static final String TEXT_CSV = "text/csv";
+
+    @GetMapping(EXPORT)
+    public void export(
+            @RequestParam(name = "format", defaultValue = "NDJSON") ExportFormat format,
+            @RequestParam(name = "after", required = false) UUID after,
+            HttpServletResponse response) throws IOException {
+        response.setContentType(format == ExportFormat.CSV ? TEXT_CSV : MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        walletExportService.export(after, format, response.getOutputStream());
+    }
+}
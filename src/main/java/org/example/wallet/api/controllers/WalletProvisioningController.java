@@ -0,0 +1,44 @@
+package org.example.wallet.api.controllers;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.example.wallet.api.dtos.wallet.WalletCreateRequestDto;
+import org.example.wallet.api.dtos.wallet.WalletCreateResponseDto;
+import org.example.wallet.api.dtos.wallet.WalletImportResultDto;
+import org.example.wallet.api.services.WalletProvisioningService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("api/v1/wallets")
+@ConditionalOnExpression("'${wallet.engine.mode:sql}' != 'ledger'")
+public class WalletProvisioningController {
+    private final WalletProvisioningService walletProvisioningService;
+
+    private static final String IMPORT = "/import";
+    private static final String TEXT_CSV = "text/csv";
+
+    @PostMapping
+    public ResponseEntity<WalletCreateResponseDto> create(@RequestBody @Valid WalletCreateRequestDto dto) {
+        WalletCreateResponseDto created = walletProvisioningService.create(dto);
+        return ResponseEntity.created(URI.create("/api/v1/wallet/" + created.walletId()))
+                .body(created);
+    }
+
+    @PostMapping(value = IMPORT, consumes = TEXT_CSV)
+    public WalletImportResultDto importCsv(InputStream body) {
+        return walletProvisioningService.importCsv(body);
+    }
+
+    @PostMapping(value = IMPORT, consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public WalletImportResultDto importNdjson(InputStream body) throws IOException {
+        return walletProvisioningService.importNdjson(body);
+    }
+}
@@ -0,0 +1,24 @@
+package org.example.wallet.api.controllers;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.example.wallet.api.dtos.wallet.WalletTransferRequestDto;
+import org.example.wallet.api.dtos.wallet.WalletTransferResponseDto;
+import org.example.wallet.api.services.WalletTransferService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("api/v1/wallet")
+@ConditionalOnExpression("'${wallet.engine.mode:sql}' != 'ledger'")
+public class WalletTransferController {
+    private final WalletTransferService walletTransferService;
+
+    private static final String TRANSFER = "/transfer";
+
+    @PostMapping(TRANSFER)
+    public WalletTransferResponseDto transfer(@RequestBody @Valid WalletTransferRequestDto walletTransferRequestDto) {
+        return walletTransferService.transfer(walletTransferRequestDto);
+    }
+}
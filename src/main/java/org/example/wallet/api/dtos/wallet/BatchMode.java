@@ -0,0 +1,6 @@
+package org.example.wallet.api.dtos.wallet;
+
+public enum BatchMode {
+    ATOMIC,
+    BEST_EFFORT
+}
@@ -0,0 +1,6 @@
+package org.example.wallet.api.dtos.wallet;
+
+import org.example.wallet.money.Money;
+
+public record CurrencyBalanceDto(String currency, Money balance) {
+}
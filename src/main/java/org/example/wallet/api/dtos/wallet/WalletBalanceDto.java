@@ -1,6 +1,6 @@
 package org.example.wallet.api.dtos.wallet;
 
-import java.math.BigDecimal;
+import org.example.wallet.money.Money;
 
-public record WalletBalanceDto(BigDecimal balance) {
+public record WalletBalanceDto(Money balance) {
 }
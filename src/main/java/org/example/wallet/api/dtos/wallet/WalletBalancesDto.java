@@ -0,0 +1,6 @@
+package org.example.wallet.api.dtos.wallet;
+
+import java.util.List;
+
+public record WalletBalancesDto(List<CurrencyBalanceDto> balances) {
+}
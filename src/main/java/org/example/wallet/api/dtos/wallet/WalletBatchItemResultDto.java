@@ -0,0 +1,12 @@
+package org.example.wallet.api.dtos.wallet;
+
+import java.util.UUID;
+
+public record WalletBatchItemResultDto(
+        int index,
+        UUID walletId,
+        boolean applied,
+        String errorCode,
+        String message
+) {
+}
@@ -0,0 +1,14 @@
+package org.example.wallet.api.dtos.wallet;
+
+import jakarta.validation.constraints.PositiveOrZero;
+import org.example.wallet.money.Money;
+
+import java.util.UUID;
+
+public record WalletCreateRequestDto(
+        UUID walletId,
+
+        @PositiveOrZero(message = "Начальный баланс не может быть отрицательным")
+        Money balance
+) {
+}
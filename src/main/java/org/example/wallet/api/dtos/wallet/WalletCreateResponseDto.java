@@ -0,0 +1,11 @@
+package org.example.wallet.api.dtos.wallet;
+
+import org.example.wallet.money.Money;
+
+import java.util.UUID;
+
+public record WalletCreateResponseDto(
+        UUID walletId,
+        Money balance
+) {
+}
@@ -0,0 +1,9 @@
+package org.example.wallet.api.dtos.wallet;
+
+public record WalletImportResultDto(
+        long rows,
+        long created,
+        long skipped,
+        long durationMillis
+) {
+}
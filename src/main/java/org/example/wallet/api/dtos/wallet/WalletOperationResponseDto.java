@@ -1,10 +1,11 @@
 package org.example.wallet.api.dtos.wallet;
 
-import java.math.BigDecimal;
+import org.example.wallet.money.Money;
 
 public record WalletOperationResponseDto
         (
                 String description,
-                BigDecimal amount
+                Money amount,
+                Money balance
         ) {
 }
@@ -2,8 +2,9 @@ package org.example.wallet.api.dtos.wallet;
 
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import org.example.wallet.money.Money;
 
-import java.math.BigDecimal;
+import java.util.Currency;
 import java.util.UUID;
 
 public record WalletRequestDto(
@@ -15,6 +16,11 @@ public record WalletRequestDto(
 
         @NotNull(message = "Поле \"сумма\" не может быть пустым")
         @Positive(message = "Сумма операции должна быть больше 0")
-        BigDecimal amount
+        Money amount,
+
+        Currency currency
 ) {
+    public WalletRequestDto(UUID walletId, OperationType operationType, Money amount) {
+        this(walletId, operationType, amount, null);
+    }
 }
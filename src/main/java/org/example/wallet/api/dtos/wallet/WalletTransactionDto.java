@@ -0,0 +1,14 @@
+package org.example.wallet.api.dtos.wallet;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+public record WalletTransactionDto(
+        long transactionId,
+        OperationType operationType,
+        String currency,
+        BigDecimal amount,
+        BigDecimal balance,
+        OffsetDateTime createdAt
+) {
+}
@@ -0,0 +1,20 @@
+package org.example.wallet.api.dtos.wallet;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import org.example.wallet.money.Money;
+
+import java.util.UUID;
+
+public record WalletTransferRequestDto(
+        @NotNull(message = "Поле \"id кошелька списания\" не может быть пустым")
+        UUID fromWalletId,
+
+        @NotNull(message = "Поле \"id кошелька зачисления\" не может быть пустым")
+        UUID toWalletId,
+
+        @NotNull(message = "Поле \"сумма\" не может быть пустым")
+        @Positive(message = "Сумма операции должна быть больше 0")
+        Money amount
+) {
+}
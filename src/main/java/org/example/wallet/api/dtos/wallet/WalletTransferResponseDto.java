@@ -0,0 +1,6 @@
+package org.example.wallet.api.dtos.wallet;
+
+import java.math.BigDecimal;
+
+public record WalletTransferResponseDto(BigDecimal amount, BigDecimal fromBalance, BigDecimal toBalance) {
+}
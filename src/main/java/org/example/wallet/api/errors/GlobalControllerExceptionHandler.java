@@ -1,9 +1,15 @@
 package org.example.wallet.api.errors;
 
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
 import lombok.extern.slf4j.Slf4j;
 import org.example.wallet.api.dtos.error.ErrorDtoResponse;
 import org.example.wallet.api.dtos.error.SingleErrorDto;
+import org.example.wallet.money.Money;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.MessageSourceResolvable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.validation.FieldError;
 import org.springframework.validation.ObjectError;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
@@ -11,6 +17,7 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import org.springframework.web.servlet.NoHandlerFoundException;
 
@@ -19,23 +26,41 @@ import java.util.List;
 
 @RestControllerAdvice
 @Slf4j
+@EnableConfigurationProperties(RejectionLogProperties.class)
 public class GlobalControllerExceptionHandler {
+    private final RejectionLogSampler rejectionLogSampler;
 
-    @ExceptionHandler(ServerException.class)
-    @ResponseStatus(HttpStatus.BAD_REQUEST)
-    public ErrorDtoResponse handleBadRequestException(ServerException ex) {
-        log.error("ServerException occurred: {}", ex.getMessage(), ex);
+    public GlobalControllerExceptionHandler(RejectionLogProperties rejectionLogProperties) {
+        this.rejectionLogSampler = new RejectionLogSampler(rejectionLogProperties);
+    }
 
+    @ExceptionHandler(ServerException.class)
+    public ResponseEntity<ErrorDtoResponse> handleBadRequestException(ServerException ex) {
         ServerErrorCode code = ex.getServerErrorCode();
 
+        int suppressed = rejectionLogSampler.sample(code);
+        if (suppressed != RejectionLogSampler.SUPPRESSED) {
+            log.warn("Request rejected with {}: {} ({} similar rejections suppressed)",
+                    code, ex.getMessage(), suppressed);
+        }
+
         SingleErrorDto error = SingleErrorDto.builder()
                 .errorCode(code.name())
                 .message(ex.getMessage())
                 .build();
 
-        return ErrorDtoResponse.builder()
-                .errors(List.of(error))
-                .build();
+        return ResponseEntity.status(code.getHttpStatus())
+                .body(ErrorDtoResponse.builder()
+                        .errors(List.of(error))
+                        .build());
+    }
+
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<ErrorDtoResponse> handleNotReadable(HttpMessageNotReadableException ex) {
+        if (!(ex.getCause() instanceof InvalidFormatException invalid) || invalid.getTargetType() != Money.class) {
+            throw ex;
+        }
+        return handleBadRequestException(new ServerException(ServerErrorCode.INVALID_AMOUNT));
     }
 
     @ExceptionHandler(NoHandlerFoundException.class)
@@ -107,4 +132,23 @@ public class GlobalControllerExceptionHandler {
                 .errors(errors)
                 .build();
     }
+
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorDtoResponse handleMethodValidation(HandlerMethodValidationException ex) {
+        log.error("HandlerMethodValidationException: validation failed", ex);
+
+        List<SingleErrorDto> errors = new ArrayList<>();
+
+        for (MessageSourceResolvable error : ex.getAllErrors()) {
+            errors.add(SingleErrorDto.builder()
+                    .errorCode("VALIDATION_ERROR")
+                    .message(error.getDefaultMessage())
+                    .build());
+        }
+
+        return ErrorDtoResponse.builder()
+                .errors(errors)
+                .build();
+    }
 }
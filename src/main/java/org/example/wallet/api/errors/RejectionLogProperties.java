@@ -0,0 +1,13 @@
+package org.example.wallet.api.errors;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "wallet.rejection-log")
+public record RejectionLogProperties(
+        @DefaultValue("10") int permitsPerInterval,
+        @DefaultValue("1s") Duration interval
+) {
+}
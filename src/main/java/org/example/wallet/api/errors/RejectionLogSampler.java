@@ -0,0 +1,46 @@
+package org.example.wallet.api.errors;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class RejectionLogSampler {
+    public static final int SUPPRESSED = -1;
+
+    private final int permitsPerInterval;
+    private final long intervalNanos;
+    private final Window[] windows;
+
+    public RejectionLogSampler(RejectionLogProperties properties) {
+        this.permitsPerInterval = properties.permitsPerInterval();
+        this.intervalNanos = properties.interval().toNanos();
+        this.windows = new Window[ServerErrorCode.values().length];
+        long now = System.nanoTime();
+        for (int i = 0; i < windows.length; i++) {
+            windows[i] = new Window(now);
+        }
+    }
+
+    public int sample(ServerErrorCode code) {
+        Window window = windows[code.ordinal()];
+        long now = System.nanoTime();
+        long start = window.start.get();
+        if (now - start >= intervalNanos && window.start.compareAndSet(start, now)) {
+            window.permits.set(0);
+        }
+        if (window.permits.incrementAndGet() <= permitsPerInterval) {
+            return window.suppressed.getAndSet(0);
+        }
+        window.suppressed.incrementAndGet();
+        return SUPPRESSED;
+    }
+
+    private static final class Window {
+        private final AtomicLong start;
+        private final AtomicInteger permits = new AtomicInteger();
+        private final AtomicInteger suppressed = new AtomicInteger();
+
+        private Window(long start) {
+            this.start = new AtomicLong(start);
+        }
+    }
+}
@@ -2,12 +2,34 @@ package org.example.wallet.api.errors;
 
 import lombok.AllArgsConstructor;
 import lombok.Getter;
+import org.springframework.http.HttpStatus;
 
 @AllArgsConstructor
 @Getter
 public enum ServerErrorCode {
-    WALLET_NOT_FOUND("Кошелек с UUID %s не найден."),
-    INSUFFICIENT_FUNDS("На вашем счете не достаточно средств для выполнения операции.");
+    WALLET_NOT_FOUND("Кошелек с UUID %s не найден.", HttpStatus.BAD_REQUEST),
+    INSUFFICIENT_FUNDS("На вашем счете не достаточно средств для выполнения операции.", HttpStatus.BAD_REQUEST),
+    WALLET_BUSY("По кошельку выполняется слишком много операций, повторите попытку позже.",
+            HttpStatus.TOO_MANY_REQUESTS),
+    BATCH_TOO_LARGE("Пакет не может содержать больше %s операций.", HttpStatus.BAD_REQUEST),
+    BATCH_ROLLED_BACK("Операция отменена, так как другая операция атомарного пакета не выполнена.",
+            HttpStatus.BAD_REQUEST),
+    BATCH_ABORTED("Операция не выполнена: обработка пакета прервана из-за внутренней ошибки.",
+            HttpStatus.INTERNAL_SERVER_ERROR),
+    IDEMPOTENCY_KEY_REUSED("Ключ идемпотентности уже использован для другой операции.",
+            HttpStatus.UNPROCESSABLE_ENTITY),
+    OPERATION_IN_PROGRESS("Операция с этим ключом идемпотентности еще выполняется, повторите попытку позже.",
+            HttpStatus.CONFLICT),
+    INVALID_CURSOR("Некорректный курсор постраничной выдачи.", HttpStatus.BAD_REQUEST),
+    SAME_WALLET_TRANSFER("Кошелек списания и кошелек зачисления должны различаться.", HttpStatus.BAD_REQUEST),
+    INVALID_AMOUNT("Сумма должна быть числом не более чем с двумя знаками после запятой.", HttpStatus.BAD_REQUEST),
+    WALLET_ALREADY_EXISTS("Кошелек с UUID %s уже существует.", HttpStatus.CONFLICT),
+    INVALID_IMPORT_ROW("Некорректная строка импорта № %s.", HttpStatus.BAD_REQUEST),
+    SERVER_OVERLOADED("Сервис перегружен, повторите попытку позже.", HttpStatus.SERVICE_UNAVAILABLE),
+    UNSUPPORTED_CURRENCY("Операции в валюте %s не поддерживаются.", HttpStatus.BAD_REQUEST),
+    INVALID_CURRENCY_AMOUNT("Сумма в валюте %s содержит больше знаков после запятой, чем допускает валюта.",
+            HttpStatus.BAD_REQUEST);
 
     private final String errorMessage;
+    private final HttpStatus httpStatus;
 }
@@ -7,12 +7,12 @@ public class ServerException extends RuntimeException {
     private final ServerErrorCode serverErrorCode;
 
     public ServerException(ServerErrorCode serverErrorCode) {
-        super(serverErrorCode.getErrorMessage());
+        super(serverErrorCode.getErrorMessage(), null, false, false);
         this.serverErrorCode = serverErrorCode;
     }
 
     public ServerException(ServerErrorCode serverErrorCode, String params) {
-        super(String.format(serverErrorCode.getErrorMessage(), params));
+        super(String.format(serverErrorCode.getErrorMessage(), params), null, false, false);
         this.serverErrorCode = serverErrorCode;
     }
 }
@@ -0,0 +1,11 @@
+package org.example.wallet.api.services;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "wallet.batch")
+public record WalletBatchProperties(
+        @DefaultValue("500") int chunkSize,
+        @DefaultValue("100000") int maxOperations
+) {
+}
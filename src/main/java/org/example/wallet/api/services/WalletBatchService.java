@@ -0,0 +1,241 @@
+package org.example.wallet.api.services;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.example.wallet.api.dtos.wallet.BatchMode;
+import org.example.wallet.api.dtos.wallet.OperationType;
+import org.example.wallet.api.dtos.wallet.WalletBatchItemResultDto;
+import org.example.wallet.api.dtos.wallet.WalletRequestDto;
+import org.example.wallet.api.errors.ServerErrorCode;
+import org.example.wallet.api.errors.ServerException;
+import org.example.wallet.cache.BalanceCache;
+import org.example.wallet.engine.WalletEngine;
+import org.example.wallet.money.CurrencyProperties;
+import org.example.wallet.store.repo.WalletBatchRepository;
+import org.example.wallet.store.repo.WalletSlotRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+@Service
+@Slf4j
+@ConditionalOnExpression("'${wallet.engine.mode:sql}' != 'ledger'")
+public class WalletBatchService {
+    private static final Comparator<UUID> WALLET_LOCK_ORDER = (left, right) -> {
+        int high = Long.compareUnsigned(left.getMostSignificantBits(), right.getMostSignificantBits());
+        return high != 0 ? high : Long.compareUnsigned(left.getLeastSignificantBits(), right.getLeastSignificantBits());
+    };
+
+    private final WalletBatchRepository walletBatchRepository;
+    private final WalletSlotRepository walletSlotRepository;
+    private final boolean consolidateSlots;
+    private final TransactionTemplate transactionTemplate;
+    private final BalanceCache balanceCache;
+    private final ObjectMapper objectMapper;
+    private final WalletBatchProperties properties;
+    private final CurrencyProperties currencyProperties;
+
+    public WalletBatchService(WalletBatchRepository walletBatchRepository, WalletSlotRepository walletSlotRepository,
+                              WalletEngine walletEngine, PlatformTransactionManager transactionManager,
+                              BalanceCache balanceCache, ObjectMapper objectMapper, WalletBatchProperties properties,
+                              CurrencyProperties currencyProperties) {
+        this.walletBatchRepository = walletBatchRepository;
+        this.walletSlotRepository = walletSlotRepository;
+        this.consolidateSlots = walletEngine.splitsBalances();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.balanceCache = balanceCache;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.currencyProperties = currencyProperties;
+    }
+
+    public void validate(List<WalletRequestDto> operations) {
+        if (operations.size() > properties.maxOperations()) {
+            throw new ServerException(ServerErrorCode.BATCH_TOO_LARGE, String.valueOf(properties.maxOperations()));
+        }
+        for (WalletRequestDto operation : operations) {
+            if (!currencyProperties.isBase(operation.currency())) {
+                throw new ServerException(ServerErrorCode.UNSUPPORTED_CURRENCY,
+                        operation.currency().getCurrencyCode());
+            }
+        }
+    }
+
+    public List<WalletBatchItemResultDto> executeAtomically(List<WalletRequestDto> operations) {
+        log.info("Applying batch of {} operations in {} mode", operations.size(), BatchMode.ATOMIC);
+        int[] order = walletOrder(operations, 0, operations.size());
+        WalletBatchItemResultDto[] results = new WalletBatchItemResultDto[operations.size()];
+        boolean applied = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            for (int from = 0; from < order.length; from += properties.chunkSize()) {
+                applyChunk(operations, order, from, Math.min(from + properties.chunkSize(), order.length), results);
+            }
+            for (WalletBatchItemResultDto result : results) {
+                if (!result.applied()) {
+                    status.setRollbackOnly();
+                    return false;
+                }
+            }
+            return true;
+        }));
+
+        List<WalletBatchItemResultDto> ordered = Arrays.asList(results);
+        if (applied) {
+            evictApplied(ordered);
+            return ordered;
+        }
+
+        log.info("Atomic batch of {} operations rolled back", operations.size());
+        List<WalletBatchItemResultDto> rolledBack = new ArrayList<>(results.length);
+        for (WalletBatchItemResultDto result : results) {
+            rolledBack.add(result.applied() ? rejected(result.index(), result.walletId(), ServerErrorCode.BATCH_ROLLED_BACK) : result);
+        }
+        return rolledBack;
+    }
+
+    public void executeBestEffort(List<WalletRequestDto> operations, OutputStream out) throws IOException {
+        log.info("Applying batch of {} operations in {} mode", operations.size(), BatchMode.BEST_EFFORT);
+        WalletBatchItemResultDto[] results = new WalletBatchItemResultDto[operations.size()];
+
+        try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+            generator.writeStartArray();
+            for (int from = 0; from < operations.size(); from += properties.chunkSize()) {
+                int to = Math.min(from + properties.chunkSize(), operations.size());
+                int[] order = walletOrder(operations, from, to);
+                try {
+                    transactionTemplate.executeWithoutResult(status ->
+                            applyChunk(operations, order, 0, order.length, results));
+                } catch (RuntimeException e) {
+                    log.error("Batch aborted at operation {} of {}", from, operations.size(), e);
+                    for (int i = from; i < operations.size(); i++) {
+                        generator.writeObject(rejected(i, operations.get(i).walletId(), ServerErrorCode.BATCH_ABORTED));
+                    }
+                    break;
+                }
+                List<WalletBatchItemResultDto> chunk = Arrays.asList(results).subList(from, to);
+                evictApplied(chunk);
+                write(generator, chunk);
+                generator.flush();
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    private void applyChunk(List<WalletRequestDto> operations, int[] order, int from, int to,
+                            WalletBatchItemResultDto[] results) {
+        List<WalletRequestDto> chunk = new ArrayList<>(to - from);
+        Set<UUID> walletIds = new LinkedHashSet<>();
+        for (int i = from; i < to; i++) {
+            WalletRequestDto operation = operations.get(order[i]);
+            chunk.add(operation);
+            walletIds.add(operation.walletId());
+        }
+        Set<UUID> existing = walletBatchRepository.findExisting(walletIds);
+        int[] counts = walletBatchRepository.applyAll(chunk);
+        if (consolidateSlots) {
+            retryConsolidated(chunk, existing, counts);
+        }
+
+        for (int i = 0; i < chunk.size(); i++) {
+            WalletRequestDto operation = chunk.get(i);
+            int index = order[from + i];
+            if (isApplied(counts[i])) {
+                results[index] = new WalletBatchItemResultDto(index, operation.walletId(), true, null,
+                        operation.operationType().getValue());
+            } else if (!existing.contains(operation.walletId())) {
+                results[index] = rejected(index, operation.walletId(), ServerErrorCode.WALLET_NOT_FOUND);
+            } else {
+                results[index] = rejected(index, operation.walletId(), ServerErrorCode.INSUFFICIENT_FUNDS);
+            }
+        }
+    }
+
+    private void retryConsolidated(List<WalletRequestDto> chunk, Set<UUID> existing, int[] counts) {
+        List<Integer> retried = new ArrayList<>();
+        Map<UUID, Boolean> consolidated = new HashMap<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            WalletRequestDto operation = chunk.get(i);
+            UUID walletId = operation.walletId();
+            if (isApplied(counts[i]) || operation.operationType() != OperationType.WITHDRAW
+                    || !existing.contains(walletId)) {
+                continue;
+            }
+            Boolean moved = consolidated.get(walletId);
+            if (moved == null) {
+                moved = walletSlotRepository.consolidate(walletId).signum() != 0;
+                consolidated.put(walletId, moved);
+            }
+            if (moved) {
+                retried.add(i);
+            }
+        }
+        if (retried.isEmpty()) {
+            return;
+        }
+
+        List<WalletRequestDto> operations = new ArrayList<>(retried.size());
+        for (int i : retried) {
+            operations.add(chunk.get(i));
+        }
+        int[] retriedCounts = walletBatchRepository.applyAll(operations);
+        for (int i = 0; i < retried.size(); i++) {
+            counts[retried.get(i)] = retriedCounts[i];
+        }
+    }
+
+    private static boolean isApplied(int count) {
+        return count > 0 || count == Statement.SUCCESS_NO_INFO;
+    }
+
+    private static int[] walletOrder(List<WalletRequestDto> operations, int from, int to) {
+        return IntStream.range(from, to)
+                .boxed()
+                .sorted(Comparator.comparing(i -> operations.get(i).walletId(), WALLET_LOCK_ORDER))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    private void evictApplied(List<WalletBatchItemResultDto> results) {
+        for (WalletBatchItemResultDto result : results) {
+            if (result.applied()) {
+                balanceCache.evict(result.walletId());
+            }
+        }
+    }
+
+    public void writeResults(List<WalletBatchItemResultDto> results, OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+            generator.writeStartArray();
+            write(generator, results);
+            generator.writeEndArray();
+        }
+    }
+
+    private void write(JsonGenerator generator, List<WalletBatchItemResultDto> results) throws IOException {
+        for (WalletBatchItemResultDto result : results) {
+            generator.writeObject(result);
+        }
+    }
+
+    private static WalletBatchItemResultDto rejected(int index, UUID walletId, ServerErrorCode code) {
+        String message = code == ServerErrorCode.WALLET_NOT_FOUND
+                ? String.format(code.getErrorMessage(), walletId)
+                : code.getErrorMessage();
+        return new WalletBatchItemResultDto(index, walletId, false, code.name(), message);
+    }
+}
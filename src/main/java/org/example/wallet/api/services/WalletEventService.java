@@ -0,0 +1,93 @@
+package org.example.wallet.api.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.wallet.api.dtos.wallet.WalletBalanceDto;
+import org.example.wallet.outbox.BalanceEventListeners;
+import org.example.wallet.outbox.OutboxProperties;
+import org.example.wallet.outbox.WalletBalanceEvent;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+@Service
+@Slf4j
+public class WalletEventService {
+    private static final String SNAPSHOT_EVENT = "snapshot";
+    private static final String BALANCE_EVENT = "balance";
+
+    private final WalletService walletService;
+    private final BalanceEventListeners listeners;
+    private final long timeoutMillis;
+
+    public WalletEventService(WalletService walletService, BalanceEventListeners listeners,
+                              OutboxProperties properties) {
+        this.walletService = walletService;
+        this.listeners = listeners;
+        this.timeoutMillis = properties.sseTimeout().toMillis();
+    }
+
+    public SseEmitter subscribe(UUID walletUuid) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscription subscription = new Subscription(emitter);
+        Runnable unsubscribe = listeners.subscribe(walletUuid, subscription);
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(e -> unsubscribe.run());
+
+        try {
+            WalletBalanceDto snapshot = walletService.getBalance(walletUuid);
+            emitter.send(SseEmitter.event().name(SNAPSHOT_EVENT).data(snapshot));
+            subscription.release();
+        } catch (IOException e) {
+            unsubscribe.run();
+            emitter.completeWithError(e);
+        } catch (RuntimeException e) {
+            unsubscribe.run();
+            throw e;
+        }
+        return emitter;
+    }
+
+    private static void send(SseEmitter emitter, WalletBalanceEvent event) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .id(Long.toString(event.eventId()))
+                    .name(BALANCE_EVENT)
+                    .data(event));
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping balance event subscriber for wallet {}", event.walletId(), e);
+            emitter.completeWithError(e);
+        }
+    }
+
+    private static final class Subscription implements Consumer<WalletBalanceEvent> {
+        private final SseEmitter emitter;
+        private List<WalletBalanceEvent> pending = new ArrayList<>();
+
+        private Subscription(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public synchronized void accept(WalletBalanceEvent event) {
+            if (pending != null) {
+                pending.add(event);
+            } else {
+                send(emitter, event);
+            }
+        }
+
+        private synchronized void release() {
+            List<WalletBalanceEvent> buffered = pending;
+            pending = null;
+            for (WalletBalanceEvent event : buffered) {
+                send(emitter, event);
+            }
+        }
+    }
+}
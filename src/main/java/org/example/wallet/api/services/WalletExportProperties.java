@@ -0,0 +1,11 @@
+package org.example.wallet.api.services;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "wallet.export")
+public record WalletExportProperties(
+        @DefaultValue("100000") int pageSize,
+        @DefaultValue("5000") int fetchSize
+) {
+}
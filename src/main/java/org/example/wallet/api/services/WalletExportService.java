@@ -0,0 +1,88 @@
+package org.example.wallet.api.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.wallet.api.dtos.wallet.ExportFormat;
+import org.example.wallet.money.Money;
+import org.example.wallet.store.repo.WalletExportRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+@Service
+@Slf4j
+@ConditionalOnExpression("'${wallet.engine.mode:sql}' != 'ledger'")
+public class WalletExportService {
+    private static final int WRITE_BUFFER_CHARS = 1 << 16;
+    private static final String CSV_HEADER = "wallet_id,balance\n";
+
+    private final WalletExportRepository walletExportRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final WalletExportProperties properties;
+
+    public WalletExportService(WalletExportRepository walletExportRepository,
+                               PlatformTransactionManager transactionManager,
+                               WalletExportProperties properties) {
+        this.walletExportRepository = walletExportRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.properties = properties;
+    }
+
+    public void export(UUID after, ExportFormat format, OutputStream out) throws IOException {
+        log.info("Starting {} balance export after {}", format, after);
+        long start = System.currentTimeMillis();
+        long[] rows = new long[1];
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_CHARS);
+        WalletExportRepository.BalanceRowHandler handler = format == ExportFormat.CSV
+                ? (walletId, balance) -> writeCsv(writer, walletId, balance, rows)
+                : (walletId, balance) -> writeNdjson(writer, walletId, balance, rows);
+
+        if (format == ExportFormat.CSV && after == null) {
+            writer.write(CSV_HEADER);
+        }
+
+        UUID cursor = after;
+        long pageStart;
+        try {
+            do {
+                UUID from = cursor;
+                pageStart = rows[0];
+                cursor = transactionTemplate.execute(status -> walletExportRepository.exportPage(
+                        from, properties.pageSize(), properties.fetchSize(), handler));
+                writer.flush();
+            } while (cursor != null && rows[0] - pageStart == properties.pageSize());
+        } catch (UncheckedIOException e) {
+            log.warn("Balance export aborted after {} rows, last checkpoint {}", rows[0], cursor);
+            throw e.getCause();
+        }
+
+        log.info("Balance export finished: {} rows in {} ms", rows[0], System.currentTimeMillis() - start);
+    }
+
+    private static void writeCsv(Writer writer, UUID walletId, Money balance, long[] rows) throws IOException {
+        writer.write(walletId.toString());
+        writer.write(',');
+        writer.write(balance.toString());
+        writer.write('\n');
+        rows[0]++;
+    }
+
+    private static void writeNdjson(Writer writer, UUID walletId, Money balance, long[] rows) throws IOException {
+        writer.write("{\"walletId\":\"");
+        writer.write(walletId.toString());
+        writer.write("\",\"balance\":");
+        writer.write(balance.toString());
+        writer.write("}\n");
+        rows[0]++;
+    }
+}
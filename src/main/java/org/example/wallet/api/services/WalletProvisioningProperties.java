@@ -0,0 +1,11 @@
+package org.example.wallet.api.services;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "wallet.provisioning")
+public record WalletProvisioningProperties(
+        @DefaultValue("1000") int chunkSize,
+        @DefaultValue("100000") long progressInterval
+) {
+}
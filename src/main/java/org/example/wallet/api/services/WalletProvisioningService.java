@@ -0,0 +1,167 @@
+package org.example.wallet.api.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.extern.slf4j.Slf4j;
+import org.example.wallet.api.dtos.wallet.WalletCreateRequestDto;
+import org.example.wallet.api.dtos.wallet.WalletCreateResponseDto;
+import org.example.wallet.api.dtos.wallet.WalletImportResultDto;
+import org.example.wallet.api.errors.ServerErrorCode;
+import org.example.wallet.api.errors.ServerException;
+import org.example.wallet.money.Money;
+import org.example.wallet.store.repo.WalletProvisioningRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+@Service
+@Slf4j
+@ConditionalOnExpression("'${wallet.engine.mode:sql}' != 'ledger'")
+public class WalletProvisioningService {
+    private static final int READ_BUFFER_CHARS = 1 << 16;
+    private static final String CSV_HEADER = "wallet_id";
+
+    private final WalletProvisioningRepository walletProvisioningRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectReader rowReader;
+    private final WalletProvisioningProperties properties;
+
+    public WalletProvisioningService(WalletProvisioningRepository walletProvisioningRepository,
+                                     PlatformTransactionManager transactionManager,
+                                     ObjectMapper objectMapper,
+                                     WalletProvisioningProperties properties) {
+        this.walletProvisioningRepository = walletProvisioningRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rowReader = objectMapper.readerFor(WalletCreateRequestDto.class);
+        this.properties = properties;
+    }
+
+    public WalletCreateResponseDto create(WalletCreateRequestDto dto) {
+        UUID walletId = dto.walletId() != null ? dto.walletId() : UUID.randomUUID();
+        Money balance = dto.balance() != null ? dto.balance() : Money.ZERO;
+
+        if (!walletProvisioningRepository.create(walletId, balance)) {
+            throw new ServerException(ServerErrorCode.WALLET_ALREADY_EXISTS, walletId.toString());
+        }
+        log.info("Created wallet {}", walletId);
+        return new WalletCreateResponseDto(walletId, balance);
+    }
+
+    public WalletImportResultDto importCsv(InputStream in) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), READ_BUFFER_CHARS);
+        return importRows(new ImportRows() {
+            @Override
+            WalletCreateRequestDto read() throws IOException {
+                String line;
+                do {
+                    line = reader.readLine();
+                    if (line == null) {
+                        return null;
+                    }
+                    line = line.strip();
+                } while (line.isEmpty() || isHeader(line));
+                return parseCsv(line);
+            }
+
+            private boolean isHeader(String line) {
+                return rows == 0 && line.regionMatches(true, 0, CSV_HEADER, 0, CSV_HEADER.length());
+            }
+        });
+    }
+
+    public WalletImportResultDto importNdjson(InputStream in) throws IOException {
+        MappingIterator<WalletCreateRequestDto> values = rowReader.readValues(in);
+        return importRows(new ImportRows() {
+            @Override
+            WalletCreateRequestDto read() throws IOException {
+                return values.hasNextValue() ? values.nextValue() : null;
+            }
+        });
+    }
+
+    private WalletImportResultDto importRows(ImportRows rows) {
+        long start = System.currentTimeMillis();
+        log.info("Starting wallet import");
+
+        Long created = transactionTemplate.execute(status ->
+                walletProvisioningRepository.importAll(rows, properties.chunkSize()));
+
+        WalletImportResultDto result = new WalletImportResultDto(rows.rows, created, rows.rows - created,
+                System.currentTimeMillis() - start);
+        log.info("Wallet import finished: {} rows, {} created, {} skipped in {} ms",
+                result.rows(), result.created(), result.skipped(), result.durationMillis());
+        return result;
+    }
+
+    private static WalletCreateRequestDto parseCsv(String line) {
+        int comma = line.indexOf(',');
+        UUID walletId = UUID.fromString((comma < 0 ? line : line.substring(0, comma)).strip());
+        Money balance = comma < 0 ? null : Money.parse(line.substring(comma + 1).strip());
+        return new WalletCreateRequestDto(walletId, balance);
+    }
+
+    private abstract class ImportRows implements Iterator<WalletCreateRequestDto> {
+        long rows;
+        private WalletCreateRequestDto next;
+
+        abstract WalletCreateRequestDto read() throws IOException;
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                next = readValid();
+            }
+            return next != null;
+        }
+
+        @Override
+        public WalletCreateRequestDto next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            WalletCreateRequestDto row = next;
+            next = null;
+            rows++;
+            if (rows % properties.progressInterval() == 0) {
+                log.info("Wallet import progress: {} rows streamed", rows);
+            }
+            return row;
+        }
+
+        private WalletCreateRequestDto readValid() {
+            WalletCreateRequestDto row;
+            try {
+                row = read();
+            } catch (IllegalArgumentException | IOException e) {
+                throw invalidRow(e);
+            }
+            if (row == null) {
+                return null;
+            }
+            if (row.walletId() == null || row.balance() != null && row.balance().signum() < 0) {
+                throw invalidRow(null);
+            }
+            return row.balance() != null ? row : new WalletCreateRequestDto(row.walletId(), Money.ZERO);
+        }
+
+        private RuntimeException invalidRow(Exception cause) {
+            if (cause instanceof IOException io && !(cause instanceof JsonProcessingException)) {
+                return new UncheckedIOException(io);
+            }
+            return new ServerException(ServerErrorCode.INVALID_IMPORT_ROW, String.valueOf(rows + 1));
+        }
+    }
+}
@@ -2,61 +2,190 @@ package org.example.wallet.api.services;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.wallet.api.dtos.wallet.CurrencyBalanceDto;
 import org.example.wallet.api.dtos.wallet.OperationType;
+import org.example.wallet.api.dtos.wallet.WalletBalancesDto;
 import org.example.wallet.api.dtos.wallet.WalletOperationResponseDto;
 import org.example.wallet.api.dtos.wallet.WalletRequestDto;
 import org.example.wallet.api.dtos.wallet.WalletBalanceDto;
 import org.example.wallet.api.errors.ServerErrorCode;
 import org.example.wallet.api.errors.ServerException;
 import org.example.wallet.api.mappers.WalletMapper;
-import org.example.wallet.store.entities.Wallet;
-import org.example.wallet.store.repo.WalletRepository;
+import org.example.wallet.cache.BalanceCache;
+import org.example.wallet.coordinator.WalletOperationCoordinator;
+import org.example.wallet.engine.WalletEngine;
+import org.example.wallet.engine.WalletOperationResult;
+import org.example.wallet.idempotency.IdempotencyStore;
+import org.example.wallet.logging.WalletLogSampler;
+import org.example.wallet.metrics.OperationStage;
+import org.example.wallet.metrics.WalletMetrics;
+import org.example.wallet.money.CurrencyProperties;
+import org.example.wallet.money.Money;
+import org.example.wallet.replica.ReplicaRouting;
+import org.example.wallet.store.repo.BalanceUpdate;
+import org.example.wallet.store.repo.WalletCurrencyRepository;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class WalletService {
-    private final WalletRepository walletRepository;
+    private final WalletEngine walletEngine;
     private final WalletMapper walletMapper;
+    private final BalanceCache balanceCache;
+    private final WalletOperationCoordinator operationCoordinator;
+    private final IdempotencyStore idempotencyStore;
+    private final WalletMetrics walletMetrics;
+    private final WalletLogSampler walletLogSampler;
+    private final ReplicaRouting replicaRouting;
+    private final WalletCurrencyRepository walletCurrencyRepository;
+    private final CurrencyProperties currencyProperties;
+    private final Function<UUID, Optional<Money>> balanceLoader = this::loadBalance;
+    private final Function<WalletRequestDto, WalletOperationResult> operationApplier = this::apply;
+    private final BiFunction<String, WalletRequestDto, WalletOperationResult> operationExecutor = this::execute;
 
-    @Transactional
     public WalletOperationResponseDto doOperation(WalletRequestDto dto) {
+        return doOperation(dto, null);
+    }
+
+    public WalletOperationResponseDto doOperation(WalletRequestDto dto, String idempotencyKey) {
+        long start = System.nanoTime();
         UUID walletId = dto.walletId();
         OperationType type = dto.operationType();
 
-        log.info("Attempting {} operation for wallet {}", type, walletId);
-
-        walletRepository.findById(dto.walletId()).orElseThrow(() ->
-                new ServerException(ServerErrorCode.WALLET_NOT_FOUND, walletId.toString()));
+        boolean traced = log.isInfoEnabled() && walletLogSampler.isSampled(walletId);
+        if (traced) {
+            log.info("Attempting {} operation for wallet {}", type, walletId);
+        }
 
-        int updatedRows = 0;
-        if (type.equals(OperationType.WITHDRAW)) {
-            updatedRows = walletRepository.withdraw(walletId, dto.amount());
+        Currency currency = dto.currency();
+        boolean base = currencyProperties.isBase(currency);
+        if (!base && !currencyProperties.isSupported(currency)) {
+            throw new ServerException(ServerErrorCode.UNSUPPORTED_CURRENCY, currency.getCurrencyCode());
         }
-        if (type.equals(OperationType.DEPOSIT)) {
-            updatedRows = walletRepository.deposit(walletId, dto.amount());
+        Currency operationCurrency = base ? currencyProperties.base() : currency;
+        if (!currencyProperties.fitsMinorUnit(operationCurrency, dto.amount())) {
+            throw new ServerException(ServerErrorCode.INVALID_CURRENCY_AMOUNT, operationCurrency.getCurrencyCode());
+        }
+
+        WalletOperationResult result = !base || walletEngine.requiresCoordination(walletId)
+                ? operationCoordinator.execute(walletId, idempotencyKey, dto, operationExecutor)
+                : execute(idempotencyKey, dto);
+        long stageStart = walletMetrics.record(OperationStage.OPERATION_APPLY, start);
+
+        if (!result.isSuccess()) {
+            walletMetrics.recordOperation(type, result.errorCode());
+            walletMetrics.record(OperationStage.OPERATION_TOTAL, start);
+            if (result.errorCode() == ServerErrorCode.WALLET_NOT_FOUND) {
+                throw new ServerException(ServerErrorCode.WALLET_NOT_FOUND, walletId.toString());
+            }
+            throw new ServerException(result.errorCode());
         }
 
-        if (updatedRows == 0) {
-            throw new ServerException(ServerErrorCode.INSUFFICIENT_FUNDS);
+        if (base) {
+            balanceCache.evict(walletId);
         }
+        stageStart = walletMetrics.record(OperationStage.OPERATION_CACHE, stageStart);
 
-        log.info("{} operation successful for wallet {}", type, walletId);
-        return walletMapper.toOperationResponseDto(dto);
+        if (traced) {
+            log.info("{} operation successful for wallet {}", type, walletId);
+        }
+        WalletOperationResponseDto response = walletMapper.toOperationResponseDto(dto, result.balance());
+        walletMetrics.record(OperationStage.OPERATION_RESPONSE, stageStart);
+        walletMetrics.record(OperationStage.OPERATION_TOTAL, start);
+        walletMetrics.recordOperation(type, null);
+        return response;
     }
 
-    @Transactional(readOnly = true)
     public WalletBalanceDto getBalance(UUID walletUuid) {
-        log.info("Balance request for wallet {}", walletUuid);
+        long start = System.nanoTime();
+        boolean traced = log.isInfoEnabled() && walletLogSampler.isSampled(walletUuid);
+        if (traced) {
+            log.info("Balance request for wallet {}", walletUuid);
+        }
+
+        Optional<Money> balance = balanceCache.get(walletUuid, balanceLoader);
+        long stageStart = walletMetrics.record(OperationStage.BALANCE_LOOKUP, start);
+        if (balance.isEmpty()) {
+            walletMetrics.recordBalance(ServerErrorCode.WALLET_NOT_FOUND);
+            walletMetrics.record(OperationStage.BALANCE_TOTAL, start);
+            throw new ServerException(ServerErrorCode.WALLET_NOT_FOUND, walletUuid.toString());
+        }
+
+        if (traced) {
+            log.info("Wallet {} found, returning balance", walletUuid);
+        }
+        WalletBalanceDto response = walletMapper.toBalanceDto(balance.get());
+        walletMetrics.record(OperationStage.BALANCE_RESPONSE, stageStart);
+        walletMetrics.record(OperationStage.BALANCE_TOTAL, start);
+        walletMetrics.recordBalance(null);
+        return response;
+    }
 
-        Wallet wallet = walletRepository.findById(walletUuid)
-                .orElseThrow(() -> new ServerException(ServerErrorCode.WALLET_NOT_FOUND, walletUuid.toString()));
+    public WalletBalancesDto getBalances(UUID walletUuid) {
+        long start = System.nanoTime();
+        Optional<Money> balance = balanceCache.get(walletUuid, balanceLoader);
+        if (balance.isEmpty()) {
+            walletMetrics.recordBalance(ServerErrorCode.WALLET_NOT_FOUND);
+            throw new ServerException(ServerErrorCode.WALLET_NOT_FOUND, walletUuid.toString());
+        }
+
+        List<CurrencyBalanceDto> currencyBalances = walletCurrencyRepository.findBalances(walletUuid);
+        List<CurrencyBalanceDto> balances = new ArrayList<>(currencyBalances.size() + 1);
+        balances.add(new CurrencyBalanceDto(currencyProperties.base().getCurrencyCode(), balance.get()));
+        balances.addAll(currencyBalances);
+        walletMetrics.record(OperationStage.BALANCE_TOTAL, start);
+        walletMetrics.recordBalance(null);
+        return new WalletBalancesDto(balances);
+    }
+
+    private WalletOperationResult execute(String idempotencyKey, WalletRequestDto dto) {
+        if (idempotencyKey == null) {
+            return apply(dto);
+        }
+        boolean joinsTransaction = !currencyProperties.isBase(dto.currency()) || walletEngine.joinsCallerTransaction();
+        return idempotencyStore.execute(idempotencyKey, dto, joinsTransaction, operationApplier);
+    }
+
+    private WalletOperationResult apply(WalletRequestDto dto) {
+        if (currencyProperties.isBase(dto.currency())) {
+            return walletEngine.apply(dto.walletId(), dto.operationType(), dto.amount());
+        }
+        return applyInCurrency(dto.walletId(), dto.currency(), dto.operationType(), dto.amount());
+    }
 
-        log.info("Wallet {} found, returning balance", walletUuid);
-        return walletMapper.toBalanceDto(wallet);
+    private WalletOperationResult applyInCurrency(UUID walletId, Currency currency, OperationType type, Money amount) {
+        BalanceUpdate update = type == OperationType.WITHDRAW
+                ? walletCurrencyRepository.withdraw(walletId, currency, amount)
+                : walletCurrencyRepository.deposit(walletId, currency, amount);
+        if (!update.walletFound()) {
+            return WalletOperationResult.rejected(ServerErrorCode.WALLET_NOT_FOUND);
+        }
+        if (!update.isApplied()) {
+            return WalletOperationResult.rejected(ServerErrorCode.INSUFFICIENT_FUNDS);
+        }
+        return WalletOperationResult.success(update.balance());
+    }
+
+    private Optional<Money> loadBalance(UUID walletUuid) {
+        long start = System.nanoTime();
+        boolean pinned = replicaRouting.pin(walletUuid);
+        try {
+            Optional<Money> balance = walletEngine.findBalance(walletUuid);
+            walletMetrics.record(OperationStage.BALANCE_LOAD, start);
+            return balance;
+        } finally {
+            if (pinned) {
+                replicaRouting.unpin();
+            }
+        }
     }
 }
@@ -0,0 +1,69 @@
+package org.example.wallet.api.services;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.wallet.api.dtos.wallet.WalletTransactionDto;
+import org.example.wallet.api.dtos.wallet.WalletTransactionPageDto;
+import org.example.wallet.api.errors.ServerErrorCode;
+import org.example.wallet.api.errors.ServerException;
+import org.example.wallet.store.repo.WalletRepository;
+import org.example.wallet.store.repo.WalletTransactionRepository;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WalletTransactionService {
+    private static final String CURSOR_SEPARATOR = "|";
+
+    private final WalletTransactionRepository walletTransactionRepository;
+    private final WalletRepository walletRepository;
+
+    public WalletTransactionPageDto getTransactions(UUID walletUuid, String cursor, int limit) {
+        log.info("Transaction history request for wallet {}", walletUuid);
+
+        List<WalletTransactionDto> transactions;
+        if (cursor == null) {
+            transactions = walletTransactionRepository.findFirstPage(walletUuid, limit + 1);
+            if (transactions.isEmpty() && !walletRepository.existsById(walletUuid)) {
+                throw new ServerException(ServerErrorCode.WALLET_NOT_FOUND, walletUuid.toString());
+            }
+        } else {
+            Cursor last = decodeCursor(cursor);
+            transactions = walletTransactionRepository.findPageBefore(walletUuid, last.createdAt(),
+                    last.transactionId(), limit + 1);
+        }
+
+        if (transactions.size() <= limit) {
+            return new WalletTransactionPageDto(transactions, null);
+        }
+        List<WalletTransactionDto> page = transactions.subList(0, limit);
+        return new WalletTransactionPageDto(page, encodeCursor(page.get(limit - 1)));
+    }
+
+    private static String encodeCursor(WalletTransactionDto last) {
+        String value = last.createdAt() + CURSOR_SEPARATOR + last.transactionId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Cursor decodeCursor(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf(CURSOR_SEPARATOR);
+            return new Cursor(OffsetDateTime.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new ServerException(ServerErrorCode.INVALID_CURSOR);
+        }
+    }
+
+    private record Cursor(OffsetDateTime createdAt, long transactionId) {
+    }
+}
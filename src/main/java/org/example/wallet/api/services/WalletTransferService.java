@@ -0,0 +1,62 @@
+package org.example.wallet.api.services;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.wallet.api.dtos.wallet.WalletTransferRequestDto;
+import org.example.wallet.api.dtos.wallet.WalletTransferResponseDto;
+import org.example.wallet.api.errors.ServerErrorCode;
+import org.example.wallet.api.errors.ServerException;
+import org.example.wallet.cache.BalanceCache;
+import org.example.wallet.money.Money;
+import org.example.wallet.store.repo.TransferUpdate;
+import org.example.wallet.store.repo.WalletSlotRepository;
+import org.example.wallet.store.repo.WalletTransferRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnExpression("'${wallet.engine.mode:sql}' != 'ledger'")
+public class WalletTransferService {
+    private final WalletTransferRepository walletTransferRepository;
+    private final WalletSlotRepository walletSlotRepository;
+    private final BalanceCache balanceCache;
+
+    @Transactional
+    public WalletTransferResponseDto transfer(WalletTransferRequestDto dto) {
+        UUID fromWalletId = dto.fromWalletId();
+        UUID toWalletId = dto.toWalletId();
+        Money amount = dto.amount();
+
+        log.info("Attempting transfer from wallet {} to wallet {}", fromWalletId, toWalletId);
+
+        if (fromWalletId.equals(toWalletId)) {
+            throw new ServerException(ServerErrorCode.SAME_WALLET_TRANSFER);
+        }
+
+        TransferUpdate update = walletTransferRepository.transfer(fromWalletId, toWalletId, amount.toBigDecimal());
+        if (update.sourceFound() && update.targetFound() && !update.isApplied()
+                && walletSlotRepository.consolidate(fromWalletId).signum() != 0) {
+            update = walletTransferRepository.transfer(fromWalletId, toWalletId, amount.toBigDecimal());
+        }
+        if (!update.sourceFound()) {
+            throw new ServerException(ServerErrorCode.WALLET_NOT_FOUND, fromWalletId.toString());
+        }
+        if (!update.targetFound()) {
+            throw new ServerException(ServerErrorCode.WALLET_NOT_FOUND, toWalletId.toString());
+        }
+        if (!update.isApplied()) {
+            throw new ServerException(ServerErrorCode.INSUFFICIENT_FUNDS);
+        }
+
+        balanceCache.evict(fromWalletId);
+        balanceCache.evict(toWalletId);
+
+        log.info("Transfer from wallet {} to wallet {} successful", fromWalletId, toWalletId);
+        return new WalletTransferResponseDto(amount.toBigDecimal(), update.sourceBalance(), update.targetBalance());
+    }
+}
@@ -0,0 +1,62 @@
+package org.example.wallet.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.example.wallet.money.Money;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+@Component
+public class BalanceCache {
+    private final AsyncCache<UUID, Money> cache;
+    private final BalanceInvalidationTransport transport;
+
+    public BalanceCache(BalanceCacheProperties properties, BalanceInvalidationTransport transport) {
+        this.cache = properties.enabled()
+                ? Caffeine.newBuilder()
+                    .maximumSize(properties.maxSize())
+                    .expireAfterWrite(properties.ttl())
+                    .recordStats()
+                    .buildAsync()
+                : null;
+        this.transport = transport;
+        if (cache != null) {
+            transport.subscribe(cache.synchronous()::invalidate);
+        }
+    }
+
+    public Optional<Money> get(UUID walletId, Function<UUID, Optional<Money>> loader) {
+        if (cache == null) {
+            return loader.apply(walletId);
+        }
+
+        CompletableFuture<Money> created = new CompletableFuture<>();
+        CompletableFuture<Money> balance = cache.get(walletId, (id, executor) -> created);
+        if (balance == created) {
+            try {
+                created.complete(loader.apply(walletId).orElse(null));
+            } catch (RuntimeException e) {
+                created.completeExceptionally(e);
+                throw e;
+            }
+        }
+        return Optional.ofNullable(balance.join());
+    }
+
+    public void evict(UUID walletId) {
+        if (cache == null) {
+            return;
+        }
+        cache.synchronous().invalidate(walletId);
+        transport.publish(walletId);
+    }
+
+    public CacheStats stats() {
+        return cache == null ? CacheStats.empty() : cache.synchronous().stats();
+    }
+}
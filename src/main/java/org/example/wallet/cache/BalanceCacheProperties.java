@@ -0,0 +1,14 @@
+package org.example.wallet.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "wallet.cache")
+public record BalanceCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("100000") long maxSize,
+        @DefaultValue("30s") Duration ttl
+) {
+}
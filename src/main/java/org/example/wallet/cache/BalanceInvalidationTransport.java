@@ -0,0 +1,10 @@
+package org.example.wallet.cache;
+
+import java.util.UUID;
+import java.util.function.Consumer;
+
+public interface BalanceInvalidationTransport {
+    void publish(UUID walletId);
+
+    void subscribe(Consumer<UUID> listener);
+}
@@ -0,0 +1,27 @@
+package org.example.wallet.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+@Component
+@ConditionalOnProperty(name = "wallet.cache.invalidation", havingValue = "local", matchIfMissing = true)
+public class LocalBalanceInvalidationTransport implements BalanceInvalidationTransport {
+    private final List<Consumer<UUID>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(UUID walletId) {
+        for (Consumer<UUID> listener : listeners) {
+            listener.accept(walletId);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<UUID> listener) {
+        listeners.add(listener);
+    }
+}
@@ -0,0 +1,15 @@
+package org.example.wallet.coordinator;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "wallet.coordinator")
+public record CoordinatorProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("256") int stripes,
+        @DefaultValue("64") int queueDepth,
+        @DefaultValue("2s") Duration maxWait
+) {
+}
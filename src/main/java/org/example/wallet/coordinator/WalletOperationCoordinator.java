@@ -0,0 +1,95 @@
+package org.example.wallet.coordinator;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.example.wallet.api.errors.ServerErrorCode;
+import org.example.wallet.engine.WalletOperationResult;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+@Component
+public class WalletOperationCoordinator {
+    private final boolean enabled;
+    private final Stripe[] stripes;
+    private final int queueDepth;
+    private final long maxWaitNanos;
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    private final Timer waitTimer;
+    private final Counter rejected;
+
+    public WalletOperationCoordinator(CoordinatorProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.enabled();
+        this.stripes = new Stripe[Math.max(1, properties.stripes())];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.queueDepth = properties.queueDepth();
+        this.maxWaitNanos = properties.maxWait().toNanos();
+
+        this.waitTimer = Timer.builder("wallet.coordinator.wait")
+                .description("Time an operation waited for its wallet stripe")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("wallet.coordinator.rejected")
+                .description("Operations rejected because the wallet stripe queue was full")
+                .register(meterRegistry);
+        Gauge.builder("wallet.coordinator.queue.depth", waiting, AtomicInteger::get)
+                .description("Operations currently waiting for a wallet stripe")
+                .register(meterRegistry);
+    }
+
+    public WalletOperationResult execute(UUID walletId, Supplier<WalletOperationResult> operation) {
+        return execute(walletId, operation, null, (supplier, unused) -> supplier.get());
+    }
+
+    public <T, U> WalletOperationResult execute(UUID walletId, T first, U second,
+                                                BiFunction<T, U, WalletOperationResult> operation) {
+        if (!enabled) {
+            return operation.apply(first, second);
+        }
+
+        Stripe stripe = stripes[Math.floorMod(walletId.hashCode(), stripes.length)];
+        if (stripe.queued.incrementAndGet() > queueDepth) {
+            stripe.queued.decrementAndGet();
+            rejected.increment();
+            return WalletOperationResult.rejected(ServerErrorCode.WALLET_BUSY);
+        }
+
+        waiting.incrementAndGet();
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = stripe.lock.tryLock(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        } finally {
+            waiting.decrementAndGet();
+            stripe.queued.decrementAndGet();
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        if (!acquired) {
+            rejected.increment();
+            return WalletOperationResult.rejected(ServerErrorCode.WALLET_BUSY);
+        }
+        try {
+            return operation.apply(first, second);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock(true);
+        private final AtomicInteger queued = new AtomicInteger();
+    }
+}
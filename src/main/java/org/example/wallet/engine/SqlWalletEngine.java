@@ -0,0 +1,48 @@
+package org.example.wallet.engine;
+
+import lombok.RequiredArgsConstructor;
+import org.example.wallet.api.dtos.wallet.OperationType;
+import org.example.wallet.api.errors.ServerErrorCode;
+import org.example.wallet.metrics.OperationStage;
+import org.example.wallet.metrics.WalletMetrics;
+import org.example.wallet.money.Money;
+import org.example.wallet.store.repo.BalanceUpdate;
+import org.example.wallet.store.repo.WalletRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "wallet.engine.mode", havingValue = "sql", matchIfMissing = true)
+public class SqlWalletEngine implements WalletEngine {
+    private final WalletRepository walletRepository;
+    private final WalletMetrics walletMetrics;
+
+    @Override
+    @Transactional
+    public WalletOperationResult apply(UUID walletId, OperationType type, Money amount) {
+        long start = System.nanoTime();
+        BalanceUpdate update = type == OperationType.WITHDRAW
+                ? walletRepository.withdrawReturningBalance(walletId, amount)
+                : walletRepository.depositReturningBalance(walletId, amount);
+        walletMetrics.record(OperationStage.OPERATION_STATEMENT, start);
+
+        if (!update.walletFound()) {
+            return WalletOperationResult.rejected(ServerErrorCode.WALLET_NOT_FOUND);
+        }
+        if (!update.isApplied()) {
+            return WalletOperationResult.rejected(ServerErrorCode.INSUFFICIENT_FUNDS);
+        }
+        return WalletOperationResult.success(update.balance());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Money> findBalance(UUID walletId) {
+        return walletRepository.findBalanceById(walletId);
+    }
+}
@@ -0,0 +1,25 @@
+package org.example.wallet.engine;
+
+import org.example.wallet.api.dtos.wallet.OperationType;
+import org.example.wallet.money.Money;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface WalletEngine {
+    WalletOperationResult apply(UUID walletId, OperationType type, Money amount);
+
+    Optional<Money> findBalance(UUID walletId);
+
+    default boolean requiresCoordination(UUID walletId) {
+        return true;
+    }
+
+    default boolean joinsCallerTransaction() {
+        return true;
+    }
+
+    default boolean splitsBalances() {
+        return false;
+    }
+}
@@ -0,0 +1,45 @@
+package org.example.wallet.engine;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "wallet.engine")
+public record WalletEngineProperties(
+        @DefaultValue("sql") String mode,
+        @DefaultValue Ledger ledger,
+        @DefaultValue Batch batch,
+        @DefaultValue Sharded sharded
+) {
+    public record Ledger(
+            @DefaultValue("0") int shards,
+            @DefaultValue("ledger") Path logDir,
+            @DefaultValue("true") boolean fsync,
+            @DefaultValue("200ms") Duration flushInterval,
+            @DefaultValue("1000") int flushThreshold,
+            @DefaultValue("5s") Duration replyTimeout,
+            @DefaultValue("100000") int maxCachedWallets
+    ) {
+        public int effectiveShards() {
+            return shards > 0 ? shards : Runtime.getRuntime().availableProcessors();
+        }
+    }
+
+    public record Batch(
+            @DefaultValue("500us") Duration maxWait,
+            @DefaultValue("128") int maxBatchSize,
+            @DefaultValue("1") int workers,
+            @DefaultValue("5s") Duration replyTimeout
+    ) {
+    }
+
+    public record Sharded(
+            @DefaultValue("16") int maxSlots,
+            @DefaultValue("500") int targetOpsPerSlot,
+            @DefaultValue("1s") Duration evaluationInterval,
+            @DefaultValue("5") int scaleDownAfter
+    ) {
+    }
+}
@@ -0,0 +1,19 @@
+package org.example.wallet.engine;
+
+import org.example.wallet.api.errors.ServerErrorCode;
+import org.example.wallet.money.Money;
+
+public record WalletOperationResult(ServerErrorCode errorCode, Money balance) {
+
+    public static WalletOperationResult success(Money balance) {
+        return new WalletOperationResult(null, balance);
+    }
+
+    public static WalletOperationResult rejected(ServerErrorCode errorCode) {
+        return new WalletOperationResult(errorCode, null);
+    }
+
+    public boolean isSuccess() {
+        return errorCode == null;
+    }
+}
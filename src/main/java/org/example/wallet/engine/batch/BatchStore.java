@@ -0,0 +1,76 @@
+package org.example.wallet.engine.batch;
+
+import org.example.wallet.money.Money;
+import org.example.wallet.money.MoneyJdbc;
+import org.example.wallet.store.sql.JournalSql;
+import org.example.wallet.store.sql.SqlDialect;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+class BatchStore {
+    private static final String LOCK_BALANCES = """
+            SELECT wallet_id, balance FROM wallet
+            WHERE wallet_id IN (:walletIds)
+            ORDER BY wallet_id
+            FOR UPDATE
+            """;
+    private static final String UPDATE_BALANCES_HEAD = """
+            MERGE INTO wallet AS w
+            USING (VALUES\s""";
+    private static final String UPDATE_BALANCES_ROW = "(CAST(? AS uuid), CAST(? AS numeric(19,2)))";
+    private static final String UPDATE_BALANCES_TAIL = """
+            ) AS v (wallet_id, balance)
+            ON w.wallet_id = v.wallet_id
+            WHEN MATCHED THEN UPDATE SET balance = v.balance
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final String appendJournal;
+
+    BatchStore(JdbcTemplate jdbcTemplate, SqlDialect dialect) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.appendJournal = JournalSql.appendJournal(dialect);
+    }
+
+    Map<UUID, Money> lockBalances(Collection<UUID> walletIds) {
+        Map<UUID, Money> balances = new HashMap<>(walletIds.size() * 2);
+        namedJdbcTemplate.query(LOCK_BALANCES, Map.of("walletIds", walletIds),
+                (RowCallbackHandler) rs -> balances.put(rs.getObject(1, UUID.class), MoneyJdbc.getMoney(rs, 2)));
+        return balances;
+    }
+
+    void updateBalances(Map<UUID, Money> balances) {
+        if (balances.isEmpty()) {
+            return;
+        }
+        StringBuilder sql = new StringBuilder(UPDATE_BALANCES_HEAD);
+        Object[] args = new Object[balances.size() * 2];
+        int i = 0;
+        for (Map.Entry<UUID, Money> entry : balances.entrySet()) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(UPDATE_BALANCES_ROW);
+            args[i++] = entry.getKey();
+            args[i++] = MoneyJdbc.bind(entry.getValue());
+        }
+        sql.append(UPDATE_BALANCES_TAIL);
+        jdbcTemplate.update(sql.toString(), args);
+    }
+
+    void appendJournal(List<Object[]> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(appendJournal, entries);
+    }
+}
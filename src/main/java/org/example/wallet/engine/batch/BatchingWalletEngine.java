@@ -0,0 +1,240 @@
+package org.example.wallet.engine.batch;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.wallet.api.dtos.wallet.OperationType;
+import org.example.wallet.api.errors.ServerErrorCode;
+import org.example.wallet.api.errors.ServerException;
+import org.example.wallet.engine.WalletEngine;
+import org.example.wallet.engine.WalletEngineProperties;
+import org.example.wallet.engine.WalletOperationResult;
+import org.example.wallet.money.Money;
+import org.example.wallet.money.MoneyJdbc;
+import org.example.wallet.store.sql.SqlDialect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "wallet.engine.mode", havingValue = "batch")
+public class BatchingWalletEngine implements WalletEngine {
+    private static final String SELECT_BALANCE = "SELECT balance FROM wallet WHERE wallet_id = ?";
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BatchStore store;
+    private final TransactionTemplate transactionTemplate;
+    private final long maxWaitNanos;
+    private final int maxBatchSize;
+    private final long replyTimeoutNanos;
+    private final Thread[] workers;
+
+    private final BlockingQueue<PendingOperation> queue = new LinkedBlockingQueue<>();
+    private final ReentrantLock lifecycle = new ReentrantLock();
+    private volatile boolean running = true;
+
+    public BatchingWalletEngine(WalletEngineProperties properties, JdbcTemplate jdbcTemplate, SqlDialect dialect,
+                                PlatformTransactionManager transactionManager) {
+        this(properties, jdbcTemplate, transactionManager, new BatchStore(jdbcTemplate, dialect));
+    }
+
+    BatchingWalletEngine(WalletEngineProperties properties, JdbcTemplate jdbcTemplate,
+                         PlatformTransactionManager transactionManager, BatchStore store) {
+        WalletEngineProperties.Batch batch = properties.batch();
+        this.jdbcTemplate = jdbcTemplate;
+        this.store = store;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxWaitNanos = batch.maxWait().toNanos();
+        this.maxBatchSize = batch.maxBatchSize();
+        this.replyTimeoutNanos = batch.replyTimeout().toNanos();
+        this.workers = new Thread[Math.max(1, batch.workers())];
+    }
+
+    @PostConstruct
+    public void start() {
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = new Thread(this::runWorker, "wallet-batch-" + i);
+            workers[i].start();
+        }
+        log.info("Batching engine started with {} workers, window {} us, up to {} operations",
+                workers.length, TimeUnit.NANOSECONDS.toMicros(maxWaitNanos), maxBatchSize);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        lifecycle.lock();
+        try {
+            running = false;
+        } finally {
+            lifecycle.unlock();
+        }
+        for (Thread worker : workers) {
+            if (worker != null) {
+                worker.join();
+            }
+        }
+        PendingOperation operation;
+        while ((operation = queue.poll()) != null) {
+            operation.result().completeExceptionally(stopped());
+        }
+    }
+
+    @Override
+    public boolean requiresCoordination(UUID walletId) {
+        return false;
+    }
+
+    @Override
+    public boolean joinsCallerTransaction() {
+        return false;
+    }
+
+    @Override
+    public WalletOperationResult apply(UUID walletId, OperationType type, Money amount) {
+        try {
+            return submit(walletId, type, amount).orTimeout(replyTimeoutNanos, TimeUnit.NANOSECONDS).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                throw new ServerException(ServerErrorCode.SERVER_OVERLOADED);
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public Optional<Money> findBalance(UUID walletId) {
+        return jdbcTemplate.query(SELECT_BALANCE,
+                rs -> rs.next() ? Optional.of(MoneyJdbc.getMoney(rs, 1)) : Optional.empty(), walletId);
+    }
+
+    CompletableFuture<WalletOperationResult> submit(UUID walletId, OperationType type, Money amount) {
+        PendingOperation operation = new PendingOperation(walletId, type, amount, new CompletableFuture<>());
+        lifecycle.lock();
+        try {
+            if (running) {
+                queue.add(operation);
+                return operation.result();
+            }
+        } finally {
+            lifecycle.unlock();
+        }
+        operation.result().completeExceptionally(stopped());
+        return operation.result();
+    }
+
+    private static IllegalStateException stopped() {
+        return new IllegalStateException("Batching engine is stopped");
+    }
+
+    private void runWorker() {
+        List<PendingOperation> batch = new ArrayList<>(maxBatchSize);
+        try {
+            while (running || !queue.isEmpty()) {
+                PendingOperation first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + maxWaitNanos;
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingOperation next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                    queue.drainTo(batch, maxBatchSize - batch.size());
+                }
+                commit(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void commit(List<PendingOperation> batch) {
+        WalletOperationResult[] results = new WalletOperationResult[batch.size()];
+        try {
+            transactionTemplate.executeWithoutResult(status -> applyInOrder(batch, results));
+        } catch (Exception e) {
+            if (batch.size() == 1) {
+                log.error("Failed to commit a wallet operation", e);
+                batch.get(0).result().completeExceptionally(e);
+                return;
+            }
+            log.warn("Failed to commit a batch of {} wallet operations, retrying them one by one", batch.size(), e);
+            for (PendingOperation operation : batch) {
+                commit(List.of(operation));
+            }
+            return;
+        }
+        for (int i = 0; i < results.length; i++) {
+            batch.get(i).result().complete(results[i]);
+        }
+    }
+
+    private void applyInOrder(List<PendingOperation> batch, WalletOperationResult[] results) {
+        Set<UUID> walletIds = new LinkedHashSet<>();
+        for (PendingOperation operation : batch) {
+            walletIds.add(operation.walletId());
+        }
+
+        Map<UUID, Money> balances = store.lockBalances(walletIds);
+        Map<UUID, Money> changed = new HashMap<>();
+        List<Object[]> journal = new ArrayList<>(batch.size());
+
+        for (int i = 0; i < batch.size(); i++) {
+            PendingOperation operation = batch.get(i);
+            if (operation.result().isDone()) {
+                continue;
+            }
+            Money balance = balances.get(operation.walletId());
+            if (balance == null) {
+                results[i] = WalletOperationResult.rejected(ServerErrorCode.WALLET_NOT_FOUND);
+                continue;
+            }
+
+            Money updated = operation.type() == OperationType.WITHDRAW
+                    ? balance.minus(operation.amount())
+                    : balance.plus(operation.amount());
+            if (updated.signum() < 0) {
+                results[i] = WalletOperationResult.rejected(ServerErrorCode.INSUFFICIENT_FUNDS);
+                continue;
+            }
+
+            balances.put(operation.walletId(), updated);
+            changed.put(operation.walletId(), updated);
+            journal.add(new Object[]{operation.walletId(), operation.type().name(),
+                    MoneyJdbc.bind(operation.amount()), MoneyJdbc.bind(updated)});
+            results[i] = WalletOperationResult.success(updated);
+        }
+
+        store.updateBalances(changed);
+        store.appendJournal(journal);
+    }
+
+    private record PendingOperation(UUID walletId, OperationType type, Money amount,
+                                    CompletableFuture<WalletOperationResult> result) {
+    }
+}
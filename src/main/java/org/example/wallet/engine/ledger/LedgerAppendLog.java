@@ -0,0 +1,97 @@
+package org.example.wallet.engine.ledger;
+
+import org.example.wallet.money.Money;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+class LedgerAppendLog implements AutoCloseable {
+    private static final int RECORD_SIZE = 4 * Long.BYTES;
+
+    private final FileChannel channel;
+    private final boolean fsync;
+    private final ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE * 256);
+
+    LedgerAppendLog(Path file, boolean fsync) {
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            this.channel = FileChannel.open(file,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.channel.position(channel.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open ledger log " + file, e);
+        }
+        this.fsync = fsync;
+    }
+
+    void append(long sequence, UUID walletId, Money delta) throws IOException {
+        if (buffer.remaining() < RECORD_SIZE) {
+            writeBuffer();
+        }
+        buffer.putLong(sequence)
+                .putLong(walletId.getMostSignificantBits())
+                .putLong(walletId.getLeastSignificantBits())
+                .putLong(delta.minorUnits());
+    }
+
+    void sync() throws IOException {
+        writeBuffer();
+        if (fsync) {
+            channel.force(false);
+        }
+    }
+
+    List<LedgerLogRecord> readAll() throws IOException {
+        List<LedgerLogRecord> records = new ArrayList<>();
+        ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+        long position = 0;
+        long size = channel.size();
+        while (position + RECORD_SIZE <= size) {
+            record.clear();
+            while (record.hasRemaining()) {
+                channel.read(record, position + record.position());
+            }
+            record.flip();
+            records.add(new LedgerLogRecord(
+                    record.getLong(),
+                    new UUID(record.getLong(), record.getLong()),
+                    Money.ofMinor(record.getLong())));
+            position += RECORD_SIZE;
+        }
+        return records;
+    }
+
+    void truncate() throws IOException {
+        buffer.clear();
+        channel.truncate(0);
+        channel.position(0);
+        if (fsync) {
+            channel.force(true);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        sync();
+        channel.close();
+    }
+
+    private void writeBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    record LedgerLogRecord(long sequence, UUID walletId, Money delta) {
+    }
+}
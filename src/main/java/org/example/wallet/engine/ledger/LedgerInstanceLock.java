@@ -0,0 +1,68 @@
+package org.example.wallet.engine.ledger;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.wallet.store.sql.SqlDialect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "wallet.engine.mode", havingValue = "ledger")
+public class LedgerInstanceLock {
+    private static final String TRY_LOCK = "SELECT pg_try_advisory_lock(?)";
+    private static final long LOCK_KEY = "wallet.engine.ledger".hashCode();
+
+    private final DataSourceProperties dataSourceProperties;
+    private final boolean postgres;
+
+    private Connection connection;
+
+    public LedgerInstanceLock(DataSourceProperties dataSourceProperties, SqlDialect dialect) {
+        this.dataSourceProperties = dataSourceProperties;
+        this.postgres = dialect.isPostgres();
+    }
+
+    @PostConstruct
+    public void acquire() throws SQLException {
+        if (!postgres) {
+            log.warn("Ledger mode single-instance lock is only enforced on PostgreSQL");
+            return;
+        }
+        Connection candidate = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword());
+        boolean acquired = false;
+        try (PreparedStatement statement = candidate.prepareStatement(TRY_LOCK)) {
+            statement.setLong(1, LOCK_KEY);
+            try (ResultSet rs = statement.executeQuery()) {
+                acquired = rs.next() && rs.getBoolean(1);
+            }
+        } finally {
+            if (!acquired) {
+                candidate.close();
+            }
+        }
+        if (!acquired) {
+            throw new IllegalStateException(
+                    "Ledger mode supports a single instance, but another instance already holds the ledger lock");
+        }
+        connection = candidate;
+        log.info("Acquired the ledger lock, this instance owns the ledger shards");
+    }
+
+    @PreDestroy
+    public void release() throws SQLException {
+        if (connection != null) {
+            connection.close();
+            connection = null;
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package org.example.wallet.engine.ledger;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.wallet.api.dtos.wallet.OperationType;
+import org.example.wallet.api.errors.ServerErrorCode;
+import org.example.wallet.money.Money;
+import org.example.wallet.money.MoneyJdbc;
+import org.springframework.dao.DataAccessException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Slf4j
+class LedgerShard implements Runnable {
+    private static final int DRAIN_LIMIT = 256;
+    private static final long MAX_FLUSH_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(30);
+    private static final Command WAKE_UP = new Command(null, null, null, new CompletableFuture<>());
+
+    private final int index;
+    private final LedgerAppendLog appendLog;
+    private final LedgerStore store;
+    private final long flushIntervalNanos;
+    private final int flushThreshold;
+
+    private final BlockingQueue<Command> queue = new LinkedBlockingQueue<>();
+    private final ReentrantLock lifecycle = new ReentrantLock();
+    private final Map<UUID, Money> balances;
+    private final Map<UUID, Money> pending = new HashMap<>();
+    private final List<Object[]> journal = new ArrayList<>();
+    private final List<Command> batch = new ArrayList<>(DRAIN_LIMIT);
+
+    private long sequence;
+    private long nextFlush;
+    private long flushBackoffNanos;
+    private volatile boolean running = true;
+    private Exception failure;
+
+    LedgerShard(int index, LedgerAppendLog appendLog, LedgerStore store, long flushIntervalNanos, int flushThreshold,
+                int maxCachedWallets) {
+        this.index = index;
+        this.appendLog = appendLog;
+        this.store = store;
+        this.flushIntervalNanos = flushIntervalNanos;
+        this.flushThreshold = flushThreshold;
+        this.balances = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Money> eldest) {
+                return size() > maxCachedWallets;
+            }
+        };
+    }
+
+    void recover() throws IOException {
+        long checkpoint = store.checkpoint(index);
+        Map<UUID, Money> unflushed = new HashMap<>();
+        Map<UUID, Money> replayed = new HashMap<>();
+        List<Object[]> entries = new ArrayList<>();
+        long last = checkpoint;
+        for (LedgerAppendLog.LedgerLogRecord record : appendLog.readAll()) {
+            if (record.sequence() > checkpoint) {
+                Money balance = replayed.computeIfAbsent(record.walletId(),
+                        walletId -> store.loadBalance(walletId).orElse(Money.ZERO)).plus(record.delta());
+                replayed.put(record.walletId(), balance);
+                unflushed.merge(record.walletId(), record.delta(), Money::plus);
+                entries.add(journalEntry(record.walletId(), record.delta(), balance));
+                last = Math.max(last, record.sequence());
+            }
+        }
+        if (!unflushed.isEmpty()) {
+            log.info("Ledger shard {} replaying {} unflushed wallets up to sequence {}", index, unflushed.size(), last);
+            store.flush(index, unflushed, entries, last);
+        }
+        appendLog.truncate();
+        sequence = last;
+    }
+
+    void close() throws IOException {
+        appendLog.close();
+    }
+
+    CompletableFuture<LedgerReply> submit(UUID walletId, OperationType type, Money amount) {
+        Command command = new Command(walletId, type, amount, new CompletableFuture<>());
+        lifecycle.lock();
+        try {
+            if (running) {
+                queue.add(command);
+                return command.reply();
+            }
+        } finally {
+            lifecycle.unlock();
+        }
+        command.reply().completeExceptionally(stopped());
+        return command.reply();
+    }
+
+    void stop() {
+        lifecycle.lock();
+        try {
+            running = false;
+            queue.add(WAKE_UP);
+        } finally {
+            lifecycle.unlock();
+        }
+    }
+
+    @Override
+    public void run() {
+        nextFlush = System.nanoTime() + flushIntervalNanos;
+        try {
+            while ((running || !queue.isEmpty()) && failure == null) {
+                Command first = queue.poll(Math.max(0, nextFlush - System.nanoTime()), TimeUnit.NANOSECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, DRAIN_LIMIT - 1);
+                    process();
+                }
+                if (failure != null) {
+                    break;
+                }
+                boolean backingOff = flushBackoffNanos > 0;
+                if ((journal.size() >= flushThreshold && !backingOff) || System.nanoTime() >= nextFlush) {
+                    flush();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            lifecycle.lock();
+            try {
+                running = false;
+            } finally {
+                lifecycle.unlock();
+            }
+            failPending(failure != null ? failure : stopped());
+            if (failure == null) {
+                flush();
+            }
+            try {
+                appendLog.close();
+            } catch (IOException e) {
+                log.error("Ledger shard {} failed to close its log", index, e);
+            }
+        }
+    }
+
+    private void process() {
+        List<LedgerReply> replies = new ArrayList<>(batch.size());
+        try {
+            for (Command command : batch) {
+                replies.add(execute(command));
+            }
+            appendLog.sync();
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).reply().complete(replies.get(i));
+            }
+        } catch (Exception e) {
+            log.error("Ledger shard {} failed to persist a batch of {} commands, stopping", index, batch.size(), e);
+            failure = e;
+            for (Command command : batch) {
+                command.reply().completeExceptionally(e);
+            }
+        } finally {
+            batch.clear();
+        }
+    }
+
+    private void failPending(Exception cause) {
+        Command command;
+        while ((command = queue.poll()) != null) {
+            command.reply().completeExceptionally(cause);
+        }
+    }
+
+    private IllegalStateException stopped() {
+        return new IllegalStateException("Ledger shard " + index + " is stopped");
+    }
+
+    private LedgerReply execute(Command command) throws IOException {
+        if (command == WAKE_UP || command.reply().isDone()) {
+            return null;
+        }
+        Money balance = balances.get(command.walletId());
+        if (balance == null) {
+            Optional<Money> loaded;
+            try {
+                loaded = store.loadBalance(command.walletId());
+            } catch (DataAccessException e) {
+                log.warn("Ledger shard {} failed to load wallet {}", index, command.walletId(), e);
+                command.reply().completeExceptionally(e);
+                return null;
+            }
+            if (loaded.isEmpty()) {
+                return LedgerReply.rejected(ServerErrorCode.WALLET_NOT_FOUND);
+            }
+            balance = loaded.get().plus(pending.getOrDefault(command.walletId(), Money.ZERO));
+            balances.put(command.walletId(), balance);
+        }
+
+        if (command.type() == null) {
+            return LedgerReply.success(balance);
+        }
+
+        Money delta = command.type() == OperationType.WITHDRAW ? command.amount().negate() : command.amount();
+        Money updated = balance.plus(delta);
+        if (updated.signum() < 0) {
+            return LedgerReply.rejected(ServerErrorCode.INSUFFICIENT_FUNDS);
+        }
+
+        appendLog.append(++sequence, command.walletId(), delta);
+        balances.put(command.walletId(), updated);
+        pending.merge(command.walletId(), delta, Money::plus);
+        journal.add(journalEntry(command.walletId(), delta, updated));
+        return LedgerReply.success(updated);
+    }
+
+    private static Object[] journalEntry(UUID walletId, Money delta, Money balance) {
+        OperationType type = delta.signum() < 0 ? OperationType.WITHDRAW : OperationType.DEPOSIT;
+        Money amount = delta.signum() < 0 ? delta.negate() : delta;
+        return new Object[]{walletId, type.name(), MoneyJdbc.bind(amount), MoneyJdbc.bind(balance)};
+    }
+
+    private void flush() {
+        nextFlush = System.nanoTime() + flushIntervalNanos;
+        if (pending.isEmpty()) {
+            return;
+        }
+        try {
+            store.flush(index, pending, journal, sequence);
+        } catch (Exception e) {
+            flushBackoffNanos = Math.min(MAX_FLUSH_BACKOFF_NANOS,
+                    flushBackoffNanos == 0 ? flushIntervalNanos : flushBackoffNanos * 2);
+            nextFlush = System.nanoTime() + flushBackoffNanos;
+            log.error("Ledger shard {} failed to flush {} wallets, retrying in {} ms", index, pending.size(),
+                    TimeUnit.NANOSECONDS.toMillis(flushBackoffNanos), e);
+            return;
+        }
+        pending.clear();
+        journal.clear();
+        flushBackoffNanos = 0;
+
+        try {
+            appendLog.truncate();
+        } catch (IOException e) {
+            log.error("Ledger shard {} flushed up to sequence {} but failed to truncate its log, stopping",
+                    index, sequence, e);
+            failure = e;
+        }
+    }
+
+    private record Command(UUID walletId, OperationType type, Money amount,
+                           CompletableFuture<LedgerReply> reply) {
+    }
+
+    record LedgerReply(ServerErrorCode errorCode, Money balance) {
+        static LedgerReply success(Money balance) {
+            return new LedgerReply(null, balance);
+        }
+
+        static LedgerReply rejected(ServerErrorCode errorCode) {
+            return new LedgerReply(errorCode, null);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.wallet.engine.ledger;
+
+import org.example.wallet.money.Money;
+import org.example.wallet.money.MoneyJdbc;
+import org.example.wallet.store.sql.JournalSql;
+import org.example.wallet.store.sql.SqlDialect;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+class LedgerStore {
+    private static final String SELECT_BALANCE = "SELECT balance FROM wallet WHERE wallet_id = ?";
+    private static final String APPLY_DELTA = "UPDATE wallet SET balance = balance + ? WHERE wallet_id = ?";
+    private static final String SELECT_CHECKPOINT = "SELECT sequence FROM ledger_checkpoint WHERE shard = ?";
+    private static final String UPDATE_CHECKPOINT = "UPDATE ledger_checkpoint SET sequence = ? WHERE shard = ?";
+    private static final String INSERT_CHECKPOINT = "INSERT INTO ledger_checkpoint (shard, sequence) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final String appendJournal;
+
+    LedgerStore(JdbcTemplate jdbcTemplate, SqlDialect dialect, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.appendJournal = JournalSql.appendJournal(dialect);
+    }
+
+    Optional<Money> loadBalance(UUID walletId) {
+        return jdbcTemplate.query(SELECT_BALANCE,
+                rs -> rs.next() ? Optional.of(MoneyJdbc.getMoney(rs, 1)) : Optional.empty(), walletId);
+    }
+
+    long checkpoint(int shard) {
+        List<Long> sequences = jdbcTemplate.queryForList(SELECT_CHECKPOINT, Long.class, shard);
+        return sequences.isEmpty() ? 0L : sequences.get(0);
+    }
+
+    void flush(int shard, Map<UUID, Money> deltas, List<Object[]> journal, long sequence) {
+        List<Object[]> args = new ArrayList<>(deltas.size());
+        deltas.forEach((walletId, delta) -> args.add(new Object[]{MoneyJdbc.bind(delta), walletId}));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!args.isEmpty()) {
+                jdbcTemplate.batchUpdate(APPLY_DELTA, args);
+            }
+            if (!journal.isEmpty()) {
+                jdbcTemplate.batchUpdate(appendJournal, journal);
+            }
+            if (jdbcTemplate.update(UPDATE_CHECKPOINT, sequence, shard) == 0) {
+                jdbcTemplate.update(INSERT_CHECKPOINT, shard, sequence);
+            }
+        });
+    }
+}
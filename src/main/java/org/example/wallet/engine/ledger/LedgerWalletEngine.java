@@ -0,0 +1,157 @@
+package org.example.wallet.engine.ledger;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.wallet.api.dtos.wallet.OperationType;
+import org.example.wallet.api.errors.ServerErrorCode;
+import org.example.wallet.api.errors.ServerException;
+import org.example.wallet.engine.WalletEngine;
+import org.example.wallet.engine.WalletEngineProperties;
+import org.example.wallet.engine.WalletOperationResult;
+import org.example.wallet.money.Money;
+import org.example.wallet.store.sql.SqlDialect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "wallet.engine.mode", havingValue = "ledger")
+@DependsOn("ledgerInstanceLock")
+public class LedgerWalletEngine implements WalletEngine {
+    private static final Pattern SHARD_LOG = Pattern.compile("shard-(\\d+)\\.log");
+
+    private final WalletEngineProperties.Ledger ledger;
+    private final LedgerStore store;
+    private final LedgerShard[] shards;
+    private final Thread[] threads;
+    private final long replyTimeoutNanos;
+
+    public LedgerWalletEngine(WalletEngineProperties properties, JdbcTemplate jdbcTemplate, SqlDialect dialect,
+                              PlatformTransactionManager transactionManager) {
+        this.ledger = properties.ledger();
+        this.store = new LedgerStore(jdbcTemplate, dialect, transactionManager);
+        this.replyTimeoutNanos = ledger.replyTimeout().toNanos();
+
+        int count = ledger.effectiveShards();
+        this.shards = new LedgerShard[count];
+        this.threads = new Thread[count];
+        for (int i = 0; i < count; i++) {
+            shards[i] = newShard(i);
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        recoverRetiredShards();
+        for (int i = 0; i < shards.length; i++) {
+            try {
+                shards[i].recover();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot recover ledger shard " + i, e);
+            }
+        }
+        for (int i = 0; i < shards.length; i++) {
+            threads[i] = new Thread(shards[i], "ledger-shard-" + i);
+            threads[i].start();
+        }
+        log.info("Ledger engine started with {} shards", shards.length);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        for (LedgerShard shard : shards) {
+            shard.stop();
+        }
+        for (Thread thread : threads) {
+            if (thread != null) {
+                thread.join();
+            }
+        }
+        log.info("Ledger engine stopped, all shards flushed");
+    }
+
+    @Override
+    public boolean requiresCoordination(UUID walletId) {
+        return false;
+    }
+
+    @Override
+    public boolean joinsCallerTransaction() {
+        return false;
+    }
+
+    @Override
+    public WalletOperationResult apply(UUID walletId, OperationType type, Money amount) {
+        LedgerShard.LedgerReply reply = await(shardFor(walletId).submit(walletId, type, amount));
+        return reply.errorCode() == null
+                ? WalletOperationResult.success(reply.balance())
+                : WalletOperationResult.rejected(reply.errorCode());
+    }
+
+    @Override
+    public Optional<Money> findBalance(UUID walletId) {
+        LedgerShard.LedgerReply reply = await(shardFor(walletId).submit(walletId, null, null));
+        return Optional.ofNullable(reply.balance());
+    }
+
+    private LedgerShard.LedgerReply await(CompletableFuture<LedgerShard.LedgerReply> reply) {
+        try {
+            return reply.orTimeout(replyTimeoutNanos, TimeUnit.NANOSECONDS).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                throw new ServerException(ServerErrorCode.SERVER_OVERLOADED);
+            }
+            throw e;
+        }
+    }
+
+    private LedgerShard shardFor(UUID walletId) {
+        return shards[Math.floorMod(walletId.hashCode(), shards.length)];
+    }
+
+    private LedgerShard newShard(int index) {
+        LedgerAppendLog appendLog = new LedgerAppendLog(ledger.logDir().resolve("shard-" + index + ".log"), ledger.fsync());
+        return new LedgerShard(index, appendLog, store, ledger.flushInterval().toNanos(), ledger.flushThreshold(),
+                ledger.maxCachedWallets());
+    }
+
+    private void recoverRetiredShards() {
+        if (!Files.isDirectory(ledger.logDir())) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(ledger.logDir())) {
+            for (Path file : files.toList()) {
+                Matcher matcher = SHARD_LOG.matcher(file.getFileName().toString());
+                if (!matcher.matches() || Integer.parseInt(matcher.group(1)) < shards.length) {
+                    continue;
+                }
+                int index = Integer.parseInt(matcher.group(1));
+                log.info("Ledger shard {} is no longer configured, replaying its log", index);
+                LedgerShard retired = newShard(index);
+                retired.recover();
+                retired.close();
+                Files.delete(file);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot recover retired ledger shards", e);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package org.example.wallet.engine.sharded;
+
+import lombok.RequiredArgsConstructor;
+import org.example.wallet.api.dtos.wallet.OperationType;
+import org.example.wallet.api.errors.ServerErrorCode;
+import org.example.wallet.engine.WalletEngine;
+import org.example.wallet.engine.WalletOperationResult;
+import org.example.wallet.metrics.OperationStage;
+import org.example.wallet.metrics.WalletMetrics;
+import org.example.wallet.money.Money;
+import org.example.wallet.store.repo.BalanceUpdate;
+import org.example.wallet.store.repo.WalletRepository;
+import org.example.wallet.store.repo.WalletSlotRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "wallet.engine.mode", havingValue = "sharded")
+public class ShardedWalletEngine implements WalletEngine {
+    private final WalletRepository walletRepository;
+    private final WalletSlotRepository slotRepository;
+    private final WalletSlotAllocator slotAllocator;
+    private final WalletMetrics walletMetrics;
+
+    @Override
+    @Transactional
+    public WalletOperationResult apply(UUID walletId, OperationType type, Money amount) {
+        long start = System.nanoTime();
+        slotAllocator.recordWrite(walletId);
+        int slots = slotAllocator.slotCount(walletId);
+        BalanceUpdate update = slots == 0
+                ? applyToWallet(walletId, type, amount)
+                : applyToSlot(walletId, type, amount, ThreadLocalRandom.current().nextInt(slots));
+        walletMetrics.record(OperationStage.OPERATION_STATEMENT, start);
+
+        if (!update.walletFound()) {
+            return WalletOperationResult.rejected(ServerErrorCode.WALLET_NOT_FOUND);
+        }
+        if (!update.isApplied()) {
+            return WalletOperationResult.rejected(ServerErrorCode.INSUFFICIENT_FUNDS);
+        }
+        return WalletOperationResult.success(update.balance());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Money> findBalance(UUID walletId) {
+        return slotRepository.findBalance(walletId);
+    }
+
+    @Override
+    public boolean requiresCoordination(UUID walletId) {
+        return slotAllocator.slotCount(walletId) == 0;
+    }
+
+    @Override
+    public boolean splitsBalances() {
+        return true;
+    }
+
+    private BalanceUpdate applyToSlot(UUID walletId, OperationType type, Money amount, int slot) {
+        Optional<Money> balance = type == OperationType.WITHDRAW
+                ? slotRepository.withdrawFromSlot(walletId, slot, amount)
+                : slotRepository.depositToSlot(walletId, slot, amount);
+        if (balance.isPresent()) {
+            return new BalanceUpdate(true, balance.get());
+        }
+        if (type == OperationType.WITHDRAW) {
+            return slotRepository.withdrawRebalancing(walletId, amount);
+        }
+        slotRepository.consolidate(walletId);
+        return walletRepository.depositReturningBalance(walletId, amount);
+    }
+
+    private BalanceUpdate applyToWallet(UUID walletId, OperationType type, Money amount) {
+        if (type != OperationType.WITHDRAW) {
+            return walletRepository.depositReturningBalance(walletId, amount);
+        }
+        BalanceUpdate update = walletRepository.withdrawReturningBalance(walletId, amount);
+        return update.walletFound() && !update.isApplied()
+                ? slotRepository.withdrawRebalancing(walletId, amount)
+                : update;
+    }
+}
@@ -0,0 +1,140 @@
+package org.example.wallet.engine.sharded;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.example.wallet.engine.WalletEngineProperties;
+import org.example.wallet.store.repo.WalletSlotRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "wallet.engine.mode", havingValue = "sharded")
+public class WalletSlotAllocator {
+    private final WalletSlotRepository slotRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxSlots;
+    private final int targetOpsPerSlot;
+    private final Duration rateTtl;
+    private final int scaleDownAfter;
+    private final UUID instanceId = UUID.randomUUID();
+    private final Map<UUID, Integer> scaleDownVotes = new HashMap<>();
+    private final Counter resizes;
+
+    private volatile Map<UUID, Integer> slotCounts;
+    private volatile Map<UUID, LongAdder> writes = new ConcurrentHashMap<>();
+    private long windowStart = System.nanoTime();
+
+    public WalletSlotAllocator(WalletSlotRepository slotRepository, PlatformTransactionManager transactionManager,
+                               WalletEngineProperties properties, MeterRegistry meterRegistry) {
+        WalletEngineProperties.Sharded sharded = properties.sharded();
+        this.slotRepository = slotRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxSlots = Math.max(2, sharded.maxSlots());
+        this.targetOpsPerSlot = Math.max(1, sharded.targetOpsPerSlot());
+        this.rateTtl = sharded.evaluationInterval().multipliedBy(3);
+        this.scaleDownAfter = Math.max(1, sharded.scaleDownAfter());
+        this.slotCounts = Map.copyOf(slotRepository.findSlotCounts());
+
+        this.resizes = Counter.builder("wallet.engine.sharded.resizes")
+                .description("Slot count changes applied to wallets")
+                .register(meterRegistry);
+        Gauge.builder("wallet.engine.sharded.wallets", this, allocator -> allocator.slotCounts.size())
+                .description("Wallets whose balance is currently split across slots")
+                .register(meterRegistry);
+    }
+
+    public int slotCount(UUID walletId) {
+        return slotCounts.getOrDefault(walletId, 0);
+    }
+
+    public void recordWrite(UUID walletId) {
+        writes.computeIfAbsent(walletId, id -> new LongAdder()).increment();
+    }
+
+    @Scheduled(fixedDelayString = "${wallet.engine.sharded.evaluation-interval:1s}")
+    public void rebalance() {
+        Map<UUID, LongAdder> window = writes;
+        writes = new ConcurrentHashMap<>();
+        long now = System.nanoTime();
+        double seconds = Math.max(1e-3, (now - windowStart) / 1e9);
+        windowStart = now;
+
+        Map<UUID, Double> localRates = new HashMap<>();
+        window.forEach((walletId, count) -> localRates.put(walletId, count.sum() / seconds));
+        Map<UUID, Double> rates = publishRates(localRates);
+        if (rates == null) {
+            return;
+        }
+
+        Map<UUID, Integer> current = slotRepository.findSlotCounts();
+        Set<UUID> candidates = new HashSet<>(current.keySet());
+        candidates.addAll(rates.keySet());
+        scaleDownVotes.keySet().retainAll(candidates);
+        for (UUID walletId : candidates) {
+            double rate = rates.getOrDefault(walletId, 0.0);
+            int slots = current.getOrDefault(walletId, 0);
+            int target = targetSlots(rate, slots);
+            if (target < slots && scaleDownVotes.merge(walletId, 1, Integer::sum) < scaleDownAfter) {
+                continue;
+            }
+            scaleDownVotes.remove(walletId);
+            if (target != slots) {
+                resize(walletId, slots, target, rate);
+            }
+        }
+        slotCounts = Map.copyOf(slotRepository.findSlotCounts());
+    }
+
+    private Map<UUID, Double> publishRates(Map<UUID, Double> localRates) {
+        Instant now = Instant.now();
+        try {
+            return transactionTemplate.execute(status -> {
+                slotRepository.deleteStaleRates(now.minus(rateTtl));
+                slotRepository.reportRates(instanceId, localRates, now);
+                return slotRepository.findTotalRates(now.minus(rateTtl));
+            });
+        } catch (RuntimeException e) {
+            log.warn("Failed to publish write rates of instance {}, skipping this evaluation", instanceId, e);
+            return null;
+        }
+    }
+
+    int targetSlots(double rate, int slots) {
+        int needed = (int) Math.ceil(rate / targetOpsPerSlot);
+        if (needed > Math.max(1, slots)) {
+            return Math.min(needed, maxSlots);
+        }
+        if (slots > 0 && needed * 4 <= slots) {
+            return needed < 2 ? 0 : needed;
+        }
+        return slots;
+    }
+
+    private void resize(UUID walletId, int from, int to, double rate) {
+        try {
+            Boolean resized = transactionTemplate.execute(status -> slotRepository.resize(walletId, to));
+            if (Boolean.TRUE.equals(resized)) {
+                resizes.increment();
+                log.info("Wallet {} resized from {} to {} slots at {} writes/s", walletId, from, to, Math.round(rate));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to resize wallet {} to {} slots", walletId, to, e);
+        }
+    }
+}
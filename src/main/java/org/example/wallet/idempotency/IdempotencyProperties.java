@@ -0,0 +1,14 @@
+package org.example.wallet.idempotency;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "wallet.idempotency")
+public record IdempotencyProperties(
+        @DefaultValue("100000") long maxSize,
+        @DefaultValue("24h") Duration ttl,
+        @DefaultValue("30s") Duration claimLease
+) {
+}
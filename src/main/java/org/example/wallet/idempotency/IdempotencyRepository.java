@@ -0,0 +1,75 @@
+package org.example.wallet.idempotency;
+
+import lombok.RequiredArgsConstructor;
+import org.example.wallet.api.dtos.wallet.OperationType;
+import org.example.wallet.api.dtos.wallet.WalletRequestDto;
+import org.example.wallet.money.Money;
+import org.example.wallet.money.MoneyJdbc;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Currency;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class IdempotencyRepository {
+    private static final String FIND = """
+            SELECT wallet_id, operation_type, amount, currency, balance, created_at
+            FROM idempotency_key WHERE idempotency_key = ?
+            """;
+    private static final String INSERT = """
+            INSERT INTO idempotency_key (idempotency_key, wallet_id, operation_type, amount, currency, balance,
+                                         created_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+    private static final String COMPLETE = "UPDATE idempotency_key SET balance = ? WHERE idempotency_key = ?";
+    private static final String DELETE = "DELETE FROM idempotency_key WHERE idempotency_key = ?";
+    private static final String DELETE_EXPIRED = "DELETE FROM idempotency_key WHERE created_at < ?";
+    private static final String DELETE_EXPIRED_CLAIMS =
+            "DELETE FROM idempotency_key WHERE balance IS NULL AND created_at < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public Optional<IdempotentOperation> find(String key) {
+        return jdbcTemplate.query(FIND, (rs, rowNum) -> new IdempotentOperation(
+                new WalletRequestDto(
+                        rs.getObject("wallet_id", UUID.class),
+                        OperationType.valueOf(rs.getString("operation_type")),
+                        MoneyJdbc.getMoney(rs, "amount"),
+                        currency(rs.getString("currency"))),
+                MoneyJdbc.getMoney(rs, "balance"),
+                rs.getTimestamp("created_at").toInstant()), key).stream().findFirst();
+    }
+
+    public void insert(String key, IdempotentOperation operation) {
+        WalletRequestDto request = operation.request();
+        String currency = request.currency() == null ? null : request.currency().getCurrencyCode();
+        jdbcTemplate.update(INSERT, key, request.walletId(), request.operationType().name(),
+                MoneyJdbc.bind(request.amount()), currency, MoneyJdbc.bind(operation.balance()),
+                Timestamp.from(operation.createdAt()));
+    }
+
+    public void complete(String key, Money balance) {
+        jdbcTemplate.update(COMPLETE, MoneyJdbc.bind(balance), key);
+    }
+
+    public void delete(String key) {
+        jdbcTemplate.update(DELETE, key);
+    }
+
+    public int deleteExpired(Instant cutoff) {
+        return jdbcTemplate.update(DELETE_EXPIRED, Timestamp.from(cutoff));
+    }
+
+    public int deleteExpiredClaims(Instant cutoff) {
+        return jdbcTemplate.update(DELETE_EXPIRED_CLAIMS, Timestamp.from(cutoff));
+    }
+
+    private static Currency currency(String code) {
+        return code == null ? null : Currency.getInstance(code);
+    }
+}
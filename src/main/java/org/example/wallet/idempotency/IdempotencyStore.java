@@ -0,0 +1,136 @@
+package org.example.wallet.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.example.wallet.api.dtos.wallet.WalletRequestDto;
+import org.example.wallet.api.errors.ServerErrorCode;
+import org.example.wallet.engine.WalletOperationResult;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Function;
+
+@Component
+@Slf4j
+public class IdempotencyStore {
+    private final IdempotencyRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache<String, IdempotentOperation> cache;
+    private final Duration ttl;
+    private final Duration claimLease;
+
+    public IdempotencyStore(IdempotencyRepository repository, PlatformTransactionManager transactionManager,
+                            IdempotencyProperties properties) {
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.maxSize())
+                .expireAfterWrite(properties.ttl())
+                .build();
+        this.ttl = properties.ttl();
+        this.claimLease = properties.claimLease();
+    }
+
+    public WalletOperationResult execute(String key, WalletRequestDto dto, boolean joinsTransaction,
+                                         Function<WalletRequestDto, WalletOperationResult> operation) {
+        IdempotentOperation cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return replay(key, cached, dto);
+        }
+
+        try {
+            return joinsTransaction
+                    ? executeInTransaction(key, dto, operation)
+                    : executeWithClaim(key, dto, operation);
+        } catch (DuplicateKeyException e) {
+            IdempotentOperation stored = repository.find(key).orElse(null);
+            if (stored == null || isExpired(stored)) {
+                repository.delete(key);
+                return execute(key, dto, joinsTransaction, operation);
+            }
+            if (stored.isCompleted()) {
+                cache.put(key, stored);
+            }
+            return replay(key, stored, dto);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${wallet.idempotency.purge-interval:1h}")
+    public void purgeExpired() {
+        Instant now = Instant.now();
+        int purged = repository.deleteExpired(now.minus(ttl));
+        if (purged > 0) {
+            log.info("Purged {} expired idempotency keys", purged);
+        }
+        int released = repository.deleteExpiredClaims(now.minus(claimLease));
+        if (released > 0) {
+            log.warn("Released {} idempotency claims that were never completed", released);
+        }
+    }
+
+    private WalletOperationResult executeInTransaction(String key, WalletRequestDto dto,
+                                                      Function<WalletRequestDto, WalletOperationResult> operation) {
+        Instant createdAt = Instant.now();
+        WalletOperationResult result = transactionTemplate.execute(status -> {
+            repository.insert(key, new IdempotentOperation(dto, null, createdAt));
+            WalletOperationResult applied = operation.apply(dto);
+            if (applied.isSuccess()) {
+                repository.complete(key, applied.balance());
+            } else {
+                status.setRollbackOnly();
+            }
+            return applied;
+        });
+
+        if (result.isSuccess()) {
+            cache.put(key, new IdempotentOperation(dto, result.balance(), createdAt));
+        }
+        return result;
+    }
+
+    private WalletOperationResult executeWithClaim(String key, WalletRequestDto dto,
+                                                  Function<WalletRequestDto, WalletOperationResult> operation) {
+        Instant createdAt = Instant.now();
+        repository.insert(key, new IdempotentOperation(dto, null, createdAt));
+
+        WalletOperationResult result;
+        try {
+            result = operation.apply(dto);
+        } catch (RuntimeException e) {
+            log.warn("Operation for idempotency key {} failed with an unknown outcome, holding the claim for {}",
+                    key, claimLease);
+            throw e;
+        }
+        if (!result.isSuccess()) {
+            repository.delete(key);
+            return result;
+        }
+
+        repository.complete(key, result.balance());
+        cache.put(key, new IdempotentOperation(dto, result.balance(), createdAt));
+        return result;
+    }
+
+    private WalletOperationResult replay(String key, IdempotentOperation stored, WalletRequestDto dto) {
+        if (!stored.matches(dto)) {
+            log.warn("Idempotency key {} reused for a different operation", key);
+            return WalletOperationResult.rejected(ServerErrorCode.IDEMPOTENCY_KEY_REUSED);
+        }
+        if (!stored.isCompleted()) {
+            return WalletOperationResult.rejected(ServerErrorCode.OPERATION_IN_PROGRESS);
+        }
+        log.info("Replaying operation for idempotency key {}", key);
+        return WalletOperationResult.success(stored.balance());
+    }
+
+    private boolean isExpired(IdempotentOperation operation) {
+        Duration lifetime = operation.isCompleted() ? ttl : claimLease;
+        return operation.createdAt().plus(lifetime).isBefore(Instant.now());
+    }
+}
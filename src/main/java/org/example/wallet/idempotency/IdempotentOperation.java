@@ -0,0 +1,20 @@
+package org.example.wallet.idempotency;
+
+import org.example.wallet.api.dtos.wallet.WalletRequestDto;
+import org.example.wallet.money.Money;
+
+import java.time.Instant;
+import java.util.Objects;
+
+public record IdempotentOperation(WalletRequestDto request, Money balance, Instant createdAt) {
+    public boolean isCompleted() {
+        return balance != null;
+    }
+
+    public boolean matches(WalletRequestDto other) {
+        return request.walletId().equals(other.walletId())
+                && request.operationType() == other.operationType()
+                && request.amount().equals(other.amount())
+                && Objects.equals(request.currency(), other.currency());
+    }
+}
@@ -0,0 +1,55 @@
+package org.example.wallet.journal;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.example.wallet.store.sql.SqlDialect;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+
+@Component
+@Slf4j
+public class JournalPartitionMaintainer {
+    private static final String CREATE_PARTITION = """
+            CREATE TABLE IF NOT EXISTS wallet_transaction_y%dm%02d
+            PARTITION OF wallet_transaction
+            FOR VALUES FROM ('%s-01 00:00:00+00') TO ('%s-01 00:00:00+00')
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JournalProperties properties;
+    private final boolean postgres;
+
+    public JournalPartitionMaintainer(JdbcTemplate jdbcTemplate, SqlDialect dialect, JournalProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.postgres = dialect.isPostgres();
+    }
+
+    @PostConstruct
+    public void init() {
+        createPartitions();
+    }
+
+    @Scheduled(fixedDelayString = "${wallet.journal.maintenance-interval:12h}",
+            initialDelayString = "${wallet.journal.maintenance-interval:12h}")
+    public void createPartitions() {
+        if (!postgres) {
+            return;
+        }
+        YearMonth current = YearMonth.now(ZoneOffset.UTC);
+        for (int i = 0; i <= properties.partitionsAhead(); i++) {
+            YearMonth month = current.plusMonths(i);
+            try {
+                jdbcTemplate.execute(CREATE_PARTITION.formatted(month.getYear(), month.getMonthValue(),
+                        month, month.plusMonths(1)));
+            } catch (DataAccessException e) {
+                log.warn("Failed to create wallet_transaction partition for {}", month, e);
+            }
+        }
+    }
+}
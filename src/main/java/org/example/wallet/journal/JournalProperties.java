@@ -0,0 +1,10 @@
+package org.example.wallet.journal;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "wallet.journal")
+public record JournalProperties(
+        @DefaultValue("3") int partitionsAhead
+) {
+}
@@ -0,0 +1,65 @@
+package org.example.wallet.limiter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+class AdaptiveLimiter {
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile double limit;
+    private long lastDecrease;
+
+    AdaptiveLimiter(LimiterProperties.Limit properties) {
+        this.minLimit = Math.max(1, properties.minLimit());
+        this.maxLimit = Math.max(minLimit, properties.maxLimit());
+        this.latencyThresholdNanos = properties.latencyThreshold().toNanos();
+        this.backoffRatio = properties.backoffRatio();
+        this.limit = Math.min(maxLimit, Math.max(minLimit, properties.initialLimit()));
+        this.lastDecrease = System.nanoTime() - latencyThresholdNanos;
+    }
+
+    boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    void release(long latencyNanos, boolean failed) {
+        int current = inFlight.getAndDecrement();
+        if (failed || latencyNanos > latencyThresholdNanos) {
+            decrease();
+        } else if (current * 2 >= limit) {
+            increase();
+        }
+    }
+
+    int limit() {
+        return (int) limit;
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void decrease() {
+        long now = System.nanoTime();
+        if (now - lastDecrease < latencyThresholdNanos) {
+            return;
+        }
+        lastDecrease = now;
+        limit = Math.max(minLimit, limit * backoffRatio);
+    }
+
+    private synchronized void increase() {
+        limit = Math.min(maxLimit, limit + 1 / limit);
+    }
+}
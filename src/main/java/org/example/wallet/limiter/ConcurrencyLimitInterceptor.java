@@ -0,0 +1,78 @@
+package org.example.wallet.limiter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.wallet.api.errors.ServerErrorCode;
+import org.example.wallet.api.errors.ServerException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+public class ConcurrencyLimitInterceptor implements HandlerInterceptor {
+    private static final String PERMIT = ConcurrencyLimitInterceptor.class.getName() + ".permit";
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final Map<LimitGroup, AdaptiveLimiter> limiters = new EnumMap<>(LimitGroup.class);
+    private final Map<LimitGroup, Counter> rejections = new EnumMap<>(LimitGroup.class);
+
+    public ConcurrencyLimitInterceptor(LimiterProperties properties, MeterRegistry meterRegistry) {
+        limiters.put(LimitGroup.READ, new AdaptiveLimiter(properties.read()));
+        limiters.put(LimitGroup.WRITE, new AdaptiveLimiter(properties.write()));
+
+        limiters.forEach((group, limiter) -> {
+            String tag = group.name().toLowerCase();
+            Gauge.builder("wallet.limiter.limit", limiter, AdaptiveLimiter::limit)
+                    .description("Current adaptive concurrency limit")
+                    .tag("group", tag)
+                    .register(meterRegistry);
+            Gauge.builder("wallet.limiter.inflight", limiter, AdaptiveLimiter::inFlight)
+                    .description("Requests currently admitted by the concurrency limiter")
+                    .tag("group", tag)
+                    .register(meterRegistry);
+            rejections.put(group, Counter.builder("wallet.limiter.rejected")
+                    .description("Requests rejected because the concurrency limit was reached")
+                    .tag("group", tag)
+                    .register(meterRegistry));
+        });
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod method)) {
+            return true;
+        }
+        ConcurrencyLimited limited = method.getMethodAnnotation(ConcurrencyLimited.class);
+        if (limited == null) {
+            return true;
+        }
+
+        AdaptiveLimiter limiter = limiters.get(limited.value());
+        if (!limiter.tryAcquire()) {
+            rejections.get(limited.value()).increment();
+            response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+            throw new ServerException(ServerErrorCode.SERVER_OVERLOADED);
+        }
+        request.setAttribute(PERMIT, new Permit(limiter, System.nanoTime()));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (!(request.getAttribute(PERMIT) instanceof Permit permit)) {
+            return;
+        }
+        request.removeAttribute(PERMIT);
+        permit.limiter().release(System.nanoTime() - permit.startNanos(),
+                ex != null || response.getStatus() >= HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+    }
+
+    private record Permit(AdaptiveLimiter limiter, long startNanos) {
+    }
+}
@@ -0,0 +1,6 @@
+package org.example.wallet.limiter;
+
+public enum LimitGroup {
+    READ,
+    WRITE
+}
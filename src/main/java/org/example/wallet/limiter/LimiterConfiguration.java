@@ -0,0 +1,23 @@
+package org.example.wallet.limiter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+@EnableConfigurationProperties(LimiterProperties.class)
+@ConditionalOnProperty(name = "wallet.limiter.enabled", havingValue = "true", matchIfMissing = true)
+public class LimiterConfiguration implements WebMvcConfigurer {
+    private final LimiterProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ConcurrencyLimitInterceptor(properties, meterRegistry));
+    }
+}
@@ -0,0 +1,22 @@
+package org.example.wallet.limiter;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "wallet.limiter")
+public record LimiterProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue Limit read,
+        @DefaultValue Limit write
+) {
+    public record Limit(
+            @DefaultValue("50") int initialLimit,
+            @DefaultValue("4") int minLimit,
+            @DefaultValue("500") int maxLimit,
+            @DefaultValue("100ms") Duration latencyThreshold,
+            @DefaultValue("0.9") double backoffRatio
+    ) {
+    }
+}
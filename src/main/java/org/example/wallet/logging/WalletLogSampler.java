@@ -0,0 +1,26 @@
+package org.example.wallet.logging;
+
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+@Component
+public class WalletLogSampler {
+    private static final int BUCKETS = 1 << 16;
+
+    private final int sampledBuckets;
+
+    public WalletLogSampler(WalletLoggingProperties properties) {
+        double rate = Math.max(0, Math.min(1, properties.sampleRate()));
+        this.sampledBuckets = (int) Math.round(rate * BUCKETS);
+    }
+
+    public boolean isSampled(UUID walletId) {
+        if (sampledBuckets >= BUCKETS) {
+            return true;
+        }
+        long bits = walletId.getMostSignificantBits() ^ walletId.getLeastSignificantBits();
+        bits *= 0x9E3779B97F4A7C15L;
+        return (int) (bits >>> 48) < sampledBuckets;
+    }
+}
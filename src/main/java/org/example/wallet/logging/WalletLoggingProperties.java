@@ -0,0 +1,10 @@
+package org.example.wallet.logging;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "wallet.logging")
+public record WalletLoggingProperties(
+        @DefaultValue("1.0") double sampleRate
+) {
+}
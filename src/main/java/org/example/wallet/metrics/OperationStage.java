@@ -0,0 +1,21 @@
+package org.example.wallet.metrics;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+@Getter
+public enum OperationStage {
+    OPERATION_APPLY("doOperation", "apply"),
+    OPERATION_STATEMENT("doOperation", "statement"),
+    OPERATION_CACHE("doOperation", "cache"),
+    OPERATION_RESPONSE("doOperation", "response"),
+    OPERATION_TOTAL("doOperation", "total"),
+    BALANCE_LOOKUP("getBalance", "lookup"),
+    BALANCE_LOAD("getBalance", "load"),
+    BALANCE_RESPONSE("getBalance", "response"),
+    BALANCE_TOTAL("getBalance", "total");
+
+    private final String operation;
+    private final String stage;
+}
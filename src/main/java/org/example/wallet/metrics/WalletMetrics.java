@@ -0,0 +1,76 @@
+package org.example.wallet.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.example.wallet.api.dtos.wallet.OperationType;
+import org.example.wallet.api.errors.ServerErrorCode;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class WalletMetrics {
+    private static final String SUCCESS = "SUCCESS";
+
+    private final Timer[] stageTimers;
+    private final Counter[][] operationOutcomes;
+    private final Counter[] balanceOutcomes;
+
+    public WalletMetrics(MeterRegistry meterRegistry) {
+        OperationStage[] stages = OperationStage.values();
+        this.stageTimers = new Timer[stages.length];
+        for (OperationStage stage : stages) {
+            stageTimers[stage.ordinal()] = Timer.builder("wallet.operation.stage")
+                    .description("Time spent in a stage of the wallet operation path")
+                    .tag("operation", stage.getOperation())
+                    .tag("stage", stage.getStage())
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+        }
+
+        ServerErrorCode[] codes = ServerErrorCode.values();
+        OperationType[] types = OperationType.values();
+        this.operationOutcomes = new Counter[types.length][codes.length + 1];
+        for (OperationType type : types) {
+            for (int i = 0; i <= codes.length; i++) {
+                operationOutcomes[type.ordinal()][i] = Counter.builder("wallet.operations")
+                        .description("Wallet operations by type and outcome")
+                        .tag("type", type.name())
+                        .tag("outcome", outcomeTag(codes, i))
+                        .register(meterRegistry);
+            }
+        }
+
+        this.balanceOutcomes = new Counter[codes.length + 1];
+        for (int i = 0; i <= codes.length; i++) {
+            balanceOutcomes[i] = Counter.builder("wallet.balance.requests")
+                    .description("Balance requests by outcome")
+                    .tag("outcome", outcomeTag(codes, i))
+                    .register(meterRegistry);
+        }
+    }
+
+    public long record(OperationStage stage, long startNanos) {
+        long now = System.nanoTime();
+        stageTimers[stage.ordinal()].record(now - startNanos, TimeUnit.NANOSECONDS);
+        return now;
+    }
+
+    public void recordOperation(OperationType type, ServerErrorCode errorCode) {
+        operationOutcomes[type.ordinal()][outcomeIndex(errorCode)].increment();
+    }
+
+    public void recordBalance(ServerErrorCode errorCode) {
+        balanceOutcomes[outcomeIndex(errorCode)].increment();
+    }
+
+    private static int outcomeIndex(ServerErrorCode errorCode) {
+        return errorCode == null ? 0 : errorCode.ordinal() + 1;
+    }
+
+    private static String outcomeTag(ServerErrorCode[] codes, int index) {
+        return index == 0 ? SUCCESS : codes[index - 1].name();
+    }
+}
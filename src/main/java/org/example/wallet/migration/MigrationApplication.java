@@ -0,0 +1,38 @@
+package org.example.wallet.migration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.liquibase.LiquibaseAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+@Slf4j
+@SpringBootConfiguration
+@ImportAutoConfiguration({DataSourceAutoConfiguration.class, LiquibaseAutoConfiguration.class})
+public class MigrationApplication {
+    private static final String EXIT_AFTER_MIGRATE = "wallet.migration.exit-after-migrate";
+
+    public static boolean isRequested(String... args) {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new SimpleCommandLinePropertySource(args));
+        return environment.getProperty(EXIT_AFTER_MIGRATE, Boolean.class, false);
+    }
+
+    public static int migrate(String... args) {
+        int exitCode = SpringApplication.exit(application().run(args));
+        log.info("Database migrations applied, shutting down");
+        return exitCode;
+    }
+
+    static SpringApplication application() {
+        return new SpringApplicationBuilder(MigrationApplication.class)
+                .main(MigrationApplication.class)
+                .web(WebApplicationType.NONE)
+                .build();
+    }
+}
@@ -0,0 +1,26 @@
+package org.example.wallet.money;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Currency;
+
+@ConfigurationProperties(prefix = "wallet.currency")
+public record CurrencyProperties(@DefaultValue("RUB") Currency base) {
+    public boolean isBase(Currency currency) {
+        return currency == null || currency.equals(base);
+    }
+
+    public boolean isSupported(Currency currency) {
+        int digits = currency.getDefaultFractionDigits();
+        return digits >= 0 && digits <= Money.SCALE;
+    }
+
+    public boolean fitsMinorUnit(Currency currency, Money amount) {
+        long minorUnit = 1;
+        for (int digits = currency.getDefaultFractionDigits(); digits < Money.SCALE; digits++) {
+            minorUnit *= 10;
+        }
+        return amount.minorUnits() % minorUnit == 0;
+    }
+}
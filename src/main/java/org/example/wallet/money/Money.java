@@ -0,0 +1,181 @@
+package org.example.wallet.money;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.math.BigDecimal;
+
+@JsonSerialize(using = MoneyJsonSerializer.class)
+@JsonDeserialize(using = MoneyJsonDeserializer.class)
+public final class Money extends Number implements Comparable<Money> {
+    public static final int SCALE = 2;
+    public static final Money ZERO = new Money(0);
+
+    private static final int MAX_CHARS = 22;
+    private static final long MINOR_PER_UNIT = 100;
+
+    private final long minorUnits;
+
+    private Money(long minorUnits) {
+        this.minorUnits = minorUnits;
+    }
+
+    public static Money ofMinor(long minorUnits) {
+        return minorUnits == 0 ? ZERO : new Money(minorUnits);
+    }
+
+    public static Money of(BigDecimal value) {
+        try {
+            return ofMinor(value.movePointRight(SCALE).longValueExact());
+        } catch (ArithmeticException e) {
+            throw new NumberFormatException("Amount " + value + " has more than " + SCALE
+                    + " decimal places or is out of range");
+        }
+    }
+
+    public static Money parse(CharSequence text) {
+        char[] chars = new char[text.length()];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = text.charAt(i);
+        }
+        return parse(chars, 0, chars.length);
+    }
+
+    public static Money parse(char[] chars, int offset, int length) {
+        int end = offset + length;
+        int i = offset;
+        boolean negative = false;
+        if (i < end && (chars[i] == '-' || chars[i] == '+')) {
+            negative = chars[i] == '-';
+            i++;
+        }
+
+        long units = 0;
+        int fraction = -1;
+        boolean digits = false;
+        try {
+            for (; i < end; i++) {
+                char c = chars[i];
+                if (c == '.' && fraction < 0) {
+                    fraction = 0;
+                    continue;
+                }
+                if (c == 'e' || c == 'E') {
+                    return of(new BigDecimal(chars, offset, length));
+                }
+                if (c < '0' || c > '9') {
+                    throw new NumberFormatException("Invalid amount: " + new String(chars, offset, length));
+                }
+                digits = true;
+                if (fraction >= SCALE) {
+                    if (c != '0') {
+                        throw new NumberFormatException("Amount " + new String(chars, offset, length)
+                                + " has more than " + SCALE + " decimal places");
+                    }
+                    continue;
+                }
+                if (fraction >= 0) {
+                    fraction++;
+                }
+                units = Math.addExact(Math.multiplyExact(units, 10), c - '0');
+            }
+            for (int scale = Math.max(fraction, 0); scale < SCALE; scale++) {
+                units = Math.multiplyExact(units, 10);
+            }
+        } catch (ArithmeticException e) {
+            throw new NumberFormatException("Amount " + new String(chars, offset, length) + " is out of range");
+        }
+        if (!digits) {
+            throw new NumberFormatException("Invalid amount: " + new String(chars, offset, length));
+        }
+        return ofMinor(negative ? -units : units);
+    }
+
+    public long minorUnits() {
+        return minorUnits;
+    }
+
+    public Money plus(Money other) {
+        return ofMinor(Math.addExact(minorUnits, other.minorUnits));
+    }
+
+    public Money minus(Money other) {
+        return ofMinor(Math.subtractExact(minorUnits, other.minorUnits));
+    }
+
+    public Money negate() {
+        return ofMinor(Math.negateExact(minorUnits));
+    }
+
+    public int signum() {
+        return Long.signum(minorUnits);
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    int writeTo(char[] buffer) {
+        long units = Math.abs(minorUnits);
+        int position = buffer.length;
+        for (int i = 0; i < SCALE; i++) {
+            buffer[--position] = (char) ('0' + units % 10);
+            units /= 10;
+        }
+        buffer[--position] = '.';
+        do {
+            buffer[--position] = (char) ('0' + units % 10);
+            units /= 10;
+        } while (units > 0);
+        if (minorUnits < 0) {
+            buffer[--position] = '-';
+        }
+        return position;
+    }
+
+    static char[] newBuffer() {
+        return new char[MAX_CHARS];
+    }
+
+    @Override
+    public int intValue() {
+        return (int) longValue();
+    }
+
+    @Override
+    public long longValue() {
+        return minorUnits / MINOR_PER_UNIT;
+    }
+
+    @Override
+    public float floatValue() {
+        return (float) doubleValue();
+    }
+
+    @Override
+    public double doubleValue() {
+        return (double) minorUnits / MINOR_PER_UNIT;
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof Money money && money.minorUnits == minorUnits;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(minorUnits);
+    }
+
+    @Override
+    public String toString() {
+        char[] buffer = newBuffer();
+        int position = writeTo(buffer);
+        return new String(buffer, position, buffer.length - position);
+    }
+}
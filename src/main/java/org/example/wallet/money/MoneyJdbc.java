@@ -0,0 +1,30 @@
+package org.example.wallet.money;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+public final class MoneyJdbc {
+
+    private MoneyJdbc() {
+    }
+
+    public static Money getMoney(ResultSet rs, int column) throws SQLException {
+        BigDecimal value = rs.getBigDecimal(column);
+        return value == null ? null : Money.of(value);
+    }
+
+    public static Money getMoney(ResultSet rs, String column) throws SQLException {
+        BigDecimal value = rs.getBigDecimal(column);
+        return value == null ? null : Money.of(value);
+    }
+
+    public static void setMoney(PreparedStatement ps, int index, Money value) throws SQLException {
+        ps.setBigDecimal(index, value == null ? null : value.toBigDecimal());
+    }
+
+    public static BigDecimal bind(Money value) {
+        return value == null ? null : value.toBigDecimal();
+    }
+}
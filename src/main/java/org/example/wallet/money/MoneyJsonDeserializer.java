@@ -0,0 +1,30 @@
+package org.example.wallet.money;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+
+import java.io.IOException;
+
+public class MoneyJsonDeserializer extends StdScalarDeserializer<Money> {
+
+    public MoneyJsonDeserializer() {
+        super(Money.class);
+    }
+
+    @Override
+    public Money deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token != JsonToken.VALUE_NUMBER_INT && token != JsonToken.VALUE_NUMBER_FLOAT
+                && token != JsonToken.VALUE_STRING) {
+            return (Money) ctxt.handleUnexpectedToken(Money.class, p);
+        }
+        try {
+            return Money.parse(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+        } catch (NumberFormatException e) {
+            throw InvalidFormatException.from(p, e.getMessage(), p.getText(), Money.class);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package org.example.wallet.money;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+public class MoneyJsonSerializer extends StdSerializer<Money> {
+
+    public MoneyJsonSerializer() {
+        super(Money.class);
+    }
+
+    @Override
+    public void serialize(Money value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        char[] buffer = Money.newBuffer();
+        int position = value.writeTo(buffer);
+        gen.writeNumber(buffer, position, buffer.length - position);
+    }
+}
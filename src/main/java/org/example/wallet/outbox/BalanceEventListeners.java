@@ -0,0 +1,44 @@
+package org.example.wallet.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+@Component
+@Slf4j
+public class BalanceEventListeners {
+    private final ConcurrentMap<UUID, List<Consumer<WalletBalanceEvent>>> listeners = new ConcurrentHashMap<>();
+
+    public void dispatch(List<WalletBalanceEvent> events) {
+        if (listeners.isEmpty()) {
+            return;
+        }
+        for (WalletBalanceEvent event : events) {
+            List<Consumer<WalletBalanceEvent>> walletListeners = listeners.get(event.walletId());
+            if (walletListeners == null) {
+                continue;
+            }
+            for (Consumer<WalletBalanceEvent> listener : walletListeners) {
+                try {
+                    listener.accept(event);
+                } catch (RuntimeException e) {
+                    log.warn("Balance event listener for wallet {} failed", event.walletId(), e);
+                }
+            }
+        }
+    }
+
+    public Runnable subscribe(UUID walletId, Consumer<WalletBalanceEvent> listener) {
+        listeners.computeIfAbsent(walletId, id -> new CopyOnWriteArrayList<>()).add(listener);
+        return () -> listeners.computeIfPresent(walletId, (id, walletListeners) -> {
+            walletListeners.remove(listener);
+            return walletListeners.isEmpty() ? null : walletListeners;
+        });
+    }
+}
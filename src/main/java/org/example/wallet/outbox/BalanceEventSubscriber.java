@@ -0,0 +1,111 @@
+package org.example.wallet.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.wallet.store.sql.SqlDialect;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@Slf4j
+@ConditionalOnWebApplication
+public class BalanceEventSubscriber implements Runnable {
+    private static final int POLL_MILLIS = 500;
+    private static final long RECONNECT_DELAY_MILLIS = TimeUnit.SECONDS.toMillis(1);
+
+    private final DataSourceProperties dataSourceProperties;
+    private final BalanceEventListeners listeners;
+    private final ObjectReader eventReader;
+    private final boolean postgres;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    public BalanceEventSubscriber(DataSourceProperties dataSourceProperties, SqlDialect dialect,
+                                  BalanceEventListeners listeners, ObjectMapper objectMapper) {
+        this.dataSourceProperties = dataSourceProperties;
+        this.listeners = listeners;
+        this.eventReader = objectMapper.readerFor(WalletBalanceEvent.class);
+        this.postgres = dialect.isPostgres();
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!postgres) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this, "wallet-balance-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (thread != null) {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    @Override
+    public void run() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + BroadcastOutboxSink.CHANNEL);
+                }
+                log.info("Listening for balance events on channel {}", BroadcastOutboxSink.CHANNEL);
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_MILLIS);
+                    if (notifications != null && notifications.length > 0) {
+                        listeners.dispatch(read(notifications));
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Balance event listener lost its connection, reconnecting", e);
+                    pause();
+                }
+            }
+        }
+    }
+
+    private List<WalletBalanceEvent> read(PGNotification[] notifications) {
+        List<WalletBalanceEvent> events = new ArrayList<>(notifications.length);
+        for (PGNotification notification : notifications) {
+            try {
+                events.add(eventReader.readValue(notification.getParameter()));
+            } catch (IOException e) {
+                log.warn("Dropping malformed balance event {}", notification.getParameter(), e);
+            }
+        }
+        return events;
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(RECONNECT_DELAY_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package org.example.wallet.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.example.wallet.store.sql.SqlDialect;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.util.List;
+
+@Component
+public class BroadcastOutboxSink implements OutboxSink {
+    static final String CHANNEL = "wallet_balance";
+
+    private static final String NOTIFY = "SELECT pg_notify(?, payload) FROM unnest(?) AS payload";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BalanceEventListeners listeners;
+    private final ObjectWriter eventWriter;
+    private final boolean postgres;
+
+    public BroadcastOutboxSink(JdbcTemplate jdbcTemplate, SqlDialect dialect, BalanceEventListeners listeners,
+                               ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.listeners = listeners;
+        this.eventWriter = objectMapper.writerFor(WalletBalanceEvent.class);
+        this.postgres = dialect.isPostgres();
+    }
+
+    @Override
+    public void publish(List<WalletBalanceEvent> events) {
+        if (!postgres) {
+            listeners.dispatch(events);
+            return;
+        }
+        String[] payloads = new String[events.size()];
+        for (int i = 0; i < payloads.length; i++) {
+            try {
+                payloads[i] = eventWriter.writeValueAsString(events.get(i));
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(NOTIFY)) {
+                statement.setString(1, CHANNEL);
+                statement.setArray(2, connection.createArrayOf("text", payloads));
+                statement.execute();
+            }
+            return null;
+        });
+    }
+}
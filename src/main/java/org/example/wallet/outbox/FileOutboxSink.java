@@ -0,0 +1,54 @@
+package org.example.wallet.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "wallet.outbox.file-path")
+public class FileOutboxSink implements OutboxSink {
+    private final ObjectWriter eventWriter;
+    private final BufferedWriter writer;
+
+    public FileOutboxSink(OutboxProperties properties, ObjectMapper objectMapper) throws IOException {
+        Path path = properties.filePath();
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        this.eventWriter = objectMapper.writerFor(WalletBalanceEvent.class);
+        this.writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE);
+        log.info("Writing balance events to {}", path.toAbsolutePath());
+    }
+
+    @Override
+    public synchronized void publish(List<WalletBalanceEvent> events) {
+        try {
+            for (WalletBalanceEvent event : events) {
+                writer.write(eventWriter.writeValueAsString(event));
+                writer.write('\n');
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+}
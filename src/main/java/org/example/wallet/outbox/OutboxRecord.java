@@ -0,0 +1,4 @@
+package org.example.wallet.outbox;
+
+record OutboxRecord(long outboxId, WalletBalanceEvent event) {
+}
@@ -0,0 +1,68 @@
+package org.example.wallet.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "wallet.outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+    private final OutboxRepository outboxRepository;
+    private final List<OutboxSink> sinks;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Counter published;
+
+    public OutboxRelay(OutboxRepository outboxRepository, List<OutboxSink> sinks,
+                       PlatformTransactionManager transactionManager, OutboxProperties properties,
+                       MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.sinks = sinks;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = properties.batchSize();
+        this.published = Counter.builder("wallet.outbox.published")
+                .description("Balance change events relayed from the outbox to sinks")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${wallet.outbox.poll-interval:100ms}")
+    public void drain() {
+        try {
+            int relayed;
+            do {
+                relayed = transactionTemplate.execute(status -> relayBatch());
+            } while (relayed == batchSize);
+        } catch (RuntimeException e) {
+            log.warn("Outbox relay failed, batch will be retried", e);
+        }
+    }
+
+    private int relayBatch() {
+        List<OutboxRecord> records = outboxRepository.lockBatch(batchSize);
+        if (records.isEmpty()) {
+            return 0;
+        }
+
+        List<WalletBalanceEvent> events = new ArrayList<>(records.size());
+        List<Long> outboxIds = new ArrayList<>(records.size());
+        for (OutboxRecord record : records) {
+            events.add(record.event());
+            outboxIds.add(record.outboxId());
+        }
+        for (OutboxSink sink : sinks) {
+            sink.publish(events);
+        }
+        outboxRepository.delete(outboxIds);
+        published.increment(records.size());
+        return records.size();
+    }
+}
@@ -0,0 +1,48 @@
+package org.example.wallet.outbox;
+
+import org.example.wallet.money.MoneyJdbc;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Repository
+public class OutboxRepository {
+    private static final String LOCK_BATCH = """
+            SELECT outbox_id, transaction_id, wallet_id, operation_type, currency, amount, balance, created_at
+            FROM wallet_outbox
+            ORDER BY outbox_id
+            LIMIT ?
+            FOR UPDATE SKIP LOCKED
+            """;
+    private static final String DELETE = "DELETE FROM wallet_outbox WHERE outbox_id IN (:outboxIds)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public OutboxRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    List<OutboxRecord> lockBatch(int limit) {
+        return jdbcTemplate.query(LOCK_BATCH, (rs, rowNum) -> new OutboxRecord(rs.getLong(1),
+                new WalletBalanceEvent(
+                        rs.getLong(2),
+                        rs.getObject(3, UUID.class),
+                        rs.getString(4),
+                        rs.getString(5),
+                        MoneyJdbc.getMoney(rs, 6),
+                        MoneyJdbc.getMoney(rs, 7),
+                        rs.getObject(8, OffsetDateTime.class).toInstant())), limit);
+    }
+
+    void delete(Collection<Long> outboxIds) {
+        namedJdbcTemplate.update(DELETE, Map.of("outboxIds", outboxIds));
+    }
+}
@@ -0,0 +1,7 @@
+package org.example.wallet.outbox;
+
+import java.util.List;
+
+public interface OutboxSink {
+    void publish(List<WalletBalanceEvent> events);
+}
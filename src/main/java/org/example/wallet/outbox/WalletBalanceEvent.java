@@ -0,0 +1,17 @@
+package org.example.wallet.outbox;
+
+import org.example.wallet.money.Money;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record WalletBalanceEvent(
+        long eventId,
+        UUID walletId,
+        String operationType,
+        String currency,
+        Money amount,
+        Money balance,
+        Instant createdAt
+) {
+}
@@ -0,0 +1,35 @@
+package org.example.wallet.pool;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class PoolSizingPostProcessor implements BeanPostProcessor, EnvironmentAware {
+    private static final String REPLICA_POOL = "replica";
+
+    private PoolSizingProperties properties;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        properties = Binder.get(environment).bindOrCreate("wallet.pool", PoolSizingProperties.class);
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (!properties.autoSize() || !(bean instanceof HikariDataSource dataSource)
+                || REPLICA_POOL.equals(dataSource.getPoolName())) {
+            return bean;
+        }
+        int size = properties.poolSize();
+        dataSource.setMaximumPoolSize(size);
+        dataSource.setMinimumIdle(size);
+        log.info("Sized connection pool {} to {} connections", beanName, size);
+        return bean;
+    }
+}
@@ -0,0 +1,28 @@
+package org.example.wallet.pool;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "wallet.pool")
+public record PoolSizingProperties(
+        @DefaultValue("false") boolean autoSize,
+        @DefaultValue("0") int dbCores,
+        @DefaultValue("1") int effectiveSpindles,
+        @DefaultValue("100") int dbMaxConnections,
+        @DefaultValue("10") int reservedConnections,
+        @DefaultValue("1") int instances,
+        @DefaultValue("2") int minimumSize
+) {
+    public PoolSizingProperties {
+        if (autoSize && dbCores <= 0) {
+            throw new IllegalArgumentException(
+                    "wallet.pool.db-cores must be set to the database server's core count when wallet.pool.auto-size is enabled");
+        }
+    }
+
+    public int poolSize() {
+        int byThroughput = dbCores * 2 + effectiveSpindles;
+        int byCapacity = (dbMaxConnections - reservedConnections) / Math.max(1, instances);
+        return Math.max(minimumSize, Math.min(byThroughput, byCapacity));
+    }
+}
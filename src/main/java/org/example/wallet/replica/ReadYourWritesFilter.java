@@ -0,0 +1,51 @@
+package org.example.wallet.replica;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "wallet.replica.enabled", havingValue = "true")
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    public static final String WRITE_TOKEN = "Wallet-Write-Token";
+
+    private final ReplicaRouting replicaRouting;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            response.setHeader(WRITE_TOKEN, Long.toString(System.currentTimeMillis()));
+            chain.doFilter(request, response);
+            return;
+        }
+
+        String token = request.getHeader(WRITE_TOKEN);
+        if (token == null || !pin(token)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            replicaRouting.unpin();
+        }
+    }
+
+    private boolean pin(String token) {
+        try {
+            return replicaRouting.pin(Long.parseLong(token));
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
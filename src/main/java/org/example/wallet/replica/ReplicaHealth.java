@@ -0,0 +1,92 @@
+package org.example.wallet.replica;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@ConditionalOnProperty(name = "wallet.replica.enabled", havingValue = "true")
+@Slf4j
+public class ReplicaHealth {
+    private static final String REPLICATION_LAG = """
+            SELECT CASE
+                       WHEN NOT pg_is_in_recovery() THEN 0
+                       WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                       ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+                   END::bigint
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long maxStalenessMillis;
+    private volatile boolean available;
+    private volatile long lagMillis = -1;
+
+    public ReplicaHealth(@Qualifier("replicaDataSource") DataSource replicaDataSource,
+                         ReplicaProperties properties,
+                         MeterRegistry meterRegistry) {
+        this.jdbcTemplate = new JdbcTemplate(replicaDataSource);
+        this.maxStalenessMillis = properties.maxStaleness().toMillis();
+        Gauge.builder("wallet.replica.available", this, health -> health.available ? 1 : 0)
+                .description("Whether read-only transactions are routed to the replica")
+                .register(meterRegistry);
+        TimeGauge.builder("wallet.replica.lag", this, TimeUnit.MILLISECONDS, health -> health.lagMillis)
+                .description("Replication lag observed by the last health check, -1 when unreachable")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${wallet.replica.health-check-interval:1s}")
+    public void check() {
+        long lag;
+        try {
+            lag = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+                if (!"PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) {
+                    return connection.isValid(1) ? 0L : -1L;
+                }
+                try (Statement statement = connection.createStatement();
+                     ResultSet rs = statement.executeQuery(REPLICATION_LAG)) {
+                    rs.next();
+                    return rs.getLong(1);
+                }
+            });
+        } catch (DataAccessException e) {
+            markUnavailable(e);
+            return;
+        }
+
+        lagMillis = lag;
+        boolean healthy = lag >= 0 && lag <= maxStalenessMillis;
+        if (healthy != available) {
+            if (healthy) {
+                log.info("Replica is back within staleness bound, lag {} ms", lag);
+            } else {
+                log.warn("Replica lag {} ms exceeds staleness bound {} ms, reading from primary", lag, maxStalenessMillis);
+            }
+        }
+        available = healthy;
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    void markUnavailable(Exception cause) {
+        lagMillis = -1;
+        if (available) {
+            log.warn("Replica is unreachable, reading from primary", cause);
+        }
+        available = false;
+    }
+}
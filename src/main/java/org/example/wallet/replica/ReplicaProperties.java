@@ -0,0 +1,19 @@
+package org.example.wallet.replica;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "wallet.replica")
+public record ReplicaProperties(
+        @DefaultValue("false") boolean enabled,
+        String url,
+        String username,
+        String password,
+        @DefaultValue("10") int maximumPoolSize,
+        @DefaultValue("1s") Duration connectionTimeout,
+        @DefaultValue("1s") Duration maxStaleness,
+        @DefaultValue("2s") Duration readYourWritesWindow
+) {
+}
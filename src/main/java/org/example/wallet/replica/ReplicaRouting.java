@@ -0,0 +1,53 @@
+package org.example.wallet.replica;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.example.wallet.cache.BalanceInvalidationTransport;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+@Component
+public class ReplicaRouting {
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private final long readYourWritesMillis;
+    private final Cache<UUID, Boolean> recentWrites;
+
+    public ReplicaRouting(ReplicaProperties properties, BalanceInvalidationTransport transport) {
+        this.readYourWritesMillis = properties.readYourWritesWindow().toMillis();
+        this.recentWrites = properties.enabled()
+                ? Caffeine.newBuilder()
+                    .expireAfterWrite(properties.readYourWritesWindow())
+                    .build()
+                : null;
+        if (recentWrites != null) {
+            transport.subscribe(walletId -> recentWrites.put(walletId, Boolean.TRUE));
+        }
+    }
+
+    public boolean pin(UUID walletId) {
+        if (recentWrites == null || isPinned() || recentWrites.getIfPresent(walletId) == null) {
+            return false;
+        }
+        PINNED.set(Boolean.TRUE);
+        return true;
+    }
+
+    public boolean pin(long writtenAtMillis) {
+        long age = System.currentTimeMillis() - writtenAtMillis;
+        if (age < 0 || age >= readYourWritesMillis || isPinned()) {
+            return false;
+        }
+        PINNED.set(Boolean.TRUE);
+        return true;
+    }
+
+    public void unpin() {
+        PINNED.remove();
+    }
+
+    public boolean isPinned() {
+        return PINNED.get() != null;
+    }
+}
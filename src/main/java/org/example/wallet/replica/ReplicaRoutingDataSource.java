@@ -0,0 +1,55 @@
+package org.example.wallet.replica;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReplicaHealth replicaHealth;
+    private final ReplicaRouting replicaRouting;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica,
+                                    ReplicaHealth replicaHealth, ReplicaRouting replicaRouting) {
+        this.primary = primary;
+        this.replica = replica;
+        this.replicaHealth = replicaHealth;
+        this.replicaRouting = replicaRouting;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!routesToReplica()) {
+            return primary.getConnection();
+        }
+        try {
+            return replica.getConnection();
+        } catch (SQLException e) {
+            replicaHealth.markUnavailable(e);
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (!routesToReplica()) {
+            return primary.getConnection(username, password);
+        }
+        try {
+            return replica.getConnection(username, password);
+        } catch (SQLException e) {
+            replicaHealth.markUnavailable(e);
+            return primary.getConnection(username, password);
+        }
+    }
+
+    private boolean routesToReplica() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && !replicaRouting.isPinned()
+                && replicaHealth.isAvailable();
+    }
+}
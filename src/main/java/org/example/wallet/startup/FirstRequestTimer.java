@@ -0,0 +1,80 @@
+package org.example.wallet.startup;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "wallet.startup.report-first-request", havingValue = "true", matchIfMissing = true)
+public class FirstRequestTimer extends OncePerRequestFilter {
+    private static final Path PROCESS_STATUS = Path.of("/proc/self/status");
+    private static final String RESIDENT_SET = "VmRSS:";
+    private static final long BYTES_PER_KIB = 1024;
+
+    private final MeterRegistry meterRegistry;
+    private final AtomicBoolean served = new AtomicBoolean();
+
+    public FirstRequestTimer(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("wallet.process.rss", () -> residentSetBytes(PROCESS_STATUS))
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (!served.get() && served.compareAndSet(false, true)) {
+                record(ProcessHandle.current().info().startInstant(), Instant.now());
+            }
+        }
+    }
+
+    void record(Optional<Instant> processStart, Instant servedAt) {
+        if (processStart.isEmpty()) {
+            return;
+        }
+        Duration elapsed = Duration.between(processStart.get(), servedAt);
+        TimeGauge.builder("wallet.startup.first-request", elapsed, TimeUnit.MILLISECONDS, Duration::toMillis)
+                .register(meterRegistry);
+        log.info("First request served {} ms after process start, resident set {} KiB",
+                elapsed.toMillis(), (long) residentSetBytes(PROCESS_STATUS) / BYTES_PER_KIB);
+    }
+
+    static double residentSetBytes(Path status) {
+        try {
+            List<String> lines = Files.readAllLines(status);
+            for (String line : lines) {
+                if (line.startsWith(RESIDENT_SET)) {
+                    String value = line.substring(RESIDENT_SET.length()).trim();
+                    return Long.parseLong(value.substring(0, value.indexOf(' '))) * BYTES_PER_KIB;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.debug("Resident set size is unavailable", e);
+        }
+        return Double.NaN;
+    }
+}
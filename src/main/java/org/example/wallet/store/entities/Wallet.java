@@ -5,8 +5,8 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import lombok.*;
+import org.example.wallet.money.Money;
 
-import java.math.BigDecimal;
 import java.util.UUID;
 
 @Entity
@@ -20,5 +20,5 @@ public class Wallet {
     private UUID walletId;
 
     @Column(name = "balance", nullable = false)
-    private BigDecimal balance;
+    private Money balance;
 }
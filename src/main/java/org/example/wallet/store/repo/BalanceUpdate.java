@@ -0,0 +1,9 @@
+package org.example.wallet.store.repo;
+
+import org.example.wallet.money.Money;
+
+public record BalanceUpdate(boolean walletFound, Money balance) {
+    public boolean isApplied() {
+        return balance != null;
+    }
+}
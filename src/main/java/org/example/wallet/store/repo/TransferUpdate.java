@@ -0,0 +1,10 @@
+package org.example.wallet.store.repo;
+
+import java.math.BigDecimal;
+
+public record TransferUpdate(boolean sourceFound, boolean targetFound, BigDecimal sourceBalance,
+                             BigDecimal targetBalance) {
+    public boolean isApplied() {
+        return sourceBalance != null && targetBalance != null;
+    }
+}
@@ -0,0 +1,72 @@
+package org.example.wallet.store.repo;
+
+import org.example.wallet.api.dtos.wallet.OperationType;
+import org.example.wallet.api.dtos.wallet.WalletRequestDto;
+import org.example.wallet.money.Money;
+import org.example.wallet.money.MoneyJdbc;
+import org.example.wallet.store.sql.JournalSql;
+import org.example.wallet.store.sql.SqlDialect;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+@Repository
+public class WalletBatchRepository {
+    private static final String FIND_EXISTING = "SELECT wallet_id FROM wallet WHERE wallet_id IN (:walletIds)";
+    private static final String APPLY_DELTA = "UPDATE wallet SET balance = balance + ? WHERE wallet_id = ? AND balance + ? >= 0";
+    private static final String APPLY_DELTA_JOURNAL =
+            "SELECT wallet_id, CAST(? AS varchar(16)), CAST(? AS numeric(19,2)), balance FROM %s";
+    private static final String POSTGRES_APPLY_DELTA = JournalSql.postgres(JournalSql.COLUMNS,
+            JournalSql.updated(APPLY_DELTA, "wallet_id, balance"), APPLY_DELTA_JOURNAL.formatted("updated"), null);
+    private static final String DELTA_TABLE_APPLY_DELTA = JournalSql.deltaTable(JournalSql.COLUMNS,
+            APPLY_DELTA_JOURNAL.formatted(JournalSql.finalTable(APPLY_DELTA)), false);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final boolean postgres;
+
+    public WalletBatchRepository(JdbcTemplate jdbcTemplate, SqlDialect dialect) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.postgres = dialect.isPostgres();
+    }
+
+    public Set<UUID> findExisting(Collection<UUID> walletIds) {
+        return new HashSet<>(namedJdbcTemplate.queryForList(FIND_EXISTING, Map.of("walletIds", walletIds), UUID.class));
+    }
+
+    public int[] applyAll(List<WalletRequestDto> operations) {
+        String sql = postgres ? POSTGRES_APPLY_DELTA : DELTA_TABLE_APPLY_DELTA;
+        return jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                WalletRequestDto operation = operations.get(i);
+                Money delta = operation.operationType() == OperationType.WITHDRAW
+                        ? operation.amount().negate()
+                        : operation.amount();
+                int journal = postgres ? 4 : 1;
+                int update = postgres ? 1 : 3;
+                ps.setString(journal, operation.operationType().name());
+                MoneyJdbc.setMoney(ps, journal + 1, operation.amount());
+                MoneyJdbc.setMoney(ps, update, delta);
+                ps.setObject(update + 1, operation.walletId());
+                MoneyJdbc.setMoney(ps, update + 2, delta);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return operations.size();
+            }
+        });
+    }
+}
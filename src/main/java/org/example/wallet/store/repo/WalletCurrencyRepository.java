@@ -0,0 +1,105 @@
+package org.example.wallet.store.repo;
+
+import org.example.wallet.api.dtos.wallet.CurrencyBalanceDto;
+import org.example.wallet.money.Money;
+import org.example.wallet.money.MoneyJdbc;
+import org.example.wallet.store.sql.JournalSql;
+import org.example.wallet.store.sql.SqlDialect;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public class WalletCurrencyRepository {
+    private static final String WITHDRAW = """
+            UPDATE wallet_balance SET balance = balance - ?
+            WHERE wallet_id = ? AND currency = ? AND balance >= ?
+            """;
+    private static final String POSTGRES_UPSERT = """
+            INSERT INTO wallet_balance (wallet_id, currency, balance)
+            SELECT wallet_id, ?, ? FROM wallet WHERE wallet_id = ?
+            ON CONFLICT (wallet_id, currency)
+            DO UPDATE SET balance = wallet_balance.balance + EXCLUDED.balance
+            """;
+    private static final String MERGE_UPSERT = """
+            MERGE INTO wallet_balance target
+            USING (SELECT wallet_id, CAST(? AS char(3)) AS currency FROM wallet WHERE wallet_id = ?) source
+            ON target.wallet_id = source.wallet_id AND target.currency = source.currency
+            WHEN MATCHED THEN UPDATE SET balance = target.balance + ?
+            WHEN NOT MATCHED THEN INSERT (wallet_id, currency, balance)
+                VALUES (source.wallet_id, source.currency, ?)
+            """;
+    private static final String WITHDRAW_JOURNAL = "SELECT wallet_id, currency, 'WITHDRAW', ?, balance FROM %s";
+    private static final String DEPOSIT_JOURNAL = "SELECT wallet_id, currency, 'DEPOSIT', ?, balance FROM %s";
+    private static final String UPDATED_COLUMNS = "wallet_id, currency, balance";
+    private static final String POSTGRES_WITHDRAW = JournalSql.postgres(JournalSql.CURRENCY_COLUMNS,
+            "target AS (SELECT wallet_id FROM wallet WHERE wallet_id = ?), "
+                    + JournalSql.updated(WITHDRAW, UPDATED_COLUMNS),
+            WITHDRAW_JOURNAL.formatted("updated"),
+            "SELECT EXISTS (SELECT 1 FROM target), (SELECT balance FROM updated)");
+    private static final String POSTGRES_DEPOSIT = JournalSql.postgres(JournalSql.CURRENCY_COLUMNS,
+            JournalSql.updated(POSTGRES_UPSERT, UPDATED_COLUMNS),
+            DEPOSIT_JOURNAL.formatted("updated"),
+            "SELECT EXISTS (SELECT 1 FROM updated), (SELECT balance FROM updated)");
+    private static final String DELTA_TABLE_WITHDRAW = JournalSql.deltaTable(JournalSql.CURRENCY_COLUMNS,
+            WITHDRAW_JOURNAL.formatted(JournalSql.finalTable(WITHDRAW)), true);
+    private static final String DELTA_TABLE_DEPOSIT = JournalSql.deltaTable(JournalSql.CURRENCY_COLUMNS,
+            DEPOSIT_JOURNAL.formatted(JournalSql.finalTable(MERGE_UPSERT)), true);
+    private static final String WALLET_EXISTS = "SELECT COUNT(*) FROM wallet WHERE wallet_id = ?";
+    private static final String FIND_BALANCES = """
+            SELECT currency, balance FROM wallet_balance
+            WHERE wallet_id = ?
+            ORDER BY currency
+            """;
+    private static final RowMapper<CurrencyBalanceDto> BALANCE_MAPPER = (rs, rowNum) ->
+            new CurrencyBalanceDto(rs.getString(1), MoneyJdbc.getMoney(rs, 2));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean postgres;
+
+    public WalletCurrencyRepository(JdbcTemplate jdbcTemplate, SqlDialect dialect) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.postgres = dialect.isPostgres();
+    }
+
+    public BalanceUpdate withdraw(UUID walletId, Currency currency, Money amount) {
+        BigDecimal value = MoneyJdbc.bind(amount);
+        String code = currency.getCurrencyCode();
+        if (postgres) {
+            return jdbcTemplate.queryForObject(POSTGRES_WITHDRAW,
+                    (rs, rowNum) -> new BalanceUpdate(rs.getBoolean(1), MoneyJdbc.getMoney(rs, 2)),
+                    walletId, value, walletId, code, value, value);
+        }
+        return fromDeltaTable(jdbcTemplate.query(DELTA_TABLE_WITHDRAW, (rs, rowNum) -> MoneyJdbc.getMoney(rs, 1),
+                value, value, walletId, code, value), walletId);
+    }
+
+    public BalanceUpdate deposit(UUID walletId, Currency currency, Money amount) {
+        BigDecimal value = MoneyJdbc.bind(amount);
+        String code = currency.getCurrencyCode();
+        if (postgres) {
+            return jdbcTemplate.queryForObject(POSTGRES_DEPOSIT,
+                    (rs, rowNum) -> new BalanceUpdate(rs.getBoolean(1), MoneyJdbc.getMoney(rs, 2)),
+                    code, value, walletId, value);
+        }
+        return fromDeltaTable(jdbcTemplate.query(DELTA_TABLE_DEPOSIT, (rs, rowNum) -> MoneyJdbc.getMoney(rs, 1),
+                value, code, walletId, value, value), walletId);
+    }
+
+    public List<CurrencyBalanceDto> findBalances(UUID walletId) {
+        return jdbcTemplate.query(FIND_BALANCES, BALANCE_MAPPER, walletId);
+    }
+
+    private BalanceUpdate fromDeltaTable(List<Money> balances, UUID walletId) {
+        if (!balances.isEmpty()) {
+            return new BalanceUpdate(true, balances.get(0));
+        }
+        Integer count = jdbcTemplate.queryForObject(WALLET_EXISTS, Integer.class, walletId);
+        return new BalanceUpdate(count != null && count > 0, null);
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.wallet.store.repo;
+
+import org.example.wallet.money.Money;
+import org.example.wallet.money.MoneyJdbc;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.util.UUID;
+
+@Repository
+public class WalletExportRepository {
+    private static final String FIRST_PAGE = """
+            SELECT w.wallet_id,
+                   w.balance + COALESCE((SELECT SUM(s.balance) FROM wallet_slot s WHERE s.wallet_id = w.wallet_id), 0)
+            FROM wallet w
+            ORDER BY w.wallet_id
+            LIMIT ?
+            """;
+    private static final String NEXT_PAGE = """
+            SELECT w.wallet_id,
+                   w.balance + COALESCE((SELECT SUM(s.balance) FROM wallet_slot s WHERE s.wallet_id = w.wallet_id), 0)
+            FROM wallet w
+            WHERE w.wallet_id > ?
+            ORDER BY w.wallet_id
+            LIMIT ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public WalletExportRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public UUID exportPage(UUID after, int pageSize, int fetchSize, BalanceRowHandler handler) {
+        UUID[] last = new UUID[1];
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(after == null ? FIRST_PAGE : NEXT_PAGE);
+            ps.setFetchSize(fetchSize);
+            int index = 1;
+            if (after != null) {
+                ps.setObject(index++, after);
+            }
+            ps.setInt(index, pageSize);
+            return ps;
+        }, (RowCallbackHandler) rs -> {
+            UUID walletId = rs.getObject(1, UUID.class);
+            try {
+                handler.accept(walletId, MoneyJdbc.getMoney(rs, 2));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            last[0] = walletId;
+        });
+        return last[0];
+    }
+
+    @FunctionalInterface
+    public interface BalanceRowHandler {
+        void accept(UUID walletId, Money balance) throws IOException;
+    }
+}
@@ -0,0 +1,11 @@
+package org.example.wallet.store.repo;
+
+import org.example.wallet.money.Money;
+
+import java.util.UUID;
+
+public interface WalletOperationRepository {
+    BalanceUpdate withdrawReturningBalance(UUID walletId, Money amount);
+
+    BalanceUpdate depositReturningBalance(UUID walletId, Money amount);
+}
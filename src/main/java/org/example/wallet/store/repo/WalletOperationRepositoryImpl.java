@@ -0,0 +1,72 @@
+package org.example.wallet.store.repo;
+
+import org.example.wallet.money.Money;
+import org.example.wallet.money.MoneyJdbc;
+import org.example.wallet.store.sql.JournalSql;
+import org.example.wallet.store.sql.SqlDialect;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+public class WalletOperationRepositoryImpl implements WalletOperationRepository {
+    private static final String WITHDRAW = "UPDATE wallet SET balance = balance - ? WHERE wallet_id = ? AND balance >= ?";
+    private static final String DEPOSIT = "UPDATE wallet SET balance = balance + ? WHERE wallet_id = ?";
+    private static final String WITHDRAW_JOURNAL = "SELECT wallet_id, 'WITHDRAW', ?, balance FROM %s";
+    private static final String DEPOSIT_JOURNAL = "SELECT wallet_id, 'DEPOSIT', ?, balance FROM %s";
+    private static final String TARGET = "target AS (SELECT wallet_id FROM wallet WHERE wallet_id = ?)";
+    private static final String POSTGRES_WITHDRAW = JournalSql.postgres(JournalSql.COLUMNS,
+            TARGET + ", " + JournalSql.updated(WITHDRAW, "wallet_id, balance"),
+            WITHDRAW_JOURNAL.formatted("updated"),
+            "SELECT EXISTS (SELECT 1 FROM target), (SELECT balance FROM updated)");
+    private static final String POSTGRES_DEPOSIT = JournalSql.postgres(JournalSql.COLUMNS,
+            JournalSql.updated(DEPOSIT, "wallet_id, balance"),
+            DEPOSIT_JOURNAL.formatted("updated"),
+            "SELECT EXISTS (SELECT 1 FROM updated), (SELECT balance FROM updated)");
+    private static final String DELTA_TABLE_WITHDRAW = JournalSql.deltaTable(JournalSql.COLUMNS,
+            WITHDRAW_JOURNAL.formatted(JournalSql.finalTable(WITHDRAW)), true);
+    private static final String DELTA_TABLE_DEPOSIT = JournalSql.deltaTable(JournalSql.COLUMNS,
+            DEPOSIT_JOURNAL.formatted(JournalSql.finalTable(DEPOSIT)), true);
+    private static final String WALLET_EXISTS = "SELECT COUNT(*) FROM wallet WHERE wallet_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean postgres;
+
+    public WalletOperationRepositoryImpl(JdbcTemplate jdbcTemplate, SqlDialect dialect) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.postgres = dialect.isPostgres();
+    }
+
+    @Override
+    public BalanceUpdate withdrawReturningBalance(UUID walletId, Money amount) {
+        BigDecimal value = MoneyJdbc.bind(amount);
+        if (postgres) {
+            return jdbcTemplate.queryForObject(POSTGRES_WITHDRAW,
+                    (rs, rowNum) -> new BalanceUpdate(rs.getBoolean(1), MoneyJdbc.getMoney(rs, 2)),
+                    walletId, value, walletId, value, value);
+        }
+        return fromDeltaTable(jdbcTemplate.query(DELTA_TABLE_WITHDRAW, (rs, rowNum) -> MoneyJdbc.getMoney(rs, 1),
+                value, value, walletId, value), walletId);
+    }
+
+    @Override
+    public BalanceUpdate depositReturningBalance(UUID walletId, Money amount) {
+        BigDecimal value = MoneyJdbc.bind(amount);
+        if (postgres) {
+            return jdbcTemplate.queryForObject(POSTGRES_DEPOSIT,
+                    (rs, rowNum) -> new BalanceUpdate(rs.getBoolean(1), MoneyJdbc.getMoney(rs, 2)),
+                    value, walletId, value);
+        }
+        return fromDeltaTable(jdbcTemplate.query(DELTA_TABLE_DEPOSIT, (rs, rowNum) -> MoneyJdbc.getMoney(rs, 1),
+                value, value, walletId), walletId);
+    }
+
+    private BalanceUpdate fromDeltaTable(List<Money> balances, UUID walletId) {
+        if (!balances.isEmpty()) {
+            return new BalanceUpdate(true, balances.get(0));
+        }
+        Integer count = jdbcTemplate.queryForObject(WALLET_EXISTS, Integer.class, walletId);
+        return new BalanceUpdate(count != null && count > 0, null);
+    }
+}
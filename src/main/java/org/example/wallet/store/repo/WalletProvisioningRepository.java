@@ -0,0 +1,140 @@
+package org.example.wallet.store.repo;
+
+import org.example.wallet.api.dtos.wallet.WalletCreateRequestDto;
+import org.example.wallet.money.Money;
+import org.example.wallet.money.MoneyJdbc;
+import org.example.wallet.store.sql.SqlDialect;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public class WalletProvisioningRepository {
+    private static final String INSERT = "INSERT INTO wallet (wallet_id, balance) VALUES (?, ?)";
+    private static final String INSERT_IF_ABSENT = """
+            INSERT INTO wallet (wallet_id, balance)
+            SELECT CAST(? AS uuid), CAST(? AS numeric(19,2))
+            WHERE NOT EXISTS (SELECT 1 FROM wallet WHERE wallet_id = ?)
+            """;
+    private static final String CREATE_STAGING = """
+            CREATE TEMPORARY TABLE wallet_import (
+                wallet_id uuid NOT NULL,
+                balance numeric(19,2) NOT NULL
+            ) ON COMMIT DROP
+            """;
+    private static final String COPY_STAGING = "COPY wallet_import (wallet_id, balance) FROM STDIN (FORMAT csv)";
+    private static final String MERGE_STAGING = """
+            INSERT INTO wallet (wallet_id, balance)
+            SELECT wallet_id, balance FROM wallet_import
+            ON CONFLICT (wallet_id) DO NOTHING
+            """;
+    private static final int COPY_BUFFER_BYTES = 1 << 16;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean postgres;
+
+    public WalletProvisioningRepository(JdbcTemplate jdbcTemplate, SqlDialect dialect) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.postgres = dialect.isPostgres();
+    }
+
+    public boolean create(UUID walletId, Money balance) {
+        try {
+            jdbcTemplate.update(INSERT, walletId, MoneyJdbc.bind(balance));
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    public long importAll(Iterator<WalletCreateRequestDto> rows, int chunkSize) {
+        return postgres
+                ? jdbcTemplate.execute((ConnectionCallback<Long>) connection -> copyAll(connection, rows))
+                : insertAll(rows, chunkSize);
+    }
+
+    private long copyAll(Connection connection, Iterator<WalletCreateRequestDto> rows) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(CREATE_STAGING);
+        }
+
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                new PGCopyOutputStream(pgConnection, COPY_STAGING, COPY_BUFFER_BYTES), StandardCharsets.UTF_8),
+                COPY_BUFFER_BYTES)) {
+            while (rows.hasNext()) {
+                WalletCreateRequestDto row = rows.next();
+                writer.write(row.walletId().toString());
+                writer.write(',');
+                writer.write(row.balance().toString());
+                writer.write('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            return statement.executeLargeUpdate(MERGE_STAGING);
+        }
+    }
+
+    private long insertAll(Iterator<WalletCreateRequestDto> rows, int chunkSize) {
+        long created = 0;
+        List<WalletCreateRequestDto> chunk = new ArrayList<>(chunkSize);
+        while (rows.hasNext()) {
+            chunk.add(rows.next());
+            if (chunk.size() == chunkSize) {
+                created += insertChunk(chunk);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            created += insertChunk(chunk);
+        }
+        return created;
+    }
+
+    private long insertChunk(List<WalletCreateRequestDto> chunk) {
+        int[] counts = jdbcTemplate.batchUpdate(INSERT_IF_ABSENT, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                WalletCreateRequestDto row = chunk.get(i);
+                ps.setObject(1, row.walletId());
+                MoneyJdbc.setMoney(ps, 2, row.balance());
+                ps.setObject(3, row.walletId());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return chunk.size();
+            }
+        });
+
+        long created = 0;
+        for (int count : counts) {
+            if (count > 0) {
+                created += count;
+            }
+        }
+        return created;
+    }
+}
@@ -0,0 +1,222 @@
+package org.example.wallet.store.repo;
+
+import org.example.wallet.money.Money;
+import org.example.wallet.money.MoneyJdbc;
+import org.example.wallet.store.sql.JournalSql;
+import org.example.wallet.store.sql.SqlDialect;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public class WalletSlotRepository {
+    private static final String SLOT_WITHDRAW = """
+            UPDATE wallet_slot SET balance = balance - ?
+            WHERE wallet_id = ? AND slot = ? AND balance >= ?
+            """;
+    private static final String SLOT_DEPOSIT = """
+            UPDATE wallet_slot SET balance = balance + ?
+            WHERE wallet_id = ? AND slot = ?
+            """;
+    private static final String SLOT_JOURNAL = """
+            SELECT u.wallet_id, '%s', ?, u.balance + w.balance + (
+                SELECT COALESCE(SUM(s.balance), 0) FROM wallet_slot s
+                WHERE s.wallet_id = u.wallet_id AND s.slot <> u.slot)
+            FROM %s u JOIN wallet w ON w.wallet_id = u.wallet_id""";
+    private static final String SLOT_COLUMNS = "wallet_id, slot, balance";
+    private static final String POSTGRES_SLOT_WITHDRAW = JournalSql.postgres(JournalSql.COLUMNS,
+            JournalSql.updated(SLOT_WITHDRAW, SLOT_COLUMNS), SLOT_JOURNAL.formatted("WITHDRAW", "updated"),
+            "SELECT balance FROM journal");
+    private static final String POSTGRES_SLOT_DEPOSIT = JournalSql.postgres(JournalSql.COLUMNS,
+            JournalSql.updated(SLOT_DEPOSIT, SLOT_COLUMNS), SLOT_JOURNAL.formatted("DEPOSIT", "updated"),
+            "SELECT balance FROM journal");
+    private static final String DELTA_TABLE_SLOT_WITHDRAW = JournalSql.deltaTable(JournalSql.COLUMNS,
+            SLOT_JOURNAL.formatted("WITHDRAW", JournalSql.finalTable(SLOT_WITHDRAW)), true);
+    private static final String DELTA_TABLE_SLOT_DEPOSIT = JournalSql.deltaTable(JournalSql.COLUMNS,
+            SLOT_JOURNAL.formatted("DEPOSIT", JournalSql.finalTable(SLOT_DEPOSIT)), true);
+    private static final String LOCK_WALLET = "SELECT balance FROM wallet WHERE wallet_id = ? FOR UPDATE";
+    private static final String LOCK_SLOTS = """
+            SELECT slot, balance FROM wallet_slot
+            WHERE wallet_id = ?
+            ORDER BY slot
+            FOR UPDATE
+            """;
+    private static final String SET_WALLET_BALANCE = "UPDATE wallet SET balance = ? WHERE wallet_id = ?";
+    private static final String SET_SLOT_BALANCE = "UPDATE wallet_slot SET balance = ? WHERE wallet_id = ? AND slot = ?";
+    private static final String CLEAR_SLOTS = "UPDATE wallet_slot SET balance = 0 WHERE wallet_id = ?";
+    private static final String DELETE_SLOTS = "DELETE FROM wallet_slot WHERE wallet_id = ?";
+    private static final String INSERT_SLOT = "INSERT INTO wallet_slot (wallet_id, slot, balance) VALUES (?, ?, ?)";
+    private static final String SLOT_COUNTS = "SELECT wallet_id, COUNT(*) FROM wallet_slot GROUP BY wallet_id";
+    private static final String TOTAL_BALANCE = """
+            SELECT w.balance + COALESCE((SELECT SUM(s.balance) FROM wallet_slot s WHERE s.wallet_id = w.wallet_id), 0)
+            FROM wallet w
+            WHERE w.wallet_id = ?
+            """;
+    private static final String DELETE_INSTANCE_RATES = "DELETE FROM wallet_slot_rate WHERE instance_id = ?";
+    private static final String INSERT_RATE = """
+            INSERT INTO wallet_slot_rate (wallet_id, instance_id, writes_per_second, reported_at)
+            VALUES (?, ?, ?, ?)
+            """;
+    private static final String DELETE_STALE_RATES = "DELETE FROM wallet_slot_rate WHERE reported_at < ?";
+    private static final String TOTAL_RATES = """
+            SELECT wallet_id, SUM(writes_per_second) FROM wallet_slot_rate
+            WHERE reported_at >= ?
+            GROUP BY wallet_id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SqlDialect dialect;
+    private final boolean postgres;
+
+    public WalletSlotRepository(JdbcTemplate jdbcTemplate, SqlDialect dialect) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dialect = dialect;
+        this.postgres = dialect.isPostgres();
+    }
+
+    public Optional<Money> withdrawFromSlot(UUID walletId, int slot, Money amount) {
+        BigDecimal value = MoneyJdbc.bind(amount);
+        List<Money> balances = postgres
+                ? jdbcTemplate.query(POSTGRES_SLOT_WITHDRAW, (rs, rowNum) -> MoneyJdbc.getMoney(rs, 1),
+                        value, walletId, slot, value, value)
+                : jdbcTemplate.query(DELTA_TABLE_SLOT_WITHDRAW, (rs, rowNum) -> MoneyJdbc.getMoney(rs, 1),
+                        value, value, walletId, slot, value);
+        return balances.stream().findFirst();
+    }
+
+    public Optional<Money> depositToSlot(UUID walletId, int slot, Money amount) {
+        BigDecimal value = MoneyJdbc.bind(amount);
+        List<Money> balances = postgres
+                ? jdbcTemplate.query(POSTGRES_SLOT_DEPOSIT, (rs, rowNum) -> MoneyJdbc.getMoney(rs, 1),
+                        value, walletId, slot, value)
+                : jdbcTemplate.query(DELTA_TABLE_SLOT_DEPOSIT, (rs, rowNum) -> MoneyJdbc.getMoney(rs, 1),
+                        value, value, walletId, slot);
+        return balances.stream().findFirst();
+    }
+
+    public BalanceUpdate withdrawRebalancing(UUID walletId, Money amount) {
+        List<Money> wallet = jdbcTemplate.query(LOCK_WALLET, (rs, rowNum) -> MoneyJdbc.getMoney(rs, 1), walletId);
+        if (wallet.isEmpty()) {
+            return new BalanceUpdate(false, null);
+        }
+        List<Integer> slots = new ArrayList<>();
+        Money total = lockSlots(walletId, slots).plus(wallet.get(0));
+        if (total.compareTo(amount) < 0) {
+            return new BalanceUpdate(true, null);
+        }
+
+        Money remaining = total.minus(amount);
+        spread(walletId, remaining, slots);
+        jdbcTemplate.update(JournalSql.appendJournal(dialect),
+                walletId, "WITHDRAW", MoneyJdbc.bind(amount), MoneyJdbc.bind(remaining));
+        return new BalanceUpdate(true, remaining);
+    }
+
+    public Money consolidate(UUID walletId) {
+        List<Money> wallet = jdbcTemplate.query(LOCK_WALLET, (rs, rowNum) -> MoneyJdbc.getMoney(rs, 1), walletId);
+        if (wallet.isEmpty()) {
+            return Money.ZERO;
+        }
+        List<Integer> slots = new ArrayList<>();
+        Money moved = lockSlots(walletId, slots);
+        if (moved.signum() != 0) {
+            jdbcTemplate.update(CLEAR_SLOTS, walletId);
+            jdbcTemplate.update(SET_WALLET_BALANCE, MoneyJdbc.bind(moved.plus(wallet.get(0))), walletId);
+        }
+        return moved;
+    }
+
+    public boolean resize(UUID walletId, int slotCount) {
+        List<Money> wallet = jdbcTemplate.query(LOCK_WALLET, (rs, rowNum) -> MoneyJdbc.getMoney(rs, 1), walletId);
+        if (wallet.isEmpty()) {
+            return false;
+        }
+        List<Integer> current = new ArrayList<>();
+        Money total = lockSlots(walletId, current).plus(wallet.get(0));
+        if (current.size() == slotCount) {
+            return false;
+        }
+        jdbcTemplate.update(DELETE_SLOTS, walletId);
+
+        long[] shares = shares(total, slotCount);
+        List<Object[]> rows = new ArrayList<>(slotCount);
+        for (int slot = 0; slot < slotCount; slot++) {
+            rows.add(new Object[]{walletId, slot, MoneyJdbc.bind(Money.ofMinor(shares[slot + 1]))});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SLOT, rows);
+        jdbcTemplate.update(SET_WALLET_BALANCE, MoneyJdbc.bind(Money.ofMinor(shares[0])), walletId);
+        return true;
+    }
+
+    public Map<UUID, Integer> findSlotCounts() {
+        Map<UUID, Integer> counts = new HashMap<>();
+        jdbcTemplate.query(SLOT_COUNTS, (RowCallbackHandler) rs -> counts.put(rs.getObject(1, UUID.class), rs.getInt(2)));
+        return counts;
+    }
+
+    public void reportRates(UUID instanceId, Map<UUID, Double> rates, Instant reportedAt) {
+        jdbcTemplate.update(DELETE_INSTANCE_RATES, instanceId);
+        if (!rates.isEmpty()) {
+            Timestamp timestamp = Timestamp.from(reportedAt);
+            List<Object[]> rows = new ArrayList<>(rates.size());
+            rates.forEach((walletId, rate) -> rows.add(new Object[]{walletId, instanceId, rate, timestamp}));
+            jdbcTemplate.batchUpdate(INSERT_RATE, rows);
+        }
+    }
+
+    public Map<UUID, Double> findTotalRates(Instant reportedSince) {
+        Map<UUID, Double> rates = new HashMap<>();
+        jdbcTemplate.query(TOTAL_RATES, (RowCallbackHandler) rs -> rates.put(rs.getObject(1, UUID.class), rs.getDouble(2)),
+                Timestamp.from(reportedSince));
+        return rates;
+    }
+
+    public int deleteStaleRates(Instant reportedBefore) {
+        return jdbcTemplate.update(DELETE_STALE_RATES, Timestamp.from(reportedBefore));
+    }
+
+    public Optional<Money> findBalance(UUID walletId) {
+        return jdbcTemplate.query(TOTAL_BALANCE, (rs, rowNum) -> MoneyJdbc.getMoney(rs, 1), walletId)
+                .stream().findFirst();
+    }
+
+    private Money lockSlots(UUID walletId, List<Integer> slots) {
+        Money[] sum = {Money.ZERO};
+        jdbcTemplate.query(LOCK_SLOTS, (RowCallbackHandler) rs -> {
+            slots.add(rs.getInt(1));
+            sum[0] = sum[0].plus(MoneyJdbc.getMoney(rs, 2));
+        }, walletId);
+        return sum[0];
+    }
+
+    private void spread(UUID walletId, Money total, List<Integer> slots) {
+        long[] shares = shares(total, slots.size());
+        if (!slots.isEmpty()) {
+            List<Object[]> rows = new ArrayList<>(slots.size());
+            for (int i = 0; i < slots.size(); i++) {
+                rows.add(new Object[]{MoneyJdbc.bind(Money.ofMinor(shares[i + 1])), walletId, slots.get(i)});
+            }
+            jdbcTemplate.batchUpdate(SET_SLOT_BALANCE, rows);
+        }
+        jdbcTemplate.update(SET_WALLET_BALANCE, MoneyJdbc.bind(Money.ofMinor(shares[0])), walletId);
+    }
+
+    private static long[] shares(Money total, int slotCount) {
+        long[] shares = new long[slotCount + 1];
+        long share = total.minorUnits() / shares.length;
+        Arrays.fill(shares, share);
+        shares[0] += total.minorUnits() - share * shares.length;
+        return shares;
+    }
+}
@@ -0,0 +1,50 @@
+package org.example.wallet.store.repo;
+
+import lombok.RequiredArgsConstructor;
+import org.example.wallet.api.dtos.wallet.OperationType;
+import org.example.wallet.api.dtos.wallet.WalletTransactionDto;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class WalletTransactionRepository {
+    private static final String FIRST_PAGE = """
+            SELECT transaction_id, operation_type, currency, amount, balance, created_at
+            FROM wallet_transaction
+            WHERE wallet_id = ?
+            ORDER BY created_at DESC, transaction_id DESC
+            LIMIT ?
+            """;
+    private static final String NEXT_PAGE = """
+            SELECT transaction_id, operation_type, currency, amount, balance, created_at
+            FROM wallet_transaction
+            WHERE wallet_id = ? AND created_at <= ?
+              AND (created_at < ? OR transaction_id < ?)
+            ORDER BY created_at DESC, transaction_id DESC
+            LIMIT ?
+            """;
+    private static final RowMapper<WalletTransactionDto> ROW_MAPPER = (rs, rowNum) -> new WalletTransactionDto(
+            rs.getLong("transaction_id"),
+            OperationType.valueOf(rs.getString("operation_type")),
+            rs.getString("currency"),
+            rs.getBigDecimal("amount"),
+            rs.getBigDecimal("balance"),
+            rs.getObject("created_at", OffsetDateTime.class));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<WalletTransactionDto> findFirstPage(UUID walletId, int limit) {
+        return jdbcTemplate.query(FIRST_PAGE, ROW_MAPPER, walletId, limit);
+    }
+
+    public List<WalletTransactionDto> findPageBefore(UUID walletId, OffsetDateTime createdAt, long transactionId,
+                                                     int limit) {
+        return jdbcTemplate.query(NEXT_PAGE, ROW_MAPPER, walletId, createdAt, createdAt, transactionId, limit);
+    }
+}
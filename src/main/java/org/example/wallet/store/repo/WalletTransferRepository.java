@@ -0,0 +1,83 @@
+package org.example.wallet.store.repo;
+
+import org.example.wallet.store.sql.JournalSql;
+import org.example.wallet.store.sql.SqlDialect;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Repository
+public class WalletTransferRepository {
+    private static final String LOCK_PAIR = """
+            SELECT wallet_id, balance FROM wallet
+            WHERE wallet_id IN (?, ?)
+            ORDER BY wallet_id
+            FOR UPDATE
+            """;
+    private static final String TRANSFER = """
+            UPDATE wallet w
+            SET balance = w.balance + CASE WHEN w.wallet_id = ?
+                THEN -CAST(? AS numeric(19,2)) ELSE CAST(? AS numeric(19,2)) END
+            WHERE w.wallet_id IN (SELECT wallet_id FROM locked)
+              AND (SELECT COUNT(*) FROM locked) = 2
+              AND (SELECT balance FROM locked WHERE wallet_id = ?) >= ?
+            """;
+    private static final String DEBIT = "UPDATE wallet SET balance = balance - ? WHERE wallet_id = ?";
+    private static final String CREDIT = "UPDATE wallet SET balance = balance + ? WHERE wallet_id = ?";
+    private static final String POSTGRES_TRANSFER = JournalSql.postgres(JournalSql.COLUMNS,
+            "locked AS (" + LOCK_PAIR + "), " + JournalSql.updated(TRANSFER, "w.wallet_id, w.balance"),
+            """
+                    SELECT wallet_id, CASE WHEN wallet_id = ? THEN 'WITHDRAW' ELSE 'DEPOSIT' END, ?, balance
+                    FROM updated""",
+            """
+                    SELECT EXISTS (SELECT 1 FROM locked WHERE wallet_id = ?),
+                           EXISTS (SELECT 1 FROM locked WHERE wallet_id = ?),
+                           (SELECT balance FROM updated WHERE wallet_id = ?),
+                           (SELECT balance FROM updated WHERE wallet_id = ?)
+                    """);
+    private static final String DELTA_TABLE_DEBIT = JournalSql.deltaTable(JournalSql.COLUMNS,
+            "SELECT wallet_id, 'WITHDRAW', ?, balance FROM " + JournalSql.finalTable(DEBIT), true);
+    private static final String DELTA_TABLE_CREDIT = JournalSql.deltaTable(JournalSql.COLUMNS,
+            "SELECT wallet_id, 'DEPOSIT', ?, balance FROM " + JournalSql.finalTable(CREDIT), true);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean postgres;
+
+    public WalletTransferRepository(JdbcTemplate jdbcTemplate, SqlDialect dialect) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.postgres = dialect.isPostgres();
+    }
+
+    public TransferUpdate transfer(UUID fromWalletId, UUID toWalletId, BigDecimal amount) {
+        if (postgres) {
+            return jdbcTemplate.queryForObject(POSTGRES_TRANSFER,
+                    (rs, rowNum) -> new TransferUpdate(rs.getBoolean(1), rs.getBoolean(2),
+                            rs.getBigDecimal(3), rs.getBigDecimal(4)),
+                    fromWalletId, toWalletId,
+                    fromWalletId, amount, amount,
+                    fromWalletId, amount,
+                    fromWalletId, amount,
+                    fromWalletId, toWalletId, fromWalletId, toWalletId);
+        }
+
+        Map<UUID, BigDecimal> locked = new HashMap<>(4);
+        jdbcTemplate.query(LOCK_PAIR,
+                (RowCallbackHandler) rs -> locked.put(rs.getObject(1, UUID.class), rs.getBigDecimal(2)),
+                fromWalletId, toWalletId);
+        BigDecimal sourceBalance = locked.get(fromWalletId);
+        if (sourceBalance == null || !locked.containsKey(toWalletId) || sourceBalance.compareTo(amount) < 0) {
+            return new TransferUpdate(sourceBalance != null, locked.containsKey(toWalletId), null, null);
+        }
+        List<BigDecimal> debited = jdbcTemplate.queryForList(DELTA_TABLE_DEBIT, BigDecimal.class,
+                amount, amount, fromWalletId);
+        List<BigDecimal> credited = jdbcTemplate.queryForList(DELTA_TABLE_CREDIT, BigDecimal.class,
+                amount, amount, toWalletId);
+        return new TransferUpdate(true, true, debited.get(0), credited.get(0));
+    }
+}
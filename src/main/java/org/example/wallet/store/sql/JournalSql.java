@@ -0,0 +1,66 @@
+package org.example.wallet.store.sql;
+
+public final class JournalSql {
+    public static final String COLUMNS = "wallet_id, operation_type, amount, balance";
+    public static final String CURRENCY_COLUMNS = "wallet_id, currency, operation_type, amount, balance";
+
+    private static final String UPDATED = """
+            updated AS (
+            %s
+            RETURNING %s
+            )""";
+    private static final String JOURNAL = """
+            journal AS (
+                INSERT INTO wallet_transaction (%1$s)
+                %2$s
+                RETURNING transaction_id, %1$s
+            )""";
+    private static final String OUTBOX = """
+            INSERT INTO wallet_outbox (transaction_id, %1$s)
+            SELECT transaction_id, %1$s FROM journal""";
+    private static final String FINAL_TABLE = """
+            FINAL TABLE (
+            %s
+            )""";
+    private static final String DELTA_TABLE_JOURNAL = """
+            INSERT INTO wallet_outbox (transaction_id, %1$s)
+            SELECT transaction_id, %1$s FROM FINAL TABLE (
+                INSERT INTO wallet_transaction (%1$s)
+                %2$s
+            )""";
+    private static final String VALUES = "VALUES (?, ?, ?, ?)";
+    private static final String POSTGRES_APPEND_JOURNAL = postgres(COLUMNS, null, VALUES, null);
+    private static final String DELTA_TABLE_APPEND_JOURNAL = deltaTable(COLUMNS, VALUES, false);
+
+    private JournalSql() {
+    }
+
+    public static String updated(String modification, String returning) {
+        return UPDATED.formatted(modification, returning);
+    }
+
+    public static String finalTable(String modification) {
+        return FINAL_TABLE.formatted(modification);
+    }
+
+    public static String postgres(String columns, String ctes, String journalSource, String result) {
+        StringBuilder sql = new StringBuilder("WITH ");
+        if (ctes != null) {
+            sql.append(ctes).append(", ");
+        }
+        sql.append(JOURNAL.formatted(columns, journalSource));
+        if (result == null) {
+            return sql.append('\n').append(OUTBOX.formatted(columns)).toString();
+        }
+        return sql.append(", outbox AS (\n").append(OUTBOX.formatted(columns)).append("\n)\n").append(result).toString();
+    }
+
+    public static String deltaTable(String columns, String journalSource, boolean returningBalance) {
+        String sql = DELTA_TABLE_JOURNAL.formatted(columns, journalSource);
+        return returningBalance ? "SELECT balance FROM " + finalTable(sql) : sql;
+    }
+
+    public static String appendJournal(SqlDialect dialect) {
+        return dialect.isPostgres() ? POSTGRES_APPEND_JOURNAL : DELTA_TABLE_APPEND_JOURNAL;
+    }
+}
@@ -0,0 +1,23 @@
+package org.example.wallet.store.sql;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.sql.DatabaseMetaData;
+
+@Component
+public class SqlDialect {
+    private final boolean postgres;
+
+    public SqlDialect(JdbcTemplate jdbcTemplate) throws MetaDataAccessException {
+        String product = JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(),
+                DatabaseMetaData::getDatabaseProductName);
+        this.postgres = "PostgreSQL".equals(product);
+    }
+
+    public boolean isPostgres() {
+        return postgres;
+    }
+}
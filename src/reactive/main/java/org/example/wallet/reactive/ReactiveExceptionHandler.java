@@ -0,0 +1,169 @@
+package org.example.wallet.reactive;
+
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import lombok.extern.slf4j.Slf4j;
+import org.example.wallet.api.dtos.error.ErrorDtoResponse;
+import org.example.wallet.api.dtos.error.SingleErrorDto;
+import org.example.wallet.api.errors.RejectionLogProperties;
+import org.example.wallet.api.errors.RejectionLogSampler;
+import org.example.wallet.api.errors.ServerErrorCode;
+import org.example.wallet.api.errors.ServerException;
+import org.example.wallet.money.Money;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.MessageSourceResolvable;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.ObjectError;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
+import org.springframework.web.server.MethodNotAllowedException;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebInputException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RestControllerAdvice
+@Slf4j
+@EnableConfigurationProperties(RejectionLogProperties.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveExceptionHandler {
+    private final RejectionLogSampler rejectionLogSampler;
+
+    public ReactiveExceptionHandler(RejectionLogProperties rejectionLogProperties) {
+        this.rejectionLogSampler = new RejectionLogSampler(rejectionLogProperties);
+    }
+
+    @ExceptionHandler(ServerException.class)
+    public ResponseEntity<ErrorDtoResponse> handleBadRequestException(ServerException ex) {
+        ServerErrorCode code = ex.getServerErrorCode();
+
+        int suppressed = rejectionLogSampler.sample(code);
+        if (suppressed != RejectionLogSampler.SUPPRESSED) {
+            log.warn("Request rejected with {}: {} ({} similar rejections suppressed)",
+                    code, ex.getMessage(), suppressed);
+        }
+
+        SingleErrorDto error = SingleErrorDto.builder()
+                .errorCode(code.name())
+                .message(ex.getMessage())
+                .build();
+
+        return ResponseEntity.status(code.getHttpStatus())
+                .body(ErrorDtoResponse.builder()
+                        .errors(List.of(error))
+                        .build());
+    }
+
+    @ExceptionHandler(MethodNotAllowedException.class)
+    @ResponseStatus(HttpStatus.METHOD_NOT_ALLOWED)
+    public ErrorDtoResponse handleMethodNotSupported(MethodNotAllowedException ex) {
+        log.error("MethodNotAllowedException: method '{}' not allowed", ex.getHttpMethod(), ex);
+
+        SingleErrorDto error = SingleErrorDto.builder()
+                .errorCode("METHOD_NOT_ALLOWED")
+                .message("Запрос с методом " + ex.getHttpMethod() + " не поддерживается на данный адрес")
+                .build();
+
+        return ErrorDtoResponse.builder().errors(List.of(error)).build();
+    }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorDtoResponse handleBadRequestException(WebExchangeBindException ex) {
+        log.error("WebExchangeBindException: validation failed", ex);
+
+        List<SingleErrorDto> errors = new ArrayList<>();
+
+        for (FieldError error : ex.getBindingResult().getFieldErrors()) {
+            errors.add(SingleErrorDto.builder()
+                    .errorCode("VALIDATION_ERROR")
+                    .message(error.getDefaultMessage())
+                    .build());
+        }
+
+        for (ObjectError error : ex.getBindingResult().getGlobalErrors()) {
+            errors.add(SingleErrorDto.builder()
+                    .errorCode("VALIDATION_ERROR")
+                    .message(error.getDefaultMessage())
+                    .build());
+        }
+
+        return ErrorDtoResponse.builder()
+                .errors(errors)
+                .build();
+    }
+
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorDtoResponse handleMethodValidation(HandlerMethodValidationException ex) {
+        log.error("HandlerMethodValidationException: validation failed", ex);
+
+        List<SingleErrorDto> errors = new ArrayList<>();
+
+        for (MessageSourceResolvable error : ex.getAllErrors()) {
+            errors.add(SingleErrorDto.builder()
+                    .errorCode("VALIDATION_ERROR")
+                    .message(error.getDefaultMessage())
+                    .build());
+        }
+
+        return ErrorDtoResponse.builder()
+                .errors(errors)
+                .build();
+    }
+
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<ErrorDtoResponse> handleInput(ServerWebInputException ex) {
+        if (NestedExceptionUtils.getMostSpecificCause(ex) instanceof InvalidFormatException invalid
+                && invalid.getTargetType() == Money.class) {
+            return handleBadRequestException(new ServerException(ServerErrorCode.INVALID_AMOUNT));
+        }
+        if (!(ex.getCause() instanceof TypeMismatchException mismatch)) {
+            throw ex;
+        }
+        MethodParameter parameter = ex.getMethodParameter();
+        String name = mismatch.getPropertyName() != null || parameter == null
+                ? mismatch.getPropertyName()
+                : parameter.getParameterName();
+        log.error("TypeMismatchException: parameter '{}', value '{}', required type '{}'",
+                name, mismatch.getValue(), mismatch.getRequiredType(), ex);
+        String expectedType =
+                mismatch.getRequiredType() != null ? mismatch.getRequiredType().getSimpleName() : "неизвестный тип";
+
+        SingleErrorDto error = SingleErrorDto.builder()
+                .errorCode("INVALID_TYPE")
+                .message("Неверный тип параметра: " + name + ". Ожидается " + expectedType)
+                .build();
+
+        return ResponseEntity.badRequest().body(ErrorDtoResponse.builder()
+                .errors(List.of(error))
+                .build());
+    }
+
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<ErrorDtoResponse> handleNotFound(ResponseStatusException ex, ServerHttpRequest request) {
+        if (ex.getStatusCode() != HttpStatus.NOT_FOUND) {
+            throw ex;
+        }
+        log.error("ResponseStatusException: URL {} not found", request.getPath(), ex);
+
+        SingleErrorDto error = SingleErrorDto.builder()
+                .errorCode("NOT_FOUND")
+                .message("Ресурс по адресу " + request.getPath() + " не найден")
+                .build();
+
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ErrorDtoResponse.builder()
+                .errors(List.of(error))
+                .build());
+    }
+}
@@ -0,0 +1,40 @@
+package org.example.wallet.reactive;
+
+import org.example.wallet.api.mappers.WalletMapper;
+import org.example.wallet.money.CurrencyProperties;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.data.jpa.JpaRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+
+@SpringBootApplication(
+        scanBasePackageClasses = {ReactiveWalletApplication.class, WalletMapper.class},
+        exclude = {
+                HibernateJpaAutoConfiguration.class,
+                JpaRepositoriesAutoConfiguration.class
+        })
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@EnableConfigurationProperties(CurrencyProperties.class)
+public class ReactiveWalletApplication {
+
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(ReactiveWalletApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .properties(
+                        "spring.liquibase.url=${spring.datasource.url}",
+                        "spring.liquibase.user=${spring.datasource.username}",
+                        "spring.liquibase.password=${spring.datasource.password}")
+                .run(args);
+    }
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+}
@@ -0,0 +1,32 @@
+package org.example.wallet.reactive;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.example.wallet.api.dtos.wallet.WalletBalanceDto;
+import org.example.wallet.api.dtos.wallet.WalletOperationResponseDto;
+import org.example.wallet.api.dtos.wallet.WalletRequestDto;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("api/v1/wallet")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveWalletController {
+    private final ReactiveWalletService walletService;
+
+    private static final String GET_BALANCE = "/{wallet_uuid}";
+
+    @PostMapping
+    public Mono<WalletOperationResponseDto> doOperation(@RequestBody @Valid WalletRequestDto walletRequestDto) {
+        return walletService.doOperation(walletRequestDto);
+    }
+
+    @GetMapping(GET_BALANCE)
+    public Mono<WalletBalanceDto> getBalance(@PathVariable("wallet_uuid") UUID walletUuid) {
+        return walletService.getBalance(walletUuid);
+    }
+}
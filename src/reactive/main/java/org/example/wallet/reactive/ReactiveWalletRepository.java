@@ -0,0 +1,132 @@
+package org.example.wallet.reactive;
+
+import org.example.wallet.money.Money;
+import org.example.wallet.store.repo.BalanceUpdate;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveWalletRepository {
+    private static final String POSTGRES_WITHDRAW = """
+            WITH target AS (
+                SELECT wallet_id FROM wallet WHERE wallet_id = :walletId
+            ), updated AS (
+                UPDATE wallet SET balance = balance - :amount
+                WHERE wallet_id = :walletId AND balance >= :amount
+                RETURNING wallet_id, balance
+            ), journal AS (
+                INSERT INTO wallet_transaction (wallet_id, operation_type, amount, balance)
+                SELECT wallet_id, 'WITHDRAW', :amount, balance FROM updated
+                RETURNING transaction_id, wallet_id, operation_type, amount, balance
+            ), outbox AS (
+                INSERT INTO wallet_outbox (transaction_id, wallet_id, operation_type, amount, balance)
+                SELECT transaction_id, wallet_id, operation_type, amount, balance FROM journal
+            )
+            SELECT EXISTS (SELECT 1 FROM target), (SELECT balance FROM updated)
+            """;
+    private static final String POSTGRES_DEPOSIT = """
+            WITH updated AS (
+                UPDATE wallet SET balance = balance + :amount
+                WHERE wallet_id = :walletId
+                RETURNING wallet_id, balance
+            ), journal AS (
+                INSERT INTO wallet_transaction (wallet_id, operation_type, amount, balance)
+                SELECT wallet_id, 'DEPOSIT', :amount, balance FROM updated
+                RETURNING transaction_id, wallet_id, operation_type, amount, balance
+            ), outbox AS (
+                INSERT INTO wallet_outbox (transaction_id, wallet_id, operation_type, amount, balance)
+                SELECT transaction_id, wallet_id, operation_type, amount, balance FROM journal
+            )
+            SELECT EXISTS (SELECT 1 FROM updated), (SELECT balance FROM updated)
+            """;
+    private static final String DELTA_TABLE_WITHDRAW = """
+            SELECT balance FROM FINAL TABLE (
+                INSERT INTO wallet_outbox (transaction_id, wallet_id, operation_type, amount, balance)
+                SELECT transaction_id, wallet_id, operation_type, amount, balance FROM FINAL TABLE (
+                    INSERT INTO wallet_transaction (wallet_id, operation_type, amount, balance)
+                    SELECT wallet_id, 'WITHDRAW', :amount, balance FROM FINAL TABLE (
+                        UPDATE wallet SET balance = balance - :amount
+                        WHERE wallet_id = :walletId AND balance >= :amount
+                    )
+                )
+            )
+            """;
+    private static final String DELTA_TABLE_DEPOSIT = """
+            SELECT balance FROM FINAL TABLE (
+                INSERT INTO wallet_outbox (transaction_id, wallet_id, operation_type, amount, balance)
+                SELECT transaction_id, wallet_id, operation_type, amount, balance FROM FINAL TABLE (
+                    INSERT INTO wallet_transaction (wallet_id, operation_type, amount, balance)
+                    SELECT wallet_id, 'DEPOSIT', :amount, balance FROM FINAL TABLE (
+                        UPDATE wallet SET balance = balance + :amount
+                        WHERE wallet_id = :walletId
+                    )
+                )
+            )
+            """;
+    private static final String WALLET_EXISTS = "SELECT COUNT(*) FROM wallet WHERE wallet_id = :walletId";
+    private static final String FIND_BALANCE = """
+            SELECT w.balance + COALESCE((SELECT SUM(s.balance) FROM wallet_slot s WHERE s.wallet_id = w.wallet_id), 0)
+            FROM wallet w
+            WHERE w.wallet_id = :walletId
+            """;
+
+    private final DatabaseClient databaseClient;
+    private final boolean postgres;
+
+    public ReactiveWalletRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+        this.postgres = "PostgreSQL".equals(databaseClient.getConnectionFactory().getMetadata().getName());
+    }
+
+    public Mono<BalanceUpdate> withdrawReturningBalance(UUID walletId, Money amount) {
+        return postgres
+                ? fromCte(POSTGRES_WITHDRAW, walletId, amount)
+                : fromDeltaTable(DELTA_TABLE_WITHDRAW, walletId, amount);
+    }
+
+    public Mono<BalanceUpdate> depositReturningBalance(UUID walletId, Money amount) {
+        return postgres
+                ? fromCte(POSTGRES_DEPOSIT, walletId, amount)
+                : fromDeltaTable(DELTA_TABLE_DEPOSIT, walletId, amount);
+    }
+
+    public Mono<Money> findBalance(UUID walletId) {
+        return databaseClient.sql(FIND_BALANCE)
+                .bind("walletId", walletId)
+                .map(row -> toMoney(row.get(0, BigDecimal.class)))
+                .one();
+    }
+
+    private Mono<BalanceUpdate> fromCte(String sql, UUID walletId, Money amount) {
+        return databaseClient.sql(sql)
+                .bind("walletId", walletId)
+                .bind("amount", amount.toBigDecimal())
+                .map(row -> new BalanceUpdate(Boolean.TRUE.equals(row.get(0, Boolean.class)),
+                        toMoney(row.get(1, BigDecimal.class))))
+                .one();
+    }
+
+    private Mono<BalanceUpdate> fromDeltaTable(String sql, UUID walletId, Money amount) {
+        return databaseClient.sql(sql)
+                .bind("walletId", walletId)
+                .bind("amount", amount.toBigDecimal())
+                .map(row -> Money.of(row.get(0, BigDecimal.class)))
+                .one()
+                .map(balance -> new BalanceUpdate(true, balance))
+                .switchIfEmpty(Mono.defer(() -> databaseClient.sql(WALLET_EXISTS)
+                        .bind("walletId", walletId)
+                        .map(row -> row.get(0, Long.class))
+                        .one()
+                        .map(count -> new BalanceUpdate(count > 0, null))));
+    }
+
+    private static Money toMoney(BigDecimal value) {
+        return value == null ? null : Money.of(value);
+    }
+}
@@ -0,0 +1,54 @@
+package org.example.wallet.reactive;
+
+import lombok.RequiredArgsConstructor;
+import org.example.wallet.api.dtos.wallet.OperationType;
+import org.example.wallet.api.dtos.wallet.WalletBalanceDto;
+import org.example.wallet.api.dtos.wallet.WalletOperationResponseDto;
+import org.example.wallet.api.dtos.wallet.WalletRequestDto;
+import org.example.wallet.api.errors.ServerErrorCode;
+import org.example.wallet.api.errors.ServerException;
+import org.example.wallet.api.mappers.WalletMapper;
+import org.example.wallet.money.CurrencyProperties;
+import org.example.wallet.store.repo.BalanceUpdate;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveWalletService {
+    private final ReactiveWalletRepository walletRepository;
+    private final WalletMapper walletMapper;
+    private final CurrencyProperties currencyProperties;
+
+    public Mono<WalletOperationResponseDto> doOperation(WalletRequestDto dto) {
+        if (!currencyProperties.isBase(dto.currency())) {
+            return Mono.error(() -> new ServerException(ServerErrorCode.UNSUPPORTED_CURRENCY,
+                    dto.currency().getCurrencyCode()));
+        }
+        UUID walletId = dto.walletId();
+        Mono<BalanceUpdate> update = dto.operationType() == OperationType.WITHDRAW
+                ? walletRepository.withdrawReturningBalance(walletId, dto.amount())
+                : walletRepository.depositReturningBalance(walletId, dto.amount());
+
+        return update.map(result -> {
+            if (!result.walletFound()) {
+                throw new ServerException(ServerErrorCode.WALLET_NOT_FOUND, walletId.toString());
+            }
+            if (!result.isApplied()) {
+                throw new ServerException(ServerErrorCode.INSUFFICIENT_FUNDS);
+            }
+            return walletMapper.toOperationResponseDto(dto, result.balance());
+        });
+    }
+
+    public Mono<WalletBalanceDto> getBalance(UUID walletUuid) {
+        return walletRepository.findBalance(walletUuid)
+                .map(walletMapper::toBalanceDto)
+                .switchIfEmpty(Mono.error(() ->
+                        new ServerException(ServerErrorCode.WALLET_NOT_FOUND, walletUuid.toString())));
+    }
+}
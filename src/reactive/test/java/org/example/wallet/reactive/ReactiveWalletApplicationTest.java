@@ -0,0 +1,181 @@
+package org.example.wallet.reactive;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(
+        classes = ReactiveWalletApplication.class,
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.main.web-application-type=reactive",
+                "spring.autoconfigure.exclude=",
+                "spring.r2dbc.url=r2dbc:h2:mem:///reactive",
+                "spring.r2dbc.username=sa",
+                "spring.liquibase.url=jdbc:h2:mem:reactive;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "spring.liquibase.user=sa"
+        })
+@AutoConfigureWebTestClient
+public class ReactiveWalletApplicationTest {
+    private static final UUID WALLET_ID = UUID.fromString("11111111-1111-1111-1111-111111111111");
+    private static final String URL = "/api/v1/wallet";
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @BeforeEach
+    void setUp() {
+        databaseClient.sql("UPDATE wallet SET balance = 1000.00 WHERE wallet_id = :walletId")
+                .bind("walletId", WALLET_ID)
+                .then()
+                .block();
+        databaseClient.sql("DELETE FROM wallet_transaction").then().block();
+        databaseClient.sql("DELETE FROM wallet_outbox").then().block();
+        databaseClient.sql("DELETE FROM wallet_slot").then().block();
+    }
+
+    @Test
+    void doOperation_deposit_returnsUpdatedBalanceAndJournals() {
+        webTestClient.post().uri(URL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(operation(WALLET_ID, "DEPOSIT", "250.50"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.amount").isEqualTo(250.50)
+                .jsonPath("$.balance").isEqualTo(1250.50);
+
+        BigDecimal journaled = databaseClient.sql("SELECT balance FROM wallet_transaction WHERE wallet_id = :walletId")
+                .bind("walletId", WALLET_ID)
+                .map(row -> row.get(0, BigDecimal.class))
+                .one()
+                .block();
+        Long outboxed = databaseClient.sql("SELECT COUNT(*) FROM wallet_outbox WHERE wallet_id = :walletId")
+                .bind("walletId", WALLET_ID)
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .block();
+        assertAll(
+                () -> assertEquals(0, new BigDecimal("1250.50").compareTo(journaled)),
+                () -> assertEquals(1L, outboxed)
+        );
+    }
+
+    @Test
+    void doOperation_withdraw_returnsUpdatedBalance() {
+        webTestClient.post().uri(URL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(operation(WALLET_ID, "WITHDRAW", "100.00"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.balance").isEqualTo(900.00);
+    }
+
+    @Test
+    void doOperation_insufficientFunds_returnsServerError() {
+        webTestClient.post().uri(URL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(operation(WALLET_ID, "WITHDRAW", "5000.00"))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.errors[0].errorCode").isEqualTo("INSUFFICIENT_FUNDS");
+    }
+
+    @Test
+    void doOperation_unknownWallet_returnsWalletNotFound() {
+        UUID unknown = UUID.randomUUID();
+
+        webTestClient.post().uri(URL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(operation(unknown, "DEPOSIT", "10.00"))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.errors[0].errorCode").isEqualTo("WALLET_NOT_FOUND")
+                .jsonPath("$.errors[0].message").isEqualTo("Кошелек с UUID " + unknown + " не найден.");
+    }
+
+    @Test
+    void doOperation_invalidBody_returnsValidationErrors() {
+        webTestClient.post().uri(URL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"walletId\":\"" + WALLET_ID + "\",\"operationType\":\"DEPOSIT\",\"amount\":-1}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.errors[0].errorCode").isEqualTo("VALIDATION_ERROR")
+                .jsonPath("$.errors[0].message").isEqualTo("Сумма операции должна быть больше 0");
+    }
+
+    @Test
+    void getBalance_existingWallet_returnsBalance() {
+        webTestClient.get().uri(URL + "/" + WALLET_ID)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.balance").isEqualTo(1000.00);
+    }
+
+    @Test
+    void getBalance_walletWithSlots_sumsSlotBalances() {
+        databaseClient.sql("INSERT INTO wallet_slot (wallet_id, slot, balance) VALUES (:walletId, 0, 150.25)")
+                .bind("walletId", WALLET_ID)
+                .then()
+                .block();
+
+        webTestClient.get().uri(URL + "/" + WALLET_ID)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.balance").isEqualTo(1150.25);
+    }
+
+    @Test
+    void getBalance_invalidUuid_returnsInvalidType() {
+        webTestClient.get().uri(URL + "/not-a-uuid")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.errors[0].errorCode").isEqualTo("INVALID_TYPE")
+                .jsonPath("$.errors[0].message").isEqualTo("Неверный тип параметра: wallet_uuid. Ожидается UUID");
+    }
+
+    @Test
+    void unsupportedMethod_returnsMethodNotAllowed() {
+        webTestClient.delete().uri(URL + "/" + WALLET_ID)
+                .exchange()
+                .expectStatus().isEqualTo(405)
+                .expectBody()
+                .jsonPath("$.errors[0].errorCode").isEqualTo("METHOD_NOT_ALLOWED");
+    }
+
+    @Test
+    void unknownPath_returnsNotFound() {
+        webTestClient.get().uri("/api/v1/unknown")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.errors[0].errorCode").isEqualTo("NOT_FOUND")
+                .jsonPath("$.errors[0].message").isEqualTo("Ресурс по адресу /api/v1/unknown не найден");
+    }
+
+    private static String operation(UUID walletId, String type, String amount) {
+        return "{\"walletId\":\"" + walletId + "\",\"operationType\":\"" + type + "\",\"amount\":" + amount + "}";
+    }
+}
@@ -0,0 +1,29 @@
+package org.example.wallet;
+
+import org.example.wallet.api.dtos.error.ErrorDtoResponse;
+import org.example.wallet.api.dtos.wallet.WalletBatchItemResultDto;
+import org.example.wallet.money.MoneyJsonSerializer;
+import org.example.wallet.outbox.WalletBalanceEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WalletRuntimeHintsTest {
+
+    @Test
+    void registerHints_coversJsonTypesAndChangelogs() {
+        RuntimeHints hints = new RuntimeHints();
+        new WalletRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        assertAll(
+                () -> assertTrue(RuntimeHintsPredicates.reflection().onType(WalletBalanceEvent.class).test(hints)),
+                () -> assertTrue(RuntimeHintsPredicates.reflection().onType(WalletBatchItemResultDto.class).test(hints)),
+                () -> assertTrue(RuntimeHintsPredicates.reflection().onType(ErrorDtoResponse.class).test(hints)),
+                () -> assertTrue(RuntimeHintsPredicates.reflection().onType(MoneyJsonSerializer.class).test(hints)),
+                () -> assertTrue(RuntimeHintsPredicates.resource()
+                        .forResource("db/changelog/changes/008-create-wallet-balance-table.xml").test(hints))
+        );
+    }
+}
@@ -0,0 +1,145 @@
+package org.example.wallet.api.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.wallet.api.dtos.wallet.OperationType;
+import org.example.wallet.api.dtos.wallet.WalletBatchItemResultDto;
+import org.example.wallet.api.dtos.wallet.WalletRequestDto;
+import org.example.wallet.api.errors.ServerErrorCode;
+import org.example.wallet.api.errors.ServerException;
+import org.example.wallet.api.services.WalletBatchService;
+import org.example.wallet.money.Money;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = WalletBatchController.class)
+public class WalletBatchControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WalletBatchService walletBatchService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private static final UUID WALLET_ID = UUID.fromString("11111111-1111-1111-1111-111111111111");
+
+    @TestConfiguration
+    static class MockConfig {
+        @Bean
+        public WalletBatchService walletBatchService() {
+            return mock(WalletBatchService.class);
+        }
+    }
+
+    @Test
+    void doBatch_bestEffort_streamsServiceResultsSynchronously() throws Exception {
+        List<WalletRequestDto> operations = List.of(
+                new WalletRequestDto(WALLET_ID, OperationType.DEPOSIT, Money.parse("10.00")));
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(1).write(
+                    "[{\"index\":0,\"applied\":true}]".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(walletBatchService).executeBestEffort(eq(operations), any());
+
+        mockMvc.perform(post("/api/v1/wallet/batch")
+                        .param("mode", "BEST_EFFORT")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(operations)))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].index").value(0))
+                .andExpect(jsonPath("$[0].applied").value(true));
+    }
+
+    @Test
+    void doBatch_atomic_returnsResultsAfterCompletion() throws Exception {
+        List<WalletRequestDto> operations = List.of(
+                new WalletRequestDto(WALLET_ID, OperationType.WITHDRAW, Money.parse("10.00")));
+        List<WalletBatchItemResultDto> results = List.of(
+                new WalletBatchItemResultDto(0, WALLET_ID, false, ServerErrorCode.INSUFFICIENT_FUNDS.name(), "0"));
+        when(walletBatchService.executeAtomically(operations)).thenReturn(results);
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(1).write(
+                    "[{\"index\":0,\"applied\":false}]".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(walletBatchService).writeResults(eq(results), any());
+
+        mockMvc.perform(post("/api/v1/wallet/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(operations)))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].applied").value(false));
+
+        verify(walletBatchService).executeAtomically(operations);
+    }
+
+    @Test
+    void doBatch_emptyBatch_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/api/v1/wallet/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0].errorCode").value("VALIDATION_ERROR"))
+                .andExpect(jsonPath("$.errors[0].message").value("Пакет операций не может быть пустым"));
+    }
+
+    @Test
+    void doBatch_invalidItem_shouldReturnBadRequest() throws Exception {
+        List<WalletRequestDto> operations = List.of(
+                new WalletRequestDto(WALLET_ID, OperationType.DEPOSIT, Money.parse("-1")));
+
+        mockMvc.perform(post("/api/v1/wallet/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(operations)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[*].message").value(hasItem("Сумма операции должна быть больше 0")));
+    }
+
+    @Test
+    void doBatch_tooLarge_shouldReturnBadRequest() throws Exception {
+        List<WalletRequestDto> operations = List.of(
+                new WalletRequestDto(WALLET_ID, OperationType.WITHDRAW, Money.parse("3.00")));
+        doThrow(new ServerException(ServerErrorCode.BATCH_TOO_LARGE, "0"))
+                .when(walletBatchService).validate(operations);
+
+        mockMvc.perform(post("/api/v1/wallet/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(operations)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0].errorCode").value("BATCH_TOO_LARGE"));
+    }
+
+    @Test
+    void doBatch_invalidMode_shouldReturnBadRequest() throws Exception {
+        List<WalletRequestDto> operations = List.of(
+                new WalletRequestDto(WALLET_ID, OperationType.DEPOSIT, Money.parse("10.00")));
+
+        mockMvc.perform(post("/api/v1/wallet/batch")
+                        .param("mode", "SOMETIMES")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(operations)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0].errorCode").value("INVALID_TYPE"));
+    }
+}
@@ -1,13 +1,20 @@
 package org.example.wallet.api.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.wallet.api.dtos.wallet.CurrencyBalanceDto;
 import org.example.wallet.api.dtos.wallet.OperationType;
 import org.example.wallet.api.dtos.wallet.WalletBalanceDto;
+import org.example.wallet.api.dtos.wallet.WalletBalancesDto;
 import org.example.wallet.api.dtos.wallet.WalletOperationResponseDto;
 import org.example.wallet.api.dtos.wallet.WalletRequestDto;
 import org.example.wallet.api.errors.ServerErrorCode;
 import org.example.wallet.api.errors.ServerException;
+import org.example.wallet.api.dtos.wallet.WalletTransactionDto;
+import org.example.wallet.api.dtos.wallet.WalletTransactionPageDto;
+import org.example.wallet.api.services.WalletEventService;
 import org.example.wallet.api.services.WalletService;
+import org.example.wallet.api.services.WalletTransactionService;
+import org.example.wallet.money.Money;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -20,8 +27,13 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.Currency;
+import java.util.List;
 import java.util.UUID;
 import java.util.stream.Stream;
 
@@ -29,9 +41,12 @@ import static org.hamcrest.Matchers.hasItem;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = WalletController.class)
@@ -44,6 +59,12 @@ public class WalletControllerTest {
     @Autowired
     private WalletService walletService;
 
+    @Autowired
+    private WalletTransactionService walletTransactionService;
+
+    @Autowired
+    private WalletEventService walletEventService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -55,46 +76,98 @@ public class WalletControllerTest {
         public WalletService walletService() {
             return mock(WalletService.class);
         }
+
+        @Bean
+        public WalletTransactionService walletTransactionService() {
+            return mock(WalletTransactionService.class);
+        }
+
+        @Bean
+        public WalletEventService walletEventService() {
+            return mock(WalletEventService.class);
+        }
     }
 
     @Test
     void doOperationDeposit_success() throws Exception {
         WalletRequestDto requestDto =
-                new WalletRequestDto(WALLET_ID, OperationType.DEPOSIT, new BigDecimal("100.00"));
+                new WalletRequestDto(WALLET_ID, OperationType.DEPOSIT, Money.parse("100.00"));
         WalletOperationResponseDto responseDto =
-                new WalletOperationResponseDto("Пополнение", new BigDecimal("100.00"));
+                new WalletOperationResponseDto("Пополнение", Money.parse("100.00"), Money.parse("1100.00"));
 
-        when(walletService.doOperation(requestDto)).thenReturn(responseDto);
+        when(walletService.doOperation(requestDto, null)).thenReturn(responseDto);
 
         mockMvc.perform(post("/api/v1/wallet")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(requestDto)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.description").value("Пополнение"))
-                .andExpect(jsonPath("$.amount").value(100.00));
+                .andExpect(jsonPath("$.amount").value(100.00))
+                .andExpect(jsonPath("$.balance").value(1100.00));
     }
 
     @Test
     void doOperation_withdrawSuccess() throws Exception {
         WalletRequestDto requestDto =
-                new WalletRequestDto(WALLET_ID, OperationType.WITHDRAW, new BigDecimal("50.00"));
+                new WalletRequestDto(WALLET_ID, OperationType.WITHDRAW, Money.parse("50.00"));
         WalletOperationResponseDto responseDto =
-                new WalletOperationResponseDto("Снятие", new BigDecimal("50.00"));
+                new WalletOperationResponseDto("Снятие", Money.parse("50.00"), Money.parse("950.00"));
 
-        when(walletService.doOperation(requestDto)).thenReturn(responseDto);
+        when(walletService.doOperation(requestDto, null)).thenReturn(responseDto);
 
         mockMvc.perform(post("/api/v1/wallet")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(requestDto)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.description").value("Снятие"))
-                .andExpect(jsonPath("$.amount").value(50.00));
+                .andExpect(jsonPath("$.amount").value(50.00))
+                .andExpect(jsonPath("$.balance").value(950.00));
+    }
+
+    @Test
+    void doOperation_idempotencyKey_passedToService() throws Exception {
+        WalletRequestDto requestDto =
+                new WalletRequestDto(WALLET_ID, OperationType.DEPOSIT, Money.parse("40.00"));
+        WalletOperationResponseDto responseDto =
+                new WalletOperationResponseDto("Пополнение", Money.parse("40.00"), Money.parse("1040.00"));
+
+        when(walletService.doOperation(requestDto, "retry-key")).thenReturn(responseDto);
+
+        mockMvc.perform(post("/api/v1/wallet")
+                        .header("Idempotency-Key", "retry-key")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDto)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance").value(1040.00));
+    }
+
+    @Test
+    void doOperation_idempotencyKeyTooLong_shouldReturnBadRequest() throws Exception {
+        WalletRequestDto requestDto =
+                new WalletRequestDto(WALLET_ID, OperationType.DEPOSIT, Money.parse("40.00"));
+
+        mockMvc.perform(post("/api/v1/wallet")
+                        .header("Idempotency-Key", "k".repeat(129))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDto)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0].errorCode").value("VALIDATION_ERROR"))
+                .andExpect(jsonPath("$.errors[0].message").value(
+                        "Ключ идемпотентности должен содержать от 1 до 128 символов"));
     }
 
+    @Test
+    void doOperation_amountWithThreeDecimals_shouldReturnInvalidAmount() throws Exception {
+        mockMvc.perform(post("/api/v1/wallet")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"walletId\":\"" + WALLET_ID + "\",\"operationType\":\"DEPOSIT\",\"amount\":10.005}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0].errorCode").value("INVALID_AMOUNT"));
+    }
 
     @Test
     void getBalance_success() throws Exception {
-        WalletBalanceDto balanceDto = new WalletBalanceDto(new BigDecimal("123.45"));
+        WalletBalanceDto balanceDto = new WalletBalanceDto(Money.parse("123.45"));
 
         when(walletService.getBalance(WALLET_ID)).thenReturn(balanceDto);
 
@@ -103,11 +176,57 @@ public class WalletControllerTest {
                 .andExpect(jsonPath("$.balance").value(123.45));
     }
 
+    @Test
+    void doOperation_currency_passedToService() throws Exception {
+        WalletRequestDto requestDto = new WalletRequestDto(WALLET_ID, OperationType.DEPOSIT, Money.parse("15.00"),
+                Currency.getInstance("USD"));
+        when(walletService.doOperation(requestDto, null))
+                .thenReturn(new WalletOperationResponseDto("Пополнение", Money.parse("15.00"), Money.parse("15.00")));
+
+        mockMvc.perform(post("/api/v1/wallet")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"walletId\":\"" + WALLET_ID
+                                + "\",\"operationType\":\"DEPOSIT\",\"amount\":15.00,\"currency\":\"USD\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance").value(15.00));
+    }
+
+    @Test
+    void getBalances_success() throws Exception {
+        when(walletService.getBalances(WALLET_ID)).thenReturn(new WalletBalancesDto(List.of(
+                new CurrencyBalanceDto("RUB", Money.parse("123.45")),
+                new CurrencyBalanceDto("USD", Money.parse("7.00")))));
+
+        mockMvc.perform(get("/api/v1/wallet/{wallet_uuid}/balances", WALLET_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balances[0].currency").value("RUB"))
+                .andExpect(jsonPath("$.balances[1].currency").value("USD"))
+                .andExpect(jsonPath("$.balances[1].balance").value(7.00));
+    }
+
+    @Test
+    void subscribe_streamsBalanceEvents() throws Exception {
+        SseEmitter emitter = new SseEmitter();
+        when(walletEventService.subscribe(WALLET_ID)).thenReturn(emitter);
+
+        MvcResult result = mockMvc.perform(get("/api/v1/wallet/{wallet_uuid}/events", WALLET_ID)
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        emitter.send(SseEmitter.event().id("42").name("balance").data("{\"balance\":1.00}"));
+        emitter.complete();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(content().string("id:42\nevent:balance\ndata:{\"balance\":1.00}\n\n"));
+    }
+
     @Test
     void doOperation_insufficientFunds_shouldReturnBadRequest() throws Exception {
-        WalletRequestDto requestDto = new WalletRequestDto(WALLET_ID, OperationType.WITHDRAW, new BigDecimal("100.00"));
+        WalletRequestDto requestDto = new WalletRequestDto(WALLET_ID, OperationType.WITHDRAW, Money.parse("100.00"));
 
-        when(walletService.doOperation(requestDto))
+        when(walletService.doOperation(requestDto, null))
                 .thenThrow(new ServerException(ServerErrorCode.INSUFFICIENT_FUNDS));
 
         mockMvc.perform(post("/api/v1/wallet")
@@ -120,6 +239,47 @@ public class WalletControllerTest {
                 ));
     }
 
+    @Test
+    void doOperation_walletBusy_shouldReturnTooManyRequests() throws Exception {
+        WalletRequestDto requestDto = new WalletRequestDto(WALLET_ID, OperationType.WITHDRAW, Money.parse("70.00"));
+
+        when(walletService.doOperation(requestDto, null))
+                .thenThrow(new ServerException(ServerErrorCode.WALLET_BUSY));
+
+        mockMvc.perform(post("/api/v1/wallet")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDto)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(jsonPath("$.errors[0].errorCode").value("WALLET_BUSY"));
+    }
+
+    @Test
+    void getTransactions_success() throws Exception {
+        WalletTransactionDto transaction = new WalletTransactionDto(7L, OperationType.DEPOSIT, null,
+                new BigDecimal("10.00"), new BigDecimal("1010.00"), OffsetDateTime.parse("2026-10-01T10:00:00Z"));
+
+        when(walletTransactionService.getTransactions(WALLET_ID, "abc", 1))
+                .thenReturn(new WalletTransactionPageDto(List.of(transaction), "next"));
+
+        mockMvc.perform(get("/api/v1/wallet/{wallet_uuid}/transactions", WALLET_ID)
+                        .param("cursor", "abc")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transactions[0].transactionId").value(7))
+                .andExpect(jsonPath("$.transactions[0].operationType").value("DEPOSIT"))
+                .andExpect(jsonPath("$.transactions[0].balance").value(1010.00))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test
+    void getTransactions_limitTooLarge_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/wallet/{wallet_uuid}/transactions", WALLET_ID)
+                        .param("limit", "501"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0].errorCode").value("VALIDATION_ERROR"))
+                .andExpect(jsonPath("$.errors[0].message").value("Размер страницы должен быть не больше 500"));
+    }
+
     @Test
     void getBalance_walletNotFound_shouldReturnBadRequest() throws Exception {
         UUID nonExistingId = UUID.fromString("11111111-1111-1111-1111-111111111110");
@@ -181,11 +341,11 @@ public class WalletControllerTest {
     public static Stream<Arguments> invalidRequestProvider() {
         return Stream.of(
                 Arguments.of(
-                        new WalletRequestDto(null, OperationType.DEPOSIT, new BigDecimal("100.00")),
+                        new WalletRequestDto(null, OperationType.DEPOSIT, Money.parse("100.00")),
                         "Поле \"id кошелька\" не может быть пустым"
                 ),
                 Arguments.of(
-                        new WalletRequestDto(WALLET_ID, null, new BigDecimal("100.00")),
+                        new WalletRequestDto(WALLET_ID, null, Money.parse("100.00")),
                         "Нужно выбрать тип операции"
                 ),
                 Arguments.of(
@@ -193,7 +353,7 @@ public class WalletControllerTest {
                         "Поле \"сумма\" не может быть пустым"
                 ),
                 Arguments.of(
-                        new WalletRequestDto(WALLET_ID, OperationType.DEPOSIT, new BigDecimal("-10")),
+                        new WalletRequestDto(WALLET_ID, OperationType.DEPOSIT, Money.parse("-10")),
                         "Сумма операции должна быть больше 0"
                 )
         );
@@ -0,0 +1,77 @@
+package org.example.wallet.api.controllers;
+
+import org.example.wallet.api.dtos.wallet.ExportFormat;
+import org.example.wallet.api.services.WalletExportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = WalletExportController.class)
+public class WalletExportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WalletExportService walletExportService;
+
+    private static final UUID WALLET_ID = UUID.fromString("11111111-1111-1111-1111-111111111111");
+
+    @TestConfiguration
+    static class MockConfig {
+        @Bean
+        public WalletExportService walletExportService() {
+            return mock(WalletExportService.class);
+        }
+    }
+
+    @Test
+    void export_defaultsToNdjson() throws Exception {
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(2).write(
+                    "{\"walletId\":\"11111111-1111-1111-1111-111111111111\",\"balance\":1000.00}\n"
+                            .getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(walletExportService).export(isNull(), eq(ExportFormat.NDJSON), any());
+
+        mockMvc.perform(get("/api/v1/wallets/export"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(
+                        "{\"walletId\":\"11111111-1111-1111-1111-111111111111\",\"balance\":1000.00}\n"));
+    }
+
+    @Test
+    void export_csvAfterCheckpoint_passesCursorToService() throws Exception {
+        mockMvc.perform(get("/api/v1/wallets/export")
+                        .param("format", "CSV")
+                        .param("after", WALLET_ID.toString()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"));
+
+        verify(walletExportService).export(eq(WALLET_ID), eq(ExportFormat.CSV), any());
+    }
+
+    @Test
+    void export_invalidCheckpoint_returnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/wallets/export")
+                        .param("after", "not-a-uuid"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0].errorCode").value("INVALID_TYPE"));
+    }
+}
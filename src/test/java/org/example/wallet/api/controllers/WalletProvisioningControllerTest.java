@@ -0,0 +1,112 @@
+package org.example.wallet.api.controllers;
+
+import org.example.wallet.api.dtos.wallet.WalletCreateRequestDto;
+import org.example.wallet.api.dtos.wallet.WalletCreateResponseDto;
+import org.example.wallet.api.dtos.wallet.WalletImportResultDto;
+import org.example.wallet.api.errors.ServerErrorCode;
+import org.example.wallet.api.errors.ServerException;
+import org.example.wallet.api.services.WalletProvisioningService;
+import org.example.wallet.money.Money;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = WalletProvisioningController.class)
+public class WalletProvisioningControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WalletProvisioningService walletProvisioningService;
+
+    private static final UUID WALLET_ID = UUID.fromString("33333333-3333-3333-3333-333333333333");
+
+    @TestConfiguration
+    static class MockConfig {
+        @Bean
+        public WalletProvisioningService walletProvisioningService() {
+            return mock(WalletProvisioningService.class);
+        }
+    }
+
+    @Test
+    void create_success_returnsCreatedWithLocation() throws Exception {
+        when(walletProvisioningService.create(new WalletCreateRequestDto(WALLET_ID, Money.parse("10.00"))))
+                .thenReturn(new WalletCreateResponseDto(WALLET_ID, Money.parse("10.00")));
+
+        mockMvc.perform(post("/api/v1/wallets")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"walletId": "%s", "balance": 10.00}
+                                """.formatted(WALLET_ID)))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Location", "/api/v1/wallet/" + WALLET_ID))
+                .andExpect(jsonPath("$.walletId").value(WALLET_ID.toString()))
+                .andExpect(jsonPath("$.balance").value(10.00));
+    }
+
+    @Test
+    void create_negativeBalance_returnsValidationError() throws Exception {
+        mockMvc.perform(post("/api/v1/wallets")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"walletId": "%s", "balance": -10.00}
+                                """.formatted(WALLET_ID)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0].errorCode").value("VALIDATION_ERROR"))
+                .andExpect(jsonPath("$.errors[0].message").value("Начальный баланс не может быть отрицательным"));
+    }
+
+    @Test
+    void create_existingWallet_returnsConflict() throws Exception {
+        when(walletProvisioningService.create(new WalletCreateRequestDto(null, null)))
+                .thenThrow(new ServerException(ServerErrorCode.WALLET_ALREADY_EXISTS, WALLET_ID.toString()));
+
+        mockMvc.perform(post("/api/v1/wallets")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.errors[0].errorCode").value("WALLET_ALREADY_EXISTS"));
+    }
+
+    @Test
+    void importCsv_returnsSummary() throws Exception {
+        when(walletProvisioningService.importCsv(any()))
+                .thenReturn(new WalletImportResultDto(3, 2, 1, 15));
+
+        mockMvc.perform(post("/api/v1/wallets/import")
+                        .contentType("text/csv")
+                        .content(WALLET_ID + ",10.00\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rows").value(3))
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.skipped").value(1));
+    }
+
+    @Test
+    void importNdjson_invalidRow_returnsBadRequest() throws Exception {
+        when(walletProvisioningService.importNdjson(any()))
+                .thenThrow(new ServerException(ServerErrorCode.INVALID_IMPORT_ROW, "1"));
+
+        mockMvc.perform(post("/api/v1/wallets/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"walletId\": \"bad\"}\n"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0].errorCode").value("INVALID_IMPORT_ROW"));
+    }
+}
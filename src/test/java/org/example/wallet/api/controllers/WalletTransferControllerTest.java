@@ -0,0 +1,101 @@
+package org.example.wallet.api.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.wallet.api.dtos.wallet.WalletTransferRequestDto;
+import org.example.wallet.api.dtos.wallet.WalletTransferResponseDto;
+import org.example.wallet.api.errors.ServerErrorCode;
+import org.example.wallet.api.errors.ServerException;
+import org.example.wallet.api.services.WalletTransferService;
+import org.example.wallet.money.Money;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = WalletTransferController.class)
+public class WalletTransferControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WalletTransferService walletTransferService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private static final UUID WALLET_ID_1 = UUID.fromString("11111111-1111-1111-1111-111111111111");
+    private static final UUID WALLET_ID_2 = UUID.fromString("22222222-2222-2222-2222-222222222222");
+
+    @TestConfiguration
+    static class MockConfig {
+        @Bean
+        public WalletTransferService walletTransferService() {
+            return mock(WalletTransferService.class);
+        }
+    }
+
+    @Test
+    void transfer_success() throws Exception {
+        WalletTransferRequestDto requestDto =
+                new WalletTransferRequestDto(WALLET_ID_1, WALLET_ID_2, Money.parse("100.00"));
+
+        when(walletTransferService.transfer(requestDto)).thenReturn(new WalletTransferResponseDto(
+                new BigDecimal("100.00"), new BigDecimal("900.00"), new BigDecimal("600.00")));
+
+        mockMvc.perform(post("/api/v1/wallet/transfer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDto)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.fromBalance").value(900.00))
+                .andExpect(jsonPath("$.toBalance").value(600.00));
+    }
+
+    @Test
+    void transfer_sameWallet_shouldReturnBadRequest() throws Exception {
+        WalletTransferRequestDto requestDto =
+                new WalletTransferRequestDto(WALLET_ID_1, WALLET_ID_1, Money.parse("100.00"));
+
+        when(walletTransferService.transfer(requestDto))
+                .thenThrow(new ServerException(ServerErrorCode.SAME_WALLET_TRANSFER));
+
+        mockMvc.perform(post("/api/v1/wallet/transfer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDto)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0].errorCode").value("SAME_WALLET_TRANSFER"));
+    }
+
+    @Test
+    void transfer_missingTarget_shouldReturnBadRequest() throws Exception {
+        WalletTransferRequestDto requestDto = new WalletTransferRequestDto(WALLET_ID_1, null, Money.parse("1.00"));
+
+        mockMvc.perform(post("/api/v1/wallet/transfer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDto)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0].message").value("Поле \"id кошелька зачисления\" не может быть пустым"));
+    }
+
+    @Test
+    void transfer_amountWithThreeDecimals_shouldReturnInvalidAmount() throws Exception {
+        mockMvc.perform(post("/api/v1/wallet/transfer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"fromWalletId\":\"" + WALLET_ID_1 + "\",\"toWalletId\":\"" + WALLET_ID_2
+                                + "\",\"amount\":0.004}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0].errorCode").value("INVALID_AMOUNT"));
+    }
+}
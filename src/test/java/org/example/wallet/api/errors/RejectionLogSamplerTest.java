@@ -0,0 +1,44 @@
+package org.example.wallet.api.errors;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RejectionLogSamplerTest {
+
+    @Test
+    void sample_allowsPermitsThenSuppresses() {
+        RejectionLogSampler sampler = new RejectionLogSampler(new RejectionLogProperties(2, Duration.ofHours(1)));
+
+        assertAll(
+                () -> assertEquals(0, sampler.sample(ServerErrorCode.INSUFFICIENT_FUNDS)),
+                () -> assertEquals(0, sampler.sample(ServerErrorCode.INSUFFICIENT_FUNDS)),
+                () -> assertEquals(RejectionLogSampler.SUPPRESSED, sampler.sample(ServerErrorCode.INSUFFICIENT_FUNDS)),
+                () -> assertEquals(0, sampler.sample(ServerErrorCode.WALLET_NOT_FOUND))
+        );
+    }
+
+    @Test
+    void sample_reportsSuppressedCountInNextWindow() throws InterruptedException {
+        RejectionLogSampler sampler = new RejectionLogSampler(new RejectionLogProperties(1, Duration.ofMillis(20)));
+
+        sampler.sample(ServerErrorCode.INSUFFICIENT_FUNDS);
+        sampler.sample(ServerErrorCode.INSUFFICIENT_FUNDS);
+        sampler.sample(ServerErrorCode.INSUFFICIENT_FUNDS);
+        Thread.sleep(30);
+
+        assertEquals(2, sampler.sample(ServerErrorCode.INSUFFICIENT_FUNDS));
+    }
+
+    @Test
+    void serverException_hasNoStackTrace() {
+        ServerException ex = new ServerException(ServerErrorCode.WALLET_NOT_FOUND, "id");
+
+        assertAll(
+                () -> assertEquals(0, ex.getStackTrace().length),
+                () -> assertEquals("Кошелек с UUID id не найден.", ex.getMessage())
+        );
+    }
+}
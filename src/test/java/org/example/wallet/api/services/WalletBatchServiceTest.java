@@ -0,0 +1,244 @@
+package org.example.wallet.api.services;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.wallet.api.dtos.wallet.BatchMode;
+import org.example.wallet.api.dtos.wallet.OperationType;
+import org.example.wallet.api.dtos.wallet.WalletBatchItemResultDto;
+import org.example.wallet.api.dtos.wallet.WalletRequestDto;
+import org.example.wallet.api.errors.ServerErrorCode;
+import org.example.wallet.api.errors.ServerException;
+import org.example.wallet.cache.BalanceCache;
+import org.example.wallet.engine.WalletEngine;
+import org.example.wallet.money.CurrencyProperties;
+import org.example.wallet.store.repo.WalletBatchRepository;
+import org.example.wallet.store.repo.WalletSlotRepository;
+import org.example.wallet.money.Money;
+import org.example.wallet.store.sql.SqlDialect;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.Currency;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@JdbcTest
+@Import(SqlDialect.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class WalletBatchServiceTest {
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SqlDialect dialect;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final BalanceCache balanceCache = mock(BalanceCache.class);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private WalletBatchService walletBatchService;
+
+    private static final UUID WALLET_ID_1 = UUID.fromString("11111111-1111-1111-1111-111111111111");
+    private static final UUID WALLET_ID_2 = UUID.fromString("22222222-2222-2222-2222-222222222222");
+    private static final UUID UNKNOWN_ID = UUID.fromString("99999999-9999-9999-9999-999999999999");
+
+    @BeforeEach
+    void setup() {
+        jdbcTemplate.update("DELETE FROM wallet_transaction");
+        jdbcTemplate.update("DELETE FROM wallet_slot");
+        jdbcTemplate.update("UPDATE wallet SET balance = 1000.00 WHERE wallet_id = ?", WALLET_ID_1);
+        jdbcTemplate.update("UPDATE wallet SET balance = 500.00 WHERE wallet_id = ?", WALLET_ID_2);
+        walletBatchService = newService(new WalletBatchRepository(jdbcTemplate, dialect), false);
+    }
+
+    @Test
+    void execute_bestEffort_appliesEachOperationInOrder() throws IOException {
+        List<WalletBatchItemResultDto> results = execute(BatchMode.BEST_EFFORT, List.of(
+                operation(WALLET_ID_2, OperationType.WITHDRAW, "300.00"),
+                operation(WALLET_ID_2, OperationType.WITHDRAW, "300.00"),
+                operation(WALLET_ID_2, OperationType.DEPOSIT, "200.00"),
+                operation(WALLET_ID_2, OperationType.WITHDRAW, "300.00"),
+                operation(UNKNOWN_ID, OperationType.DEPOSIT, "10.00")));
+
+        assertAll(
+                () -> assertEquals(5, results.size()),
+                () -> assertTrue(results.get(0).applied()),
+                () -> assertEquals(ServerErrorCode.INSUFFICIENT_FUNDS.name(), results.get(1).errorCode()),
+                () -> assertTrue(results.get(2).applied()),
+                () -> assertTrue(results.get(3).applied()),
+                () -> assertEquals(ServerErrorCode.WALLET_NOT_FOUND.name(), results.get(4).errorCode()),
+                () -> assertEquals(4, results.get(4).index()),
+                () -> assertEquals(Money.parse("100.00"), balance(WALLET_ID_2)),
+                () -> assertEquals(3, journalSize(WALLET_ID_2)),
+                () -> verify(balanceCache, times(3)).evict(WALLET_ID_2)
+        );
+    }
+
+    @Test
+    void execute_atomic_allApplied() throws IOException {
+        List<WalletBatchItemResultDto> results = execute(BatchMode.ATOMIC, List.of(
+                operation(WALLET_ID_1, OperationType.WITHDRAW, "100.00"),
+                operation(WALLET_ID_2, OperationType.DEPOSIT, "100.00"),
+                operation(WALLET_ID_1, OperationType.WITHDRAW, "50.00")));
+
+        assertAll(
+                () -> assertTrue(results.stream().allMatch(WalletBatchItemResultDto::applied)),
+                () -> assertEquals(Money.parse("850.00"), balance(WALLET_ID_1)),
+                () -> assertEquals(Money.parse("600.00"), balance(WALLET_ID_2))
+        );
+    }
+
+    @Test
+    void execute_atomic_rejectionRollsBackWholeBatch() throws IOException {
+        List<WalletBatchItemResultDto> results = execute(BatchMode.ATOMIC, List.of(
+                operation(WALLET_ID_1, OperationType.WITHDRAW, "100.00"),
+                operation(WALLET_ID_2, OperationType.DEPOSIT, "100.00"),
+                operation(WALLET_ID_2, OperationType.WITHDRAW, "5000.00")));
+
+        assertAll(
+                () -> assertEquals(ServerErrorCode.BATCH_ROLLED_BACK.name(), results.get(0).errorCode()),
+                () -> assertEquals(ServerErrorCode.BATCH_ROLLED_BACK.name(), results.get(1).errorCode()),
+                () -> assertEquals(ServerErrorCode.INSUFFICIENT_FUNDS.name(), results.get(2).errorCode()),
+                () -> assertEquals(Money.parse("1000.00"), balance(WALLET_ID_1)),
+                () -> assertEquals(Money.parse("500.00"), balance(WALLET_ID_2)),
+                () -> assertEquals(0, journalSize(WALLET_ID_1)),
+                () -> verify(balanceCache, never()).evict(any())
+        );
+    }
+
+    @Test
+    void execute_bestEffort_failureMidStreamEmitsAbortedItems() throws Exception {
+        WalletBatchRepository repository = spy(new WalletBatchRepository(jdbcTemplate, dialect));
+        doCallRealMethod().doThrow(new IllegalStateException("connection lost")).when(repository).applyAll(any());
+        walletBatchService = newService(repository, false);
+
+        List<WalletBatchItemResultDto> results = execute(BatchMode.BEST_EFFORT, List.of(
+                operation(WALLET_ID_1, OperationType.WITHDRAW, "100.00"),
+                operation(WALLET_ID_2, OperationType.DEPOSIT, "100.00"),
+                operation(WALLET_ID_1, OperationType.WITHDRAW, "50.00"),
+                operation(WALLET_ID_2, OperationType.DEPOSIT, "50.00"),
+                operation(WALLET_ID_1, OperationType.DEPOSIT, "10.00")));
+
+        assertAll(
+                () -> assertEquals(5, results.size()),
+                () -> assertTrue(results.get(0).applied()),
+                () -> assertTrue(results.get(1).applied()),
+                () -> assertEquals(ServerErrorCode.BATCH_ABORTED.name(), results.get(2).errorCode()),
+                () -> assertEquals(ServerErrorCode.BATCH_ABORTED.name(), results.get(4).errorCode()),
+                () -> assertEquals(4, results.get(4).index()),
+                () -> assertEquals(Money.parse("900.00"), balance(WALLET_ID_1)),
+                () -> assertEquals(Money.parse("600.00"), balance(WALLET_ID_2))
+        );
+    }
+
+    @Test
+    void execute_appliesChunkInWalletOrderAndReportsOriginalIndexes() throws Exception {
+        WalletBatchRepository repository = spy(new WalletBatchRepository(jdbcTemplate, dialect));
+        walletBatchService = newService(repository, false);
+
+        List<WalletBatchItemResultDto> results = execute(BatchMode.BEST_EFFORT, List.of(
+                operation(WALLET_ID_2, OperationType.WITHDRAW, "5000.00"),
+                operation(WALLET_ID_1, OperationType.DEPOSIT, "100.00")));
+
+        assertAll(
+                () -> verify(repository).applyAll(List.of(
+                        operation(WALLET_ID_1, OperationType.DEPOSIT, "100.00"),
+                        operation(WALLET_ID_2, OperationType.WITHDRAW, "5000.00"))),
+                () -> assertEquals(ServerErrorCode.INSUFFICIENT_FUNDS.name(), results.get(0).errorCode()),
+                () -> assertEquals(WALLET_ID_2, results.get(0).walletId()),
+                () -> assertTrue(results.get(1).applied())
+        );
+    }
+
+    @Test
+    void execute_withdrawCoveredBySlots_consolidatesAndApplies() throws Exception {
+        walletBatchService = newService(new WalletBatchRepository(jdbcTemplate, dialect), true);
+        jdbcTemplate.update("UPDATE wallet SET balance = 100.00 WHERE wallet_id = ?", WALLET_ID_2);
+        jdbcTemplate.update("INSERT INTO wallet_slot (wallet_id, slot, balance) VALUES (?, 0, 200.00), (?, 1, 200.00)",
+                WALLET_ID_2, WALLET_ID_2);
+
+        List<WalletBatchItemResultDto> results = execute(BatchMode.ATOMIC, List.of(
+                operation(WALLET_ID_2, OperationType.WITHDRAW, "450.00"),
+                operation(WALLET_ID_1, OperationType.WITHDRAW, "100.00")));
+
+        assertAll(
+                () -> assertTrue(results.stream().allMatch(WalletBatchItemResultDto::applied)),
+                () -> assertEquals(Money.parse("50.00"), balance(WALLET_ID_2)),
+                () -> assertEquals(0, jdbcTemplate.queryForObject(
+                        "SELECT COUNT(*) FROM wallet_slot WHERE wallet_id = ? AND balance <> 0", Integer.class, WALLET_ID_2))
+        );
+    }
+
+    @Test
+    void execute_engineWithoutSlots_doesNotConsolidate() throws Exception {
+        WalletSlotRepository slotRepository = spy(new WalletSlotRepository(jdbcTemplate, dialect));
+        walletBatchService = new WalletBatchService(new WalletBatchRepository(jdbcTemplate, dialect), slotRepository,
+                mock(WalletEngine.class), transactionManager, balanceCache, objectMapper,
+                new WalletBatchProperties(2, 10), new CurrencyProperties(Currency.getInstance("RUB")));
+
+        List<WalletBatchItemResultDto> results = execute(BatchMode.BEST_EFFORT, List.of(
+                operation(WALLET_ID_2, OperationType.WITHDRAW, "5000.00")));
+
+        assertAll(
+                () -> assertEquals(ServerErrorCode.INSUFFICIENT_FUNDS.name(), results.get(0).errorCode()),
+                () -> verify(slotRepository, never()).consolidate(any())
+        );
+    }
+
+    @Test
+    void validate_tooManyOperations_throws() {
+        List<WalletRequestDto> operations = Collections.nCopies(11,
+                operation(WALLET_ID_1, OperationType.DEPOSIT, "1.00"));
+
+        ServerException ex = assertThrows(ServerException.class, () -> walletBatchService.validate(operations));
+
+        assertEquals(ServerErrorCode.BATCH_TOO_LARGE, ex.getServerErrorCode());
+    }
+
+    private WalletBatchService newService(WalletBatchRepository repository, boolean splitsBalances) {
+        WalletEngine walletEngine = mock(WalletEngine.class);
+        when(walletEngine.splitsBalances()).thenReturn(splitsBalances);
+        return new WalletBatchService(repository, new WalletSlotRepository(jdbcTemplate, dialect), walletEngine,
+                transactionManager, balanceCache, objectMapper, new WalletBatchProperties(2, 10),
+                new CurrencyProperties(Currency.getInstance("RUB")));
+    }
+
+    private List<WalletBatchItemResultDto> execute(BatchMode mode, List<WalletRequestDto> operations) throws IOException {
+        if (mode == BatchMode.ATOMIC) {
+            return walletBatchService.executeAtomically(operations);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        walletBatchService.executeBestEffort(operations, out);
+        return objectMapper.readValue(out.toByteArray(), new TypeReference<>() {
+        });
+    }
+
+    private static WalletRequestDto operation(UUID walletId, OperationType type, String amount) {
+        return new WalletRequestDto(walletId, type, Money.parse(amount));
+    }
+
+    private Money balance(UUID walletId) {
+        return Money.of(jdbcTemplate.queryForObject("SELECT balance FROM wallet WHERE wallet_id = ?", BigDecimal.class, walletId));
+    }
+
+    private int journalSize(UUID walletId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM wallet_transaction WHERE wallet_id = ?",
+                Integer.class, walletId);
+    }
+}
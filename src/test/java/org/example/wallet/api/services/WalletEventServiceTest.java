@@ -0,0 +1,69 @@
+package org.example.wallet.api.services;
+
+import org.example.wallet.api.dtos.wallet.WalletBalanceDto;
+import org.example.wallet.money.Money;
+import org.example.wallet.outbox.BalanceEventListeners;
+import org.example.wallet.outbox.OutboxProperties;
+import org.example.wallet.outbox.WalletBalanceEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+public class WalletEventServiceTest {
+    private static final UUID WALLET_ID = UUID.fromString("11111111-1111-1111-1111-111111111111");
+
+    private final WalletService walletService = mock(WalletService.class);
+    private final BalanceEventListeners listeners = new BalanceEventListeners();
+    private final WalletEventService walletEventService = new WalletEventService(walletService, listeners,
+            new OutboxProperties(true, 500, Duration.ofMinutes(1), null));
+
+    @Test
+    void subscribe_eventDuringSnapshot_deliveredAfterSnapshot() throws Exception {
+        when(walletService.getBalance(WALLET_ID)).thenAnswer(invocation -> {
+            listeners.dispatch(List.of(new WalletBalanceEvent(7, WALLET_ID, "DEPOSIT", null,
+                    Money.parse("5.00"), Money.parse("105.00"), Instant.now())));
+            return new WalletBalanceDto(Money.parse("105.00"));
+        });
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new EventsController()).build();
+
+        MvcResult result = mockMvc.perform(get("/events").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        listeners.dispatch(List.of(new WalletBalanceEvent(8, WALLET_ID, "WITHDRAW", null,
+                Money.parse("1.00"), Money.parse("104.00"), Instant.now())));
+
+        String body = result.getResponse().getContentAsString();
+        int snapshot = body.indexOf("event:snapshot");
+        int buffered = body.indexOf("id:7");
+        int live = body.indexOf("id:8");
+        assertAll(
+                () -> assertTrue(snapshot >= 0, body),
+                () -> assertTrue(buffered > snapshot, body),
+                () -> assertTrue(live > buffered, body)
+        );
+    }
+
+    @RestController
+    private class EventsController {
+        @GetMapping("/events")
+        public SseEmitter events() {
+            return walletEventService.subscribe(WALLET_ID);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package org.example.wallet.api.services;
+
+import org.example.wallet.api.dtos.wallet.ExportFormat;
+import org.example.wallet.store.repo.WalletExportRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@JdbcTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class WalletExportServiceTest {
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private WalletExportService walletExportService;
+
+    private static final UUID CHECKPOINT = UUID.fromString("ffffffff-0000-0000-0000-000000000000");
+
+    @BeforeEach
+    void setup() {
+        jdbcTemplate.update("DELETE FROM wallet WHERE wallet_id > ?", CHECKPOINT);
+        for (int i = 1; i <= 5; i++) {
+            jdbcTemplate.update("INSERT INTO wallet (wallet_id, balance) VALUES (?, ?)", walletId(i), i * 10 + 0.5);
+        }
+        walletExportService = new WalletExportService(new WalletExportRepository(jdbcTemplate), transactionManager,
+                new WalletExportProperties(2, 1));
+    }
+
+    @Test
+    void export_ndjson_streamsAllPagesAfterCheckpoint() throws IOException {
+        assertEquals("""
+                {"walletId":"%s","balance":10.50}
+                {"walletId":"%s","balance":20.50}
+                {"walletId":"%s","balance":30.50}
+                {"walletId":"%s","balance":40.50}
+                {"walletId":"%s","balance":50.50}
+                """.formatted(walletId(1), walletId(2), walletId(3), walletId(4), walletId(5)),
+                export(CHECKPOINT, ExportFormat.NDJSON));
+    }
+
+    @Test
+    void export_csvResumedFromCheckpoint_skipsHeaderAndExportedRows() throws IOException {
+        assertEquals("""
+                %s,40.50
+                %s,50.50
+                """.formatted(walletId(4), walletId(5)),
+                export(walletId(3), ExportFormat.CSV));
+    }
+
+    @Test
+    void export_csvFromStart_writesHeaderAndEveryWallet() throws IOException {
+        String[] lines = export(null, ExportFormat.CSV).split("\n");
+
+        assertAll(
+                () -> assertEquals("wallet_id,balance", lines[0]),
+                () -> assertEquals(walletId(5) + ",50.50", lines[lines.length - 1]),
+                () -> assertEquals(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM wallet", Integer.class) + 1,
+                        lines.length)
+        );
+    }
+
+    @Test
+    void export_clientGone_propagatesIOException() {
+        OutputStream broken = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        assertThrows(IOException.class, () -> walletExportService.export(CHECKPOINT, ExportFormat.NDJSON, broken));
+    }
+
+    private String export(UUID after, ExportFormat format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        walletExportService.export(after, format, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static UUID walletId(int i) {
+        return UUID.fromString("ffffffff-0000-0000-0000-00000000000" + i);
+    }
+}
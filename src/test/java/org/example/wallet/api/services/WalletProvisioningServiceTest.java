@@ -0,0 +1,174 @@
+package org.example.wallet.api.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.wallet.api.dtos.wallet.WalletCreateRequestDto;
+import org.example.wallet.api.dtos.wallet.WalletCreateResponseDto;
+import org.example.wallet.api.dtos.wallet.WalletImportResultDto;
+import org.example.wallet.api.errors.ServerErrorCode;
+import org.example.wallet.api.errors.ServerException;
+import org.example.wallet.money.Money;
+import org.example.wallet.store.repo.WalletProvisioningRepository;
+import org.example.wallet.store.sql.SqlDialect;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@JdbcTest
+@Import(SqlDialect.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class WalletProvisioningServiceTest {
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SqlDialect dialect;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private WalletProvisioningService walletProvisioningService;
+
+    private static final UUID WALLET_ID_1 = UUID.fromString("11111111-1111-1111-1111-111111111111");
+    private static final UUID NEW_ID_1 = UUID.fromString("aaaaaaaa-0000-0000-0000-000000000001");
+    private static final UUID NEW_ID_2 = UUID.fromString("aaaaaaaa-0000-0000-0000-000000000002");
+    private static final UUID NEW_ID_3 = UUID.fromString("aaaaaaaa-0000-0000-0000-000000000003");
+
+    @BeforeEach
+    void setup() {
+        jdbcTemplate.update("DELETE FROM wallet WHERE wallet_id IN (?, ?, ?)", NEW_ID_1, NEW_ID_2, NEW_ID_3);
+        jdbcTemplate.update("UPDATE wallet SET balance = 1000.00 WHERE wallet_id = ?", WALLET_ID_1);
+        walletProvisioningService = new WalletProvisioningService(new WalletProvisioningRepository(jdbcTemplate, dialect),
+                transactionManager, new ObjectMapper(), new WalletProvisioningProperties(2, 2));
+    }
+
+    @Test
+    void create_withIdAndBalance_insertsWallet() {
+        WalletCreateResponseDto created = walletProvisioningService.create(
+                new WalletCreateRequestDto(NEW_ID_1, Money.parse("250.50")));
+
+        assertAll(
+                () -> assertEquals(NEW_ID_1, created.walletId()),
+                () -> assertEquals(Money.parse("250.50"), created.balance()),
+                () -> assertEquals(Money.parse("250.50"), balance(NEW_ID_1))
+        );
+    }
+
+    @Test
+    void create_withoutIdAndBalance_generatesIdWithZeroBalance() {
+        WalletCreateResponseDto created = walletProvisioningService.create(new WalletCreateRequestDto(null, null));
+
+        assertAll(
+                () -> assertNotNull(created.walletId()),
+                () -> assertEquals(Money.ZERO, created.balance()),
+                () -> assertEquals(Money.ZERO, balance(created.walletId()))
+        );
+    }
+
+    @Test
+    void create_existingWallet_throwsAlreadyExists() {
+        ServerException ex = assertThrows(ServerException.class,
+                () -> walletProvisioningService.create(new WalletCreateRequestDto(WALLET_ID_1, Money.ZERO)));
+
+        assertAll(
+                () -> assertEquals(ServerErrorCode.WALLET_ALREADY_EXISTS, ex.getServerErrorCode()),
+                () -> assertEquals(Money.parse("1000.00"), balance(WALLET_ID_1))
+        );
+    }
+
+    @Test
+    void importCsv_skipsHeaderBlankLinesAndExistingWallets() {
+        WalletImportResultDto result = walletProvisioningService.importCsv(stream("""
+                wallet_id,balance
+                %s,100.00
+
+                %s
+                %s,5
+                %s,1.5
+                """.formatted(NEW_ID_1, NEW_ID_2, WALLET_ID_1, NEW_ID_1)));
+
+        assertAll(
+                () -> assertEquals(4, result.rows()),
+                () -> assertEquals(2, result.created()),
+                () -> assertEquals(2, result.skipped()),
+                () -> assertEquals(Money.parse("100.00"), balance(NEW_ID_1)),
+                () -> assertEquals(Money.ZERO, balance(NEW_ID_2)),
+                () -> assertEquals(Money.parse("1000.00"), balance(WALLET_ID_1))
+        );
+    }
+
+    @Test
+    void importCsv_invalidRow_rollsBackWholeImport() {
+        ServerException ex = assertThrows(ServerException.class, () -> walletProvisioningService.importCsv(stream("""
+                %s,100.00
+                %s,100.00
+                %s,10.005
+                """.formatted(NEW_ID_1, NEW_ID_2, NEW_ID_3))));
+
+        assertAll(
+                () -> assertEquals(ServerErrorCode.INVALID_IMPORT_ROW, ex.getServerErrorCode()),
+                () -> assertEquals("Некорректная строка импорта № 3.", ex.getMessage()),
+                () -> assertEquals(0, count(NEW_ID_1, NEW_ID_2, NEW_ID_3))
+        );
+    }
+
+    @Test
+    void importNdjson_createsWallets() throws IOException {
+        WalletImportResultDto result = walletProvisioningService.importNdjson(stream("""
+                {"walletId": "%s", "balance": 10.00}
+                {"walletId": "%s"}
+                {"walletId": "%s", "balance": "0.01"}
+                """.formatted(NEW_ID_1, NEW_ID_2, NEW_ID_3)));
+
+        assertAll(
+                () -> assertEquals(3, result.rows()),
+                () -> assertEquals(3, result.created()),
+                () -> assertEquals(Money.parse("10.00"), balance(NEW_ID_1)),
+                () -> assertEquals(Money.ZERO, balance(NEW_ID_2)),
+                () -> assertEquals(Money.parse("0.01"), balance(NEW_ID_3))
+        );
+    }
+
+    @Test
+    void importNdjson_negativeBalance_throwsInvalidRow() {
+        ServerException ex = assertThrows(ServerException.class, () -> walletProvisioningService.importNdjson(stream("""
+                {"walletId": "%s", "balance": -1.00}
+                """.formatted(NEW_ID_1))));
+
+        assertAll(
+                () -> assertEquals(ServerErrorCode.INVALID_IMPORT_ROW, ex.getServerErrorCode()),
+                () -> assertEquals(0, count(NEW_ID_1))
+        );
+    }
+
+    private Money balance(UUID walletId) {
+        return Money.of(jdbcTemplate.queryForObject(
+                "SELECT balance FROM wallet WHERE wallet_id = ?", BigDecimal.class, walletId));
+    }
+
+    private int count(UUID... walletIds) {
+        int count = 0;
+        for (UUID walletId : walletIds) {
+            count += jdbcTemplate.queryForObject("SELECT COUNT(*) FROM wallet WHERE wallet_id = ?", Integer.class, walletId);
+        }
+        return count;
+    }
+
+    private static InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
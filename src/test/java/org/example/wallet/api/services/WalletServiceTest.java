@@ -1,60 +1,100 @@
 package org.example.wallet.api.services;
 
+import org.example.wallet.api.dtos.wallet.CurrencyBalanceDto;
 import org.example.wallet.api.dtos.wallet.OperationType;
 import org.example.wallet.api.dtos.wallet.WalletBalanceDto;
+import org.example.wallet.api.dtos.wallet.WalletBalancesDto;
 import org.example.wallet.api.dtos.wallet.WalletOperationResponseDto;
 import org.example.wallet.api.dtos.wallet.WalletRequestDto;
 import org.example.wallet.api.errors.ServerErrorCode;
 import org.example.wallet.api.errors.ServerException;
 import org.example.wallet.api.mappers.WalletMapper;
-import org.example.wallet.store.entities.Wallet;
-import org.example.wallet.store.repo.WalletRepository;
+import org.example.wallet.cache.BalanceCache;
+import org.example.wallet.coordinator.WalletOperationCoordinator;
+import org.example.wallet.engine.WalletEngine;
+import org.example.wallet.engine.WalletOperationResult;
+import org.example.wallet.idempotency.IdempotencyStore;
+import org.example.wallet.logging.WalletLogSampler;
+import org.example.wallet.metrics.WalletMetrics;
+import org.example.wallet.money.CurrencyProperties;
+import org.example.wallet.money.Money;
+import org.example.wallet.replica.ReplicaRouting;
+import org.example.wallet.store.repo.BalanceUpdate;
+import org.example.wallet.store.repo.WalletCurrencyRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 public class WalletServiceTest {
     @Mock
-    private WalletRepository walletRepository;
+    private WalletEngine walletEngine;
 
     @Mock
     private WalletMapper walletMapper;
 
+    @Mock
+    private BalanceCache balanceCache;
+
+    @Mock
+    private WalletOperationCoordinator operationCoordinator;
+
+    @Mock
+    private IdempotencyStore idempotencyStore;
+
+    @Mock
+    private WalletMetrics walletMetrics;
+
+    @Mock
+    private WalletLogSampler walletLogSampler;
+
+    @Mock
+    private ReplicaRouting replicaRouting;
+
+    @Mock
+    private WalletCurrencyRepository walletCurrencyRepository;
+
+    @Spy
+    private CurrencyProperties currencyProperties = new CurrencyProperties(Currency.getInstance("RUB"));
+
     @InjectMocks
     private WalletService walletService;
 
     private final UUID WALLET_ID = UUID.fromString("11111111-1111-1111-1111-111111111111");
     private WalletRequestDto withdrawDto;
     private WalletRequestDto depositDto;
-    private Wallet wallet;
 
     @BeforeEach
     void setup() {
-        withdrawDto = new WalletRequestDto(WALLET_ID, OperationType.WITHDRAW, new BigDecimal("100.00"));
-        depositDto = new WalletRequestDto(WALLET_ID, OperationType.DEPOSIT, new BigDecimal("200.00"));
-        wallet = new Wallet(WALLET_ID, new BigDecimal("500.00"));
+        withdrawDto = new WalletRequestDto(WALLET_ID, OperationType.WITHDRAW, Money.parse("100.00"));
+        depositDto = new WalletRequestDto(WALLET_ID, OperationType.DEPOSIT, Money.parse("200.00"));
     }
 
     @Test
     void doOperation_withdraw_success() {
         WalletOperationResponseDto responseDto =
-                new WalletOperationResponseDto("Списание", withdrawDto.amount());
+                new WalletOperationResponseDto("Списание", withdrawDto.amount(), Money.parse("400.00"));
 
-        when(walletRepository.findById(WALLET_ID)).thenReturn(Optional.of(wallet));
-        when(walletRepository.withdraw(WALLET_ID, withdrawDto.amount())).thenReturn(1);
-        when(walletMapper.toOperationResponseDto(withdrawDto))
+        when(walletEngine.apply(WALLET_ID, OperationType.WITHDRAW, withdrawDto.amount()))
+                .thenReturn(WalletOperationResult.success(Money.parse("400.00")));
+        when(walletMapper.toOperationResponseDto(withdrawDto, Money.parse("400.00")))
                 .thenReturn(responseDto);
 
         WalletOperationResponseDto result = walletService.doOperation(withdrawDto);
@@ -62,22 +102,24 @@ public class WalletServiceTest {
         assertAll("Withdraw operation",
                 () -> assertNotNull(result),
                 () -> assertEquals("Списание", result.description()),
-                () -> assertEquals(0, result.amount().compareTo(new BigDecimal("100.00")))
+                () -> assertEquals(0, result.amount().compareTo(Money.parse("100.00"))),
+                () -> assertEquals(0, result.balance().compareTo(Money.parse("400.00")))
         );
 
-        verify(walletRepository).findById(WALLET_ID);
-        verify(walletRepository).withdraw(WALLET_ID, withdrawDto.amount());
-        verify(walletMapper).toOperationResponseDto(withdrawDto);
+        verify(walletEngine).apply(WALLET_ID, OperationType.WITHDRAW, withdrawDto.amount());
+        verify(balanceCache).evict(WALLET_ID);
+        verify(walletMapper).toOperationResponseDto(withdrawDto, Money.parse("400.00"));
+        verify(walletMetrics).recordOperation(OperationType.WITHDRAW, null);
     }
 
     @Test
     void doOperation_deposit_success() {
         WalletOperationResponseDto responseDto =
-                new WalletOperationResponseDto("Пополнение", depositDto.amount());
+                new WalletOperationResponseDto("Пополнение", depositDto.amount(), Money.parse("700.00"));
 
-        when(walletRepository.findById(WALLET_ID)).thenReturn(Optional.of(wallet));
-        when(walletRepository.deposit(WALLET_ID, depositDto.amount())).thenReturn(1);
-        when(walletMapper.toOperationResponseDto(depositDto))
+        when(walletEngine.apply(WALLET_ID, OperationType.DEPOSIT, depositDto.amount()))
+                .thenReturn(WalletOperationResult.success(Money.parse("700.00")));
+        when(walletMapper.toOperationResponseDto(depositDto, Money.parse("700.00")))
                 .thenReturn(responseDto);
 
         WalletOperationResponseDto result = walletService.doOperation(depositDto);
@@ -85,71 +127,264 @@ public class WalletServiceTest {
         assertAll("Deposit operation",
                 () -> assertNotNull(result),
                 () -> assertEquals("Пополнение", result.description()),
-                () -> assertEquals(0, result.amount().compareTo(new BigDecimal("200.00")))
+                () -> assertEquals(0, result.amount().compareTo(Money.parse("200.00"))),
+                () -> assertEquals(0, result.balance().compareTo(Money.parse("700.00")))
         );
 
-        verify(walletRepository).findById(WALLET_ID);
-        verify(walletRepository).deposit(WALLET_ID, depositDto.amount());
-        verify(walletMapper).toOperationResponseDto(depositDto);
+        verify(walletEngine).apply(WALLET_ID, OperationType.DEPOSIT, depositDto.amount());
+        verify(balanceCache).evict(WALLET_ID);
+        verify(walletMapper).toOperationResponseDto(depositDto, Money.parse("700.00"));
     }
 
     @Test
     void doOperation_walletNotFound_throws() {
-        when(walletRepository.findById(WALLET_ID)).thenReturn(Optional.empty());
+        when(walletEngine.apply(WALLET_ID, OperationType.WITHDRAW, withdrawDto.amount()))
+                .thenReturn(WalletOperationResult.rejected(ServerErrorCode.WALLET_NOT_FOUND));
 
         ServerException ex = assertThrows(ServerException.class, () -> walletService.doOperation(withdrawDto));
 
         assertAll("Wallet not found exception",
                 () -> assertEquals(ServerErrorCode.WALLET_NOT_FOUND, ex.getServerErrorCode()),
-                () -> verify(walletRepository).findById(WALLET_ID),
-                () -> verify(walletRepository, never()).withdraw(any(), any()),
-                () -> verify(walletRepository, never()).deposit(any(), any())
+                () -> assertTrue(ex.getMessage().contains(WALLET_ID.toString())),
+                () -> verify(walletMapper, never()).toOperationResponseDto(any(), any())
         );
     }
 
     @Test
     void doOperation_insufficientFunds_throws() {
-        Wallet lowBalanceWallet = new Wallet(WALLET_ID, new BigDecimal("50"));
-
-        when(walletRepository.findById(WALLET_ID)).thenReturn(Optional.of(lowBalanceWallet));
-        when(walletRepository.withdraw(WALLET_ID, withdrawDto.amount())).thenReturn(0);
+        when(walletEngine.apply(WALLET_ID, OperationType.WITHDRAW, withdrawDto.amount()))
+                .thenReturn(WalletOperationResult.rejected(ServerErrorCode.INSUFFICIENT_FUNDS));
 
         ServerException ex = assertThrows(ServerException.class, () -> walletService.doOperation(withdrawDto));
 
         assertAll("Insufficient funds exception",
                 () -> assertEquals(ServerErrorCode.INSUFFICIENT_FUNDS, ex.getServerErrorCode()),
-                () -> verify(walletRepository).findById(WALLET_ID),
-                () -> verify(walletRepository).withdraw(WALLET_ID, withdrawDto.amount())
+                () -> verify(walletEngine).apply(WALLET_ID, OperationType.WITHDRAW, withdrawDto.amount()),
+                () -> verify(balanceCache, never()).evict(any()),
+                () -> verify(walletMetrics).recordOperation(OperationType.WITHDRAW, ServerErrorCode.INSUFFICIENT_FUNDS)
+        );
+    }
+
+    @Test
+    void doOperation_coordinatedEngine_runsThroughCoordinator() {
+        when(walletEngine.requiresCoordination(WALLET_ID)).thenReturn(true);
+        runCoordinatedOperations();
+        when(walletEngine.apply(WALLET_ID, OperationType.DEPOSIT, depositDto.amount()))
+                .thenReturn(WalletOperationResult.success(Money.parse("700.00")));
+
+        walletService.doOperation(depositDto);
+
+        verify(operationCoordinator).execute(eq(WALLET_ID), isNull(), eq(depositDto), any());
+        verify(walletEngine).apply(WALLET_ID, OperationType.DEPOSIT, depositDto.amount());
+    }
+
+    @Test
+    void doOperation_withIdempotencyKey_runsThroughStore() {
+        WalletOperationResponseDto responseDto =
+                new WalletOperationResponseDto("Пополнение", Money.parse("200.00"), Money.parse("700.00"));
+
+        when(walletEngine.joinsCallerTransaction()).thenReturn(true);
+        when(idempotencyStore.execute(eq("key-1"), eq(depositDto), eq(true), any()))
+                .thenReturn(WalletOperationResult.success(Money.parse("700.00")));
+        when(walletMapper.toOperationResponseDto(depositDto, Money.parse("700.00"))).thenReturn(responseDto);
+
+        WalletOperationResponseDto result = walletService.doOperation(depositDto, "key-1");
+
+        assertAll(
+                () -> assertEquals(responseDto, result),
+                () -> verify(walletEngine, never()).apply(any(), any(), any()),
+                () -> verify(balanceCache).evict(WALLET_ID)
+        );
+    }
+
+    @Test
+    void doOperation_idempotencyKeyReused_throws() {
+        when(idempotencyStore.execute(eq("key-1"), eq(withdrawDto), anyBoolean(), any()))
+                .thenReturn(WalletOperationResult.rejected(ServerErrorCode.IDEMPOTENCY_KEY_REUSED));
+
+        ServerException ex = assertThrows(ServerException.class,
+                () -> walletService.doOperation(withdrawDto, "key-1"));
+
+        assertEquals(ServerErrorCode.IDEMPOTENCY_KEY_REUSED, ex.getServerErrorCode());
+    }
+
+    @Test
+    void doOperation_walletBusy_throws() {
+        when(walletEngine.requiresCoordination(WALLET_ID)).thenReturn(true);
+        when(operationCoordinator.execute(eq(WALLET_ID), any(), any(), any()))
+                .thenReturn(WalletOperationResult.rejected(ServerErrorCode.WALLET_BUSY));
+
+        ServerException ex = assertThrows(ServerException.class, () -> walletService.doOperation(withdrawDto));
+
+        assertAll("Wallet busy exception",
+                () -> assertEquals(ServerErrorCode.WALLET_BUSY, ex.getServerErrorCode()),
+                () -> verify(walletEngine, never()).apply(any(), any(), any())
+        );
+    }
+
+    @Test
+    void doOperation_foreignCurrency_appliesToCurrencyBalance() {
+        Currency usd = Currency.getInstance("USD");
+        WalletRequestDto dto = new WalletRequestDto(WALLET_ID, OperationType.WITHDRAW, Money.parse("10.00"), usd);
+        runCoordinatedOperations();
+        when(walletCurrencyRepository.withdraw(WALLET_ID, usd, dto.amount()))
+                .thenReturn(new BalanceUpdate(true, Money.parse("90.00")));
+
+        walletService.doOperation(dto);
+
+        assertAll(
+                () -> verify(walletMapper).toOperationResponseDto(dto, Money.parse("90.00")),
+                () -> verify(walletEngine, never()).apply(any(), any(), any()),
+                () -> verify(operationCoordinator).execute(eq(WALLET_ID), isNull(), eq(dto), any()),
+                () -> verify(balanceCache, never()).evict(any())
+        );
+    }
+
+    @Test
+    void doOperation_foreignCurrencyWithoutBalance_throwsInsufficientFunds() {
+        Currency eur = Currency.getInstance("EUR");
+        WalletRequestDto dto = new WalletRequestDto(WALLET_ID, OperationType.WITHDRAW, Money.parse("10.00"), eur);
+        runCoordinatedOperations();
+        when(walletCurrencyRepository.withdraw(WALLET_ID, eur, dto.amount()))
+                .thenReturn(new BalanceUpdate(true, null));
+
+        ServerException ex = assertThrows(ServerException.class, () -> walletService.doOperation(dto));
+
+        assertEquals(ServerErrorCode.INSUFFICIENT_FUNDS, ex.getServerErrorCode());
+    }
+
+    @Test
+    void doOperation_currencyWithFinerScale_throwsUnsupportedCurrency() {
+        WalletRequestDto dto = new WalletRequestDto(WALLET_ID, OperationType.DEPOSIT, Money.parse("10.00"),
+                Currency.getInstance("KWD"));
+
+        ServerException ex = assertThrows(ServerException.class, () -> walletService.doOperation(dto));
+
+        assertAll(
+                () -> assertEquals(ServerErrorCode.UNSUPPORTED_CURRENCY, ex.getServerErrorCode()),
+                () -> verifyNoInteractions(walletCurrencyRepository)
+        );
+    }
+
+    @Test
+    void doOperation_currencyWithoutMinorUnits_throwsUnsupportedCurrency() {
+        WalletRequestDto dto = new WalletRequestDto(WALLET_ID, OperationType.DEPOSIT, Money.parse("10.00"),
+                Currency.getInstance("XXX"));
+
+        ServerException ex = assertThrows(ServerException.class, () -> walletService.doOperation(dto));
+
+        assertAll(
+                () -> assertEquals(ServerErrorCode.UNSUPPORTED_CURRENCY, ex.getServerErrorCode()),
+                () -> verifyNoInteractions(walletCurrencyRepository)
+        );
+    }
+
+    @Test
+    void doOperation_fractionalAmountInWholeUnitCurrency_throwsInvalidCurrencyAmount() {
+        WalletRequestDto dto = new WalletRequestDto(WALLET_ID, OperationType.DEPOSIT, Money.parse("10.50"),
+                Currency.getInstance("JPY"));
+
+        ServerException ex = assertThrows(ServerException.class, () -> walletService.doOperation(dto));
+
+        assertAll(
+                () -> assertEquals(ServerErrorCode.INVALID_CURRENCY_AMOUNT, ex.getServerErrorCode()),
+                () -> verifyNoInteractions(walletCurrencyRepository)
+        );
+    }
+
+    @Test
+    void doOperation_wholeAmountInWholeUnitCurrency_appliesToCurrencyBalance() {
+        Currency jpy = Currency.getInstance("JPY");
+        WalletRequestDto dto = new WalletRequestDto(WALLET_ID, OperationType.DEPOSIT, Money.parse("1500"), jpy);
+        runCoordinatedOperations();
+        when(walletCurrencyRepository.deposit(WALLET_ID, jpy, dto.amount()))
+                .thenReturn(new BalanceUpdate(true, Money.parse("1500")));
+
+        walletService.doOperation(dto);
+
+        verify(walletMapper).toOperationResponseDto(dto, Money.parse("1500"));
+    }
+
+    @Test
+    void doOperation_baseCurrency_usesEngine() {
+        WalletRequestDto dto = new WalletRequestDto(WALLET_ID, OperationType.DEPOSIT, Money.parse("200.00"),
+                Currency.getInstance("RUB"));
+        when(walletEngine.apply(WALLET_ID, OperationType.DEPOSIT, dto.amount()))
+                .thenReturn(WalletOperationResult.success(Money.parse("700.00")));
+
+        walletService.doOperation(dto);
+
+        assertAll(
+                () -> verify(balanceCache).evict(WALLET_ID),
+                () -> verifyNoInteractions(walletCurrencyRepository)
+        );
+    }
+
+    @Test
+    void getBalances_listsBaseBalanceFirst() {
+        when(walletEngine.findBalance(WALLET_ID)).thenReturn(Optional.of(Money.parse("500.00")));
+        when(walletCurrencyRepository.findBalances(WALLET_ID))
+                .thenReturn(List.of(new CurrencyBalanceDto("USD", Money.parse("12.50"))));
+
+        WalletBalancesDto result = walletService.getBalances(WALLET_ID);
+
+        assertEquals(List.of(new CurrencyBalanceDto("RUB", Money.parse("500.00")),
+                new CurrencyBalanceDto("USD", Money.parse("12.50"))), result.balances());
+    }
+
+    @Test
+    void getBalances_walletNotFound_throws() {
+        when(walletEngine.findBalance(WALLET_ID)).thenReturn(Optional.empty());
+
+        ServerException ex = assertThrows(ServerException.class, () -> walletService.getBalances(WALLET_ID));
+
+        assertAll(
+                () -> assertEquals(ServerErrorCode.WALLET_NOT_FOUND, ex.getServerErrorCode()),
+                () -> verifyNoInteractions(walletCurrencyRepository)
         );
     }
 
+    @BeforeEach
+    void readThroughCache() {
+        lenient().when(balanceCache.get(eq(WALLET_ID), any()))
+                .thenAnswer(invocation -> invocation.<Function<UUID, Optional<Money>>>getArgument(1).apply(WALLET_ID));
+    }
+
     @Test
     void getBalance_success() {
-        WalletBalanceDto balanceDto = new WalletBalanceDto(new BigDecimal("500.00"));
+        Money balance = Money.parse("500.00");
+        WalletBalanceDto balanceDto = new WalletBalanceDto(balance);
 
-        when(walletRepository.findById(WALLET_ID)).thenReturn(Optional.of(wallet));
-        when(walletMapper.toBalanceDto(wallet)).thenReturn(balanceDto);
+        when(walletEngine.findBalance(WALLET_ID)).thenReturn(Optional.of(balance));
+        when(walletMapper.toBalanceDto(balance)).thenReturn(balanceDto);
 
         WalletBalanceDto result = walletService.getBalance(WALLET_ID);
 
         assertAll("Get balance",
                 () -> assertNotNull(result),
-                () -> assertEquals(0, result.balance().compareTo(new BigDecimal("500.00"))),
-                () -> verify(walletRepository).findById(WALLET_ID),
-                () -> verify(walletMapper).toBalanceDto(wallet)
+                () -> assertEquals(0, result.balance().compareTo(Money.parse("500.00"))),
+                () -> verify(walletEngine).findBalance(WALLET_ID),
+                () -> verify(walletMapper).toBalanceDto(balance)
         );
     }
 
     @Test
     void getBalance_walletNotFound_throws() {
-        when(walletRepository.findById(WALLET_ID)).thenReturn(Optional.empty());
+        when(walletEngine.findBalance(WALLET_ID)).thenReturn(Optional.empty());
 
         ServerException ex = assertThrows(ServerException.class, () -> walletService.getBalance(WALLET_ID));
 
         assertAll("Wallet not found on balance request",
                 () -> assertEquals(ServerErrorCode.WALLET_NOT_FOUND, ex.getServerErrorCode()),
-                () -> verify(walletRepository).findById(WALLET_ID),
-                () -> verify(walletMapper, never()).toBalanceDto(any())
+                () -> verify(walletEngine).findBalance(WALLET_ID),
+                () -> verify(walletMapper, never()).toBalanceDto(any(Money.class)),
+                () -> verify(walletMetrics).recordBalance(ServerErrorCode.WALLET_NOT_FOUND)
         );
     }
+
+    private void runCoordinatedOperations() {
+        when(operationCoordinator.execute(eq(WALLET_ID), any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<BiFunction<Object, Object, WalletOperationResult>>getArgument(3)
+                        .apply(invocation.getArgument(1), invocation.getArgument(2)));
+    }
 }
@@ -0,0 +1,81 @@
+package org.example.wallet.api.services;
+
+import org.example.wallet.api.dtos.wallet.OperationType;
+import org.example.wallet.api.dtos.wallet.WalletTransactionDto;
+import org.example.wallet.api.dtos.wallet.WalletTransactionPageDto;
+import org.example.wallet.api.errors.ServerErrorCode;
+import org.example.wallet.api.errors.ServerException;
+import org.example.wallet.store.repo.WalletRepository;
+import org.example.wallet.store.repo.WalletTransactionRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class WalletTransactionServiceTest {
+    @Mock
+    private WalletTransactionRepository walletTransactionRepository;
+
+    @Mock
+    private WalletRepository walletRepository;
+
+    @InjectMocks
+    private WalletTransactionService walletTransactionService;
+
+    private static final UUID WALLET_ID = UUID.fromString("11111111-1111-1111-1111-111111111111");
+    private static final OffsetDateTime NOW = OffsetDateTime.parse("2026-10-01T10:00:00.123456Z");
+
+    @Test
+    void getTransactions_morePages_returnsCursorOfLastItem() {
+        when(walletTransactionRepository.findFirstPage(WALLET_ID, 3))
+                .thenReturn(List.of(transaction(5), transaction(4), transaction(3)));
+        when(walletTransactionRepository.findPageBefore(WALLET_ID, NOW, 4, 3))
+                .thenReturn(List.of(transaction(3)));
+
+        WalletTransactionPageDto first = walletTransactionService.getTransactions(WALLET_ID, null, 2);
+        WalletTransactionPageDto second = walletTransactionService.getTransactions(WALLET_ID, first.nextCursor(), 2);
+
+        assertAll(
+                () -> assertEquals(List.of(transaction(5), transaction(4)), first.transactions()),
+                () -> assertNotNull(first.nextCursor()),
+                () -> assertEquals(List.of(transaction(3)), second.transactions()),
+                () -> assertNull(second.nextCursor())
+        );
+    }
+
+    @Test
+    void getTransactions_walletNotFound_throws() {
+        when(walletTransactionRepository.findFirstPage(WALLET_ID, 51)).thenReturn(List.of());
+        when(walletRepository.existsById(WALLET_ID)).thenReturn(false);
+
+        ServerException ex = assertThrows(ServerException.class,
+                () -> walletTransactionService.getTransactions(WALLET_ID, null, 50));
+
+        assertEquals(ServerErrorCode.WALLET_NOT_FOUND, ex.getServerErrorCode());
+    }
+
+    @Test
+    void getTransactions_invalidCursor_throws() {
+        ServerException ex = assertThrows(ServerException.class,
+                () -> walletTransactionService.getTransactions(WALLET_ID, "not-a-cursor", 50));
+
+        assertAll(
+                () -> assertEquals(ServerErrorCode.INVALID_CURSOR, ex.getServerErrorCode()),
+                () -> verifyNoInteractions(walletTransactionRepository)
+        );
+    }
+
+    private static WalletTransactionDto transaction(long id) {
+        return new WalletTransactionDto(id, OperationType.DEPOSIT, null, BigDecimal.TEN, BigDecimal.TEN, NOW);
+    }
+}
@@ -0,0 +1,115 @@
+package org.example.wallet.api.services;
+
+import org.example.wallet.api.dtos.wallet.WalletTransferRequestDto;
+import org.example.wallet.api.dtos.wallet.WalletTransferResponseDto;
+import org.example.wallet.api.errors.ServerErrorCode;
+import org.example.wallet.api.errors.ServerException;
+import org.example.wallet.cache.BalanceCache;
+import org.example.wallet.store.repo.TransferUpdate;
+import org.example.wallet.store.repo.WalletSlotRepository;
+import org.example.wallet.store.repo.WalletTransferRepository;
+import org.example.wallet.money.Money;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class WalletTransferServiceTest {
+    @Mock
+    private WalletTransferRepository walletTransferRepository;
+
+    @Mock
+    private WalletSlotRepository walletSlotRepository;
+
+    @Mock
+    private BalanceCache balanceCache;
+
+    @InjectMocks
+    private WalletTransferService walletTransferService;
+
+    private static final UUID WALLET_ID_1 = UUID.fromString("11111111-1111-1111-1111-111111111111");
+    private static final UUID WALLET_ID_2 = UUID.fromString("22222222-2222-2222-2222-222222222222");
+    private static final Money AMOUNT = Money.parse("100.00");
+
+    @Test
+    void transfer_success() {
+        when(walletTransferRepository.transfer(WALLET_ID_1, WALLET_ID_2, AMOUNT.toBigDecimal()))
+                .thenReturn(new TransferUpdate(true, true, new BigDecimal("900.00"), new BigDecimal("600.00")));
+
+        WalletTransferResponseDto result = walletTransferService.transfer(
+                new WalletTransferRequestDto(WALLET_ID_1, WALLET_ID_2, AMOUNT));
+
+        assertAll(
+                () -> assertEquals(new WalletTransferResponseDto(new BigDecimal("100.00"),
+                        new BigDecimal("900.00"), new BigDecimal("600.00")), result),
+                () -> verify(balanceCache).evict(WALLET_ID_1),
+                () -> verify(balanceCache).evict(WALLET_ID_2)
+        );
+    }
+
+    @Test
+    void transfer_targetNotFound_throws() {
+        when(walletTransferRepository.transfer(WALLET_ID_1, WALLET_ID_2, AMOUNT.toBigDecimal()))
+                .thenReturn(new TransferUpdate(true, false, null, null));
+
+        ServerException ex = assertThrows(ServerException.class, () -> walletTransferService.transfer(
+                new WalletTransferRequestDto(WALLET_ID_1, WALLET_ID_2, AMOUNT)));
+
+        assertAll(
+                () -> assertEquals(ServerErrorCode.WALLET_NOT_FOUND, ex.getServerErrorCode()),
+                () -> assertTrue(ex.getMessage().contains(WALLET_ID_2.toString())),
+                () -> verify(balanceCache, never()).evict(any())
+        );
+    }
+
+    @Test
+    void transfer_insufficientFunds_throws() {
+        when(walletTransferRepository.transfer(WALLET_ID_1, WALLET_ID_2, AMOUNT.toBigDecimal()))
+                .thenReturn(new TransferUpdate(true, true, null, null));
+        when(walletSlotRepository.consolidate(WALLET_ID_1)).thenReturn(Money.ZERO);
+
+        ServerException ex = assertThrows(ServerException.class, () -> walletTransferService.transfer(
+                new WalletTransferRequestDto(WALLET_ID_1, WALLET_ID_2, AMOUNT)));
+
+        assertAll(
+                () -> assertEquals(ServerErrorCode.INSUFFICIENT_FUNDS, ex.getServerErrorCode()),
+                () -> verify(walletTransferRepository).transfer(WALLET_ID_1, WALLET_ID_2, AMOUNT.toBigDecimal())
+        );
+    }
+
+    @Test
+    void transfer_fundsInSlots_consolidatesAndRetries() {
+        when(walletTransferRepository.transfer(WALLET_ID_1, WALLET_ID_2, AMOUNT.toBigDecimal()))
+                .thenReturn(new TransferUpdate(true, true, null, null))
+                .thenReturn(new TransferUpdate(true, true, new BigDecimal("50.00"), new BigDecimal("600.00")));
+        when(walletSlotRepository.consolidate(WALLET_ID_1)).thenReturn(Money.parse("120.00"));
+
+        WalletTransferResponseDto result = walletTransferService.transfer(
+                new WalletTransferRequestDto(WALLET_ID_1, WALLET_ID_2, AMOUNT));
+
+        assertAll(
+                () -> assertEquals(new BigDecimal("50.00"), result.fromBalance()),
+                () -> verify(walletTransferRepository, times(2)).transfer(WALLET_ID_1, WALLET_ID_2, AMOUNT.toBigDecimal())
+        );
+    }
+
+    @Test
+    void transfer_sameWallet_throws() {
+        ServerException ex = assertThrows(ServerException.class, () -> walletTransferService.transfer(
+                new WalletTransferRequestDto(WALLET_ID_1, WALLET_ID_1, AMOUNT)));
+
+        assertAll(
+                () -> assertEquals(ServerErrorCode.SAME_WALLET_TRANSFER, ex.getServerErrorCode()),
+                () -> verifyNoInteractions(walletTransferRepository)
+        );
+    }
+}
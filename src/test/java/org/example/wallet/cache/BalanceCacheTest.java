@@ -0,0 +1,88 @@
+package org.example.wallet.cache;
+
+import org.example.wallet.money.Money;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BalanceCacheTest {
+    private static final UUID WALLET_ID = UUID.fromString("11111111-1111-1111-1111-111111111111");
+    private static final UUID UNKNOWN_ID = UUID.fromString("99999999-9999-9999-9999-999999999999");
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Function<UUID, Optional<Money>> loader = id -> {
+        loads.incrementAndGet();
+        return WALLET_ID.equals(id) ? Optional.of(Money.parse("500.00")) : Optional.empty();
+    };
+
+    @Test
+    void get_secondReadServedFromCache() {
+        BalanceCache cache = new BalanceCache(properties(true, 10), new LocalBalanceInvalidationTransport());
+
+        cache.get(WALLET_ID, loader);
+        Optional<Money> balance = cache.get(WALLET_ID, loader);
+
+        assertAll(
+                () -> assertEquals(Optional.of(Money.parse("500.00")), balance),
+                () -> assertEquals(1, loads.get()),
+                () -> assertEquals(1, cache.stats().hitCount()),
+                () -> assertEquals(1, cache.stats().missCount())
+        );
+    }
+
+    @Test
+    void get_missingWalletNotCached() {
+        BalanceCache cache = new BalanceCache(properties(true, 10), new LocalBalanceInvalidationTransport());
+
+        assertTrue(cache.get(UNKNOWN_ID, loader).isEmpty());
+        assertTrue(cache.get(UNKNOWN_ID, loader).isEmpty());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void evict_forcesReload() {
+        BalanceCache cache = new BalanceCache(properties(true, 10), new LocalBalanceInvalidationTransport());
+
+        cache.get(WALLET_ID, loader);
+        cache.evict(WALLET_ID);
+        cache.get(WALLET_ID, loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void evict_propagatesThroughTransportToOtherNodes() {
+        LocalBalanceInvalidationTransport transport = new LocalBalanceInvalidationTransport();
+        BalanceCache writer = new BalanceCache(properties(true, 10), transport);
+        BalanceCache reader = new BalanceCache(properties(true, 10), transport);
+
+        reader.get(WALLET_ID, loader);
+        writer.evict(WALLET_ID);
+        reader.get(WALLET_ID, loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void disabled_alwaysLoads() {
+        BalanceCache cache = new BalanceCache(properties(false, 10), new LocalBalanceInvalidationTransport());
+
+        cache.get(WALLET_ID, loader);
+        cache.get(WALLET_ID, loader);
+
+        assertAll(
+                () -> assertEquals(2, loads.get()),
+                () -> assertEquals(0, cache.stats().requestCount())
+        );
+    }
+
+    private static BalanceCacheProperties properties(boolean enabled, long maxSize) {
+        return new BalanceCacheProperties(enabled, maxSize, Duration.ofMinutes(1));
+    }
+}
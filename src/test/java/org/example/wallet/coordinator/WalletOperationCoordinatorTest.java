@@ -0,0 +1,123 @@
+package org.example.wallet.coordinator;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.wallet.api.errors.ServerErrorCode;
+import org.example.wallet.engine.WalletOperationResult;
+import org.example.wallet.money.Money;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WalletOperationCoordinatorTest {
+    private static final UUID WALLET_ID = UUID.fromString("11111111-1111-1111-1111-111111111111");
+    private static final WalletOperationResult OK = WalletOperationResult.success(Money.ofMinor(100));
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void execute_sameWallet_neverRunsConcurrently() throws Exception {
+        WalletOperationCoordinator coordinator = coordinator(16, 64, Duration.ofSeconds(5));
+        AtomicInteger inside = new AtomicInteger();
+        AtomicInteger maxInside = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 40; i++) {
+            executor.submit(() -> coordinator.execute(WALLET_ID, () -> {
+                maxInside.accumulateAndGet(inside.incrementAndGet(), Math::max);
+                Thread.onSpinWait();
+                inside.decrementAndGet();
+                return OK;
+            }));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertAll(
+                () -> assertEquals(1, maxInside.get()),
+                () -> assertEquals(40, meterRegistry.get("wallet.coordinator.wait").timer().count())
+        );
+    }
+
+    @Test
+    void execute_queueFull_rejectsFast() throws Exception {
+        WalletOperationCoordinator coordinator = coordinator(1, 1, Duration.ofSeconds(5));
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<WalletOperationResult> holder = executor.submit(() -> coordinator.execute(WALLET_ID, () -> {
+            holding.countDown();
+            awaitQuietly(release);
+            return OK;
+        }));
+        holding.await();
+
+        ExecutorService waiters = Executors.newSingleThreadExecutor();
+        Future<WalletOperationResult> queued = waiters.submit(() -> coordinator.execute(WALLET_ID, () -> OK));
+        while (meterRegistry.get("wallet.coordinator.queue.depth").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        WalletOperationResult rejected = coordinator.execute(WALLET_ID, () -> OK);
+        release.countDown();
+
+        assertAll(
+                () -> assertEquals(ServerErrorCode.WALLET_BUSY, rejected.errorCode()),
+                () -> assertTrue(holder.get().isSuccess()),
+                () -> assertTrue(queued.get().isSuccess()),
+                () -> assertEquals(1.0, meterRegistry.get("wallet.coordinator.rejected").counter().count())
+        );
+        executor.shutdown();
+        waiters.shutdown();
+    }
+
+    @Test
+    void execute_waitTimeout_rejected() throws Exception {
+        WalletOperationCoordinator coordinator = coordinator(1, 8, Duration.ofMillis(50));
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        executor.submit(() -> coordinator.execute(WALLET_ID, () -> {
+            holding.countDown();
+            awaitQuietly(release);
+            return OK;
+        }));
+        holding.await();
+
+        WalletOperationResult result = coordinator.execute(WALLET_ID, () -> OK);
+        release.countDown();
+        executor.shutdown();
+
+        assertEquals(ServerErrorCode.WALLET_BUSY, result.errorCode());
+    }
+
+    @Test
+    void execute_disabled_runsDirectly() {
+        WalletOperationCoordinator coordinator = new WalletOperationCoordinator(
+                new CoordinatorProperties(false, 1, 0, Duration.ZERO), meterRegistry);
+
+        assertTrue(coordinator.execute(WALLET_ID, () -> OK).isSuccess());
+    }
+
+    private WalletOperationCoordinator coordinator(int stripes, int queueDepth, Duration maxWait) {
+        return new WalletOperationCoordinator(new CoordinatorProperties(true, stripes, queueDepth, maxWait), meterRegistry);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package org.example.wallet.engine;
+
+import org.example.wallet.api.dtos.wallet.OperationType;
+import org.example.wallet.api.errors.ServerErrorCode;
+import org.example.wallet.metrics.WalletMetrics;
+import org.example.wallet.store.repo.BalanceUpdate;
+import org.example.wallet.store.repo.WalletRepository;
+import org.example.wallet.money.Money;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SqlWalletEngineTest {
+    @Mock
+    private WalletRepository walletRepository;
+
+    @Mock
+    private WalletMetrics walletMetrics;
+
+    @InjectMocks
+    private SqlWalletEngine sqlWalletEngine;
+
+    private static final UUID WALLET_ID = UUID.fromString("11111111-1111-1111-1111-111111111111");
+    private static final Money AMOUNT = Money.parse("100.00");
+
+    @Test
+    void apply_withdraw_success() {
+        when(walletRepository.withdrawReturningBalance(WALLET_ID, AMOUNT))
+                .thenReturn(new BalanceUpdate(true, Money.parse("400.00")));
+
+        WalletOperationResult result = sqlWalletEngine.apply(WALLET_ID, OperationType.WITHDRAW, AMOUNT);
+
+        assertAll(
+                () -> assertTrue(result.isSuccess()),
+                () -> assertEquals(Money.parse("400.00"), result.balance()),
+                () -> verify(walletRepository, never()).findBalanceById(any()),
+                () -> verify(walletRepository, never()).depositReturningBalance(any(), any())
+        );
+    }
+
+    @Test
+    void apply_deposit_success() {
+        when(walletRepository.depositReturningBalance(WALLET_ID, AMOUNT))
+                .thenReturn(new BalanceUpdate(true, Money.parse("600.00")));
+
+        WalletOperationResult result = sqlWalletEngine.apply(WALLET_ID, OperationType.DEPOSIT, AMOUNT);
+
+        assertAll(
+                () -> assertTrue(result.isSuccess()),
+                () -> assertEquals(Money.parse("600.00"), result.balance()),
+                () -> verify(walletRepository, never()).findBalanceById(any()),
+                () -> verify(walletRepository, never()).withdrawReturningBalance(any(), any())
+        );
+    }
+
+    @Test
+    void apply_walletNotFound_rejected() {
+        when(walletRepository.withdrawReturningBalance(WALLET_ID, AMOUNT))
+                .thenReturn(new BalanceUpdate(false, null));
+
+        WalletOperationResult result = sqlWalletEngine.apply(WALLET_ID, OperationType.WITHDRAW, AMOUNT);
+
+        assertEquals(ServerErrorCode.WALLET_NOT_FOUND, result.errorCode());
+    }
+
+    @Test
+    void apply_insufficientFunds_rejected() {
+        when(walletRepository.withdrawReturningBalance(WALLET_ID, AMOUNT))
+                .thenReturn(new BalanceUpdate(true, null));
+
+        WalletOperationResult result = sqlWalletEngine.apply(WALLET_ID, OperationType.WITHDRAW, AMOUNT);
+
+        assertEquals(ServerErrorCode.INSUFFICIENT_FUNDS, result.errorCode());
+    }
+
+    @Test
+    void findBalance_returnsWalletBalance() {
+        when(walletRepository.findBalanceById(WALLET_ID))
+                .thenReturn(Optional.of(Money.parse("500.00")));
+
+        assertEquals(Optional.of(Money.parse("500.00")), sqlWalletEngine.findBalance(WALLET_ID));
+    }
+}
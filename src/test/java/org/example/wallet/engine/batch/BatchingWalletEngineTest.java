@@ -0,0 +1,159 @@
+package org.example.wallet.engine.batch;
+
+import org.example.wallet.api.dtos.wallet.OperationType;
+import org.example.wallet.api.errors.ServerErrorCode;
+import org.example.wallet.engine.WalletEngineProperties;
+import org.example.wallet.engine.WalletOperationResult;
+import org.example.wallet.money.Money;
+import org.example.wallet.store.sql.SqlDialect;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
+
+@JdbcTest
+@Import(SqlDialect.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class BatchingWalletEngineTest {
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SqlDialect dialect;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private BatchingWalletEngine engine;
+
+    private static final UUID WALLET_ID_1 = UUID.fromString("11111111-1111-1111-1111-111111111111");
+    private static final UUID WALLET_ID_2 = UUID.fromString("22222222-2222-2222-2222-222222222222");
+    private static final UUID UNKNOWN_ID = UUID.fromString("99999999-9999-9999-9999-999999999999");
+
+    @BeforeEach
+    void setup() {
+        jdbcTemplate.update("UPDATE wallet SET balance = 1000.00 WHERE wallet_id = ?", WALLET_ID_1);
+        jdbcTemplate.update("UPDATE wallet SET balance = 500.00 WHERE wallet_id = ?", WALLET_ID_2);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        engine.stop();
+    }
+
+    @Test
+    void submit_sameWalletInOneBatch_appliedInArrivalOrder() {
+        start(Duration.ofMillis(200));
+
+        CompletableFuture<WalletOperationResult> first = engine.submit(WALLET_ID_2, OperationType.WITHDRAW, Money.parse("300.00"));
+        CompletableFuture<WalletOperationResult> second = engine.submit(WALLET_ID_2, OperationType.WITHDRAW, Money.parse("300.00"));
+        CompletableFuture<WalletOperationResult> third = engine.submit(WALLET_ID_2, OperationType.DEPOSIT, Money.parse("200.00"));
+        CompletableFuture<WalletOperationResult> fourth = engine.submit(WALLET_ID_2, OperationType.WITHDRAW, Money.parse("300.00"));
+        CompletableFuture<WalletOperationResult> unknown = engine.submit(UNKNOWN_ID, OperationType.DEPOSIT, Money.ofMinor(1000));
+        CompletableFuture<WalletOperationResult> other = engine.submit(WALLET_ID_1, OperationType.DEPOSIT, Money.parse("0.50"));
+
+        assertAll(
+                () -> assertTrue(first.join().isSuccess()),
+                () -> assertEquals(ServerErrorCode.INSUFFICIENT_FUNDS, second.join().errorCode()),
+                () -> assertTrue(third.join().isSuccess()),
+                () -> assertTrue(fourth.join().isSuccess()),
+                () -> assertEquals(ServerErrorCode.WALLET_NOT_FOUND, unknown.join().errorCode()),
+                () -> assertTrue(other.join().isSuccess()),
+                () -> assertEquals(Optional.of(Money.parse("100.00")), engine.findBalance(WALLET_ID_2)),
+                () -> assertEquals(Optional.of(Money.parse("1000.50")), engine.findBalance(WALLET_ID_1))
+        );
+    }
+
+    @Test
+    void apply_concurrentWithdrawals_neverOverdraw() throws Exception {
+        start(Duration.ofNanos(500_000));
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<WalletOperationResult>> futures = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            futures.add(executor.submit(() -> engine.apply(WALLET_ID_2, OperationType.WITHDRAW, Money.parse("100.00"))));
+        }
+        int succeeded = 0;
+        for (Future<WalletOperationResult> future : futures) {
+            if (future.get().isSuccess()) {
+                succeeded++;
+            }
+        }
+        executor.shutdown();
+
+        assertEquals(5, succeeded);
+        assertEquals(Optional.of(Money.parse("0.00")), engine.findBalance(WALLET_ID_2));
+    }
+
+    @Test
+    void submit_failedGroupCommit_failsOnlyOffendingOperation() {
+        BatchStore store = spy(new BatchStore(jdbcTemplate, dialect));
+        doAnswer(invocation -> {
+            if (invocation.<Map<UUID, Money>>getArgument(0).containsKey(WALLET_ID_1)) {
+                throw new DataIntegrityViolationException("rejected by database");
+            }
+            return invocation.callRealMethod();
+        }).when(store).updateBalances(any());
+        start(Duration.ofMillis(200), store);
+
+        CompletableFuture<WalletOperationResult> healthy = engine.submit(WALLET_ID_2, OperationType.WITHDRAW, Money.parse("100.00"));
+        CompletableFuture<WalletOperationResult> offending = engine.submit(WALLET_ID_1, OperationType.DEPOSIT, Money.parse("1.00"));
+
+        assertAll(
+                () -> assertTrue(healthy.join().isSuccess()),
+                () -> assertInstanceOf(DataIntegrityViolationException.class,
+                        assertThrows(CompletionException.class, offending::join).getCause()),
+                () -> assertEquals(Optional.of(Money.parse("400.00")), engine.findBalance(WALLET_ID_2)),
+                () -> assertEquals(Optional.of(Money.parse("1000.00")), engine.findBalance(WALLET_ID_1))
+        );
+    }
+
+    @Test
+    void submit_afterStop_failsImmediately() throws Exception {
+        start(Duration.ofNanos(500_000));
+        engine.stop();
+
+        CompletionException ex = assertThrows(CompletionException.class,
+                () -> engine.apply(WALLET_ID_1, OperationType.DEPOSIT, Money.parse("1.00")));
+
+        assertInstanceOf(IllegalStateException.class, ex.getCause());
+    }
+
+    private void start(Duration maxWait) {
+        start(maxWait, new BatchStore(jdbcTemplate, dialect));
+    }
+
+    private void start(Duration maxWait, BatchStore store) {
+        WalletEngineProperties properties = new WalletEngineProperties("batch",
+                new WalletEngineProperties.Ledger(1, Path.of("ledger"), false, Duration.ofMillis(200), 1000, Duration.ofSeconds(5), 100000),
+                new WalletEngineProperties.Batch(maxWait, 128, 2, Duration.ofSeconds(5)),
+                new WalletEngineProperties.Sharded(16, 500, Duration.ofSeconds(1), 5));
+        engine = new BatchingWalletEngine(properties, jdbcTemplate, transactionManager, store);
+        engine.start();
+    }
+}
@@ -0,0 +1,222 @@
+package org.example.wallet.engine.ledger;
+
+import org.example.wallet.api.dtos.wallet.OperationType;
+import org.example.wallet.api.errors.ServerErrorCode;
+import org.example.wallet.engine.WalletEngineProperties;
+import org.example.wallet.engine.WalletOperationResult;
+import org.example.wallet.money.Money;
+import org.example.wallet.store.sql.SqlDialect;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.spy;
+
+@JdbcTest
+@Import(SqlDialect.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class LedgerWalletEngineTest {
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SqlDialect dialect;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    private Path logDir;
+
+    private LedgerWalletEngine engine;
+
+    private static final UUID WALLET_ID = UUID.fromString("22222222-2222-2222-2222-222222222222");
+    private static final UUID OTHER_ID = UUID.fromString("11111111-1111-1111-1111-111111111111");
+    private static final UUID UNKNOWN_ID = UUID.fromString("99999999-9999-9999-9999-999999999999");
+
+    @BeforeEach
+    void setup() {
+        jdbcTemplate.update("UPDATE wallet SET balance = 500.00 WHERE wallet_id = ?", WALLET_ID);
+        jdbcTemplate.update("DELETE FROM ledger_checkpoint");
+        jdbcTemplate.update("DELETE FROM wallet_transaction");
+        jdbcTemplate.update("DELETE FROM wallet_outbox");
+        engine = newEngine();
+        engine.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        engine.stop();
+    }
+
+    @Test
+    void apply_updatesInMemoryBalance() {
+        WalletOperationResult deposit = engine.apply(WALLET_ID, OperationType.DEPOSIT, Money.parse("150.00"));
+        WalletOperationResult withdraw = engine.apply(WALLET_ID, OperationType.WITHDRAW, Money.parse("50.00"));
+
+        assertAll(
+                () -> assertTrue(deposit.isSuccess()),
+                () -> assertTrue(withdraw.isSuccess()),
+                () -> assertEquals(Optional.of(Money.parse("600.00")), engine.findBalance(WALLET_ID))
+        );
+    }
+
+    @Test
+    void apply_insufficientFunds_rejected() {
+        WalletOperationResult result = engine.apply(WALLET_ID, OperationType.WITHDRAW, Money.parse("600.00"));
+
+        assertAll(
+                () -> assertEquals(ServerErrorCode.INSUFFICIENT_FUNDS, result.errorCode()),
+                () -> assertEquals(Optional.of(Money.parse("500.00")), engine.findBalance(WALLET_ID))
+        );
+    }
+
+    @Test
+    void apply_walletNotFound_rejected() {
+        WalletOperationResult result = engine.apply(UNKNOWN_ID, OperationType.DEPOSIT, Money.ofMinor(1000));
+
+        assertAll(
+                () -> assertEquals(ServerErrorCode.WALLET_NOT_FOUND, result.errorCode()),
+                () -> assertTrue(engine.findBalance(UNKNOWN_ID).isEmpty())
+        );
+    }
+
+    @Test
+    void stop_flushesDeltasToWalletTable() throws InterruptedException {
+        engine.apply(WALLET_ID, OperationType.DEPOSIT, Money.parse("25.50"));
+        engine.apply(WALLET_ID, OperationType.WITHDRAW, Money.parse("5.50"));
+        engine.stop();
+
+        assertAll(
+                () -> assertEquals(Money.parse("520.00"), databaseBalance()),
+                () -> assertEquals(List.of("DEPOSIT 25.50 525.50", "WITHDRAW 5.50 520.00"), journal()),
+                () -> assertEquals(2, jdbcTemplate.queryForObject(
+                        "SELECT COUNT(*) FROM wallet_outbox WHERE wallet_id = ?", Integer.class, WALLET_ID))
+        );
+    }
+
+    @Test
+    void start_replaysUnflushedLogRecords() throws Exception {
+        engine.stop();
+        try (LedgerAppendLog appendLog = new LedgerAppendLog(logDir.resolve("shard-0.log"), false)) {
+            appendLog.append(1, WALLET_ID, Money.parse("40.00"));
+            appendLog.append(2, WALLET_ID, Money.parse("-15.00"));
+        }
+
+        engine = newEngine();
+        engine.start();
+
+        assertAll(
+                () -> assertEquals(Money.parse("525.00"), databaseBalance()),
+                () -> assertEquals(Optional.of(Money.parse("525.00")), engine.findBalance(WALLET_ID)),
+                () -> assertEquals(List.of("DEPOSIT 40.00 540.00", "WITHDRAW 15.00 525.00"), journal())
+        );
+    }
+
+    @Test
+    void start_replaysLogsOfRetiredShards() throws Exception {
+        engine.stop();
+        Path retiredLog = logDir.resolve("shard-3.log");
+        try (LedgerAppendLog appendLog = new LedgerAppendLog(retiredLog, false)) {
+            appendLog.append(1, WALLET_ID, Money.parse("12.00"));
+        }
+
+        engine = newEngine();
+        engine.start();
+
+        assertAll(
+                () -> assertEquals(Money.parse("512.00"), databaseBalance()),
+                () -> assertEquals(Optional.of(Money.parse("512.00")), engine.findBalance(WALLET_ID)),
+                () -> assertFalse(Files.exists(retiredLog))
+        );
+    }
+
+    @Test
+    void apply_evictedWalletKeepsUnflushedDeltas() throws Exception {
+        engine.stop();
+        engine = newEngine(1);
+        engine.start();
+
+        engine.apply(WALLET_ID, OperationType.DEPOSIT, Money.parse("30.00"));
+        engine.findBalance(OTHER_ID);
+
+        assertEquals(Optional.of(Money.parse("530.00")), engine.findBalance(WALLET_ID));
+    }
+
+    @Test
+    void apply_afterStop_failsInsteadOfHanging() throws InterruptedException {
+        engine.stop();
+
+        CompletionException ex = assertThrows(CompletionException.class,
+                () -> engine.apply(WALLET_ID, OperationType.DEPOSIT, Money.parse("1.00")));
+
+        assertInstanceOf(IllegalStateException.class, ex.getCause());
+    }
+
+    @Test
+    void flush_logTruncationFailure_stopsShardWithoutReflushing() throws Exception {
+        LedgerAppendLog appendLog = spy(new LedgerAppendLog(logDir.resolve("failing.log"), false));
+        doCallRealMethod().doThrow(new IOException("disk gone")).when(appendLog).truncate();
+        LedgerShard shard = new LedgerShard(1, appendLog, new LedgerStore(jdbcTemplate, dialect, transactionManager),
+                Duration.ofMillis(10).toNanos(), 1, 100);
+        shard.recover();
+        Thread thread = new Thread(shard);
+        thread.start();
+
+        LedgerShard.LedgerReply reply = shard.submit(WALLET_ID, OperationType.DEPOSIT, Money.parse("25.50")).join();
+        thread.join(5000);
+
+        assertAll(
+                () -> assertEquals(Money.parse("525.50"), reply.balance()),
+                () -> assertFalse(thread.isAlive()),
+                () -> assertEquals(Money.parse("525.50"), databaseBalance()),
+                () -> assertEquals(List.of("DEPOSIT 25.50 525.50"), journal()),
+                () -> assertThrows(CompletionException.class,
+                        () -> shard.submit(WALLET_ID, OperationType.DEPOSIT, Money.parse("1.00")).join())
+        );
+    }
+
+    private LedgerWalletEngine newEngine() {
+        return newEngine(100000);
+    }
+
+    private LedgerWalletEngine newEngine(int maxCachedWallets) {
+        WalletEngineProperties properties = new WalletEngineProperties("ledger",
+                new WalletEngineProperties.Ledger(1, logDir, false, Duration.ofMinutes(1), 1000, Duration.ofSeconds(5),
+                        maxCachedWallets),
+                new WalletEngineProperties.Batch(Duration.ofNanos(500_000), 128, 1, Duration.ofSeconds(5)),
+                new WalletEngineProperties.Sharded(16, 500, Duration.ofSeconds(1), 5));
+        return new LedgerWalletEngine(properties, jdbcTemplate, dialect, transactionManager);
+    }
+
+    private List<String> journal() {
+        return jdbcTemplate.query(
+                "SELECT operation_type, amount, balance FROM wallet_transaction WHERE wallet_id = ? ORDER BY transaction_id",
+                (rs, rowNum) -> rs.getString(1) + " " + rs.getBigDecimal(2) + " " + rs.getBigDecimal(3), WALLET_ID);
+    }
+
+    private Money databaseBalance() {
+        return Money.of(jdbcTemplate.queryForObject(
+                "SELECT balance FROM wallet WHERE wallet_id = ?", BigDecimal.class, WALLET_ID));
+    }
+}
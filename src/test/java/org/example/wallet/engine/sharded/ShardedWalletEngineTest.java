@@ -0,0 +1,208 @@
+package org.example.wallet.engine.sharded;
+
+import org.example.wallet.api.dtos.wallet.OperationType;
+import org.example.wallet.api.errors.ServerErrorCode;
+import org.example.wallet.engine.WalletOperationResult;
+import org.example.wallet.money.Money;
+import org.example.wallet.store.repo.WalletExportRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "wallet.engine.mode=sharded",
+        "wallet.engine.sharded.evaluation-interval=1h",
+        "wallet.engine.sharded.max-slots=4",
+        "wallet.engine.sharded.target-ops-per-slot=10",
+        "wallet.engine.sharded.scale-down-after=3"
+})
+public class ShardedWalletEngineTest {
+    @Autowired
+    private ShardedWalletEngine engine;
+
+    @Autowired
+    private WalletSlotAllocator allocator;
+
+    @Autowired
+    private WalletExportRepository exportRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UUID walletId;
+
+    @BeforeEach
+    void setUp() {
+        walletId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO wallet (wallet_id, balance) VALUES (?, 100.00)", walletId);
+        allocator.rebalance();
+    }
+
+    @Test
+    void apply_unshardedWallet_updatesWalletRowUnderCoordination() {
+        WalletOperationResult result = engine.apply(walletId, OperationType.DEPOSIT, Money.parse("5.00"));
+
+        assertAll(
+                () -> assertEquals(Money.parse("105.00"), result.balance()),
+                () -> assertTrue(engine.requiresCoordination(walletId)),
+                () -> assertEquals(0, slotRows())
+        );
+    }
+
+    @Test
+    void rebalance_hotWallet_splitsBalanceAcrossSlots() {
+        shard();
+
+        assertAll(
+                () -> assertEquals(4, allocator.slotCount(walletId)),
+                () -> assertFalse(engine.requiresCoordination(walletId)),
+                () -> assertEquals(4, slotRows()),
+                () -> assertEquals(Money.parse("20.00"), walletRowBalance()),
+                () -> assertEquals(Money.parse("100.00"), engine.findBalance(walletId).orElseThrow())
+        );
+    }
+
+    @Test
+    void apply_concurrentDepositsOnShardedWallet_totalIsExact() throws Exception {
+        shard();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<WalletOperationResult>> results = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                results.add(executor.submit(() -> engine.apply(walletId, OperationType.DEPOSIT, Money.parse("1.50"))));
+            }
+            for (Future<WalletOperationResult> result : results) {
+                assertTrue(result.get().isSuccess());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        UUID previous = jdbcTemplate.queryForObject("SELECT MAX(wallet_id) FROM wallet WHERE wallet_id < ?",
+                UUID.class, walletId);
+        Money[] exported = new Money[1];
+        exportRepository.exportPage(previous, 1, 1, (id, balance) -> exported[0] = id.equals(walletId) ? balance : null);
+        assertAll(
+                () -> assertEquals(Money.parse("400.00"), engine.findBalance(walletId).orElseThrow()),
+                () -> assertEquals(Money.parse("400.00"), exported[0]),
+                () -> assertEquals(200, jdbcTemplate.queryForObject(
+                        "SELECT COUNT(*) FROM wallet_outbox WHERE wallet_id = ?", Integer.class, walletId))
+        );
+    }
+
+    @Test
+    void apply_withdrawLargerThanSlot_rebalancesAcrossSlots() {
+        shard();
+
+        WalletOperationResult withdrawn = engine.apply(walletId, OperationType.WITHDRAW, Money.parse("70.00"));
+        WalletOperationResult rejected = engine.apply(walletId, OperationType.WITHDRAW, Money.parse("30.01"));
+
+        assertAll(
+                () -> assertEquals(Money.parse("30.00"), withdrawn.balance()),
+                () -> assertEquals(ServerErrorCode.INSUFFICIENT_FUNDS, rejected.errorCode()),
+                () -> assertEquals(Money.parse("30.00"), engine.findBalance(walletId).orElseThrow()),
+                () -> assertEquals(Money.parse("6.00"), walletRowBalance()),
+                () -> assertEquals(List.of(Money.parse("70.00")), jdbcTemplate.query(
+                        "SELECT amount FROM wallet_transaction WHERE wallet_id = ? AND operation_type = 'WITHDRAW'",
+                        (rs, rowNum) -> Money.of(rs.getBigDecimal(1)), walletId))
+        );
+    }
+
+    @Test
+    void apply_unknownWallet_rejected() {
+        WalletOperationResult result = engine.apply(UUID.randomUUID(), OperationType.WITHDRAW, Money.parse("1.00"));
+
+        assertEquals(ServerErrorCode.WALLET_NOT_FOUND, result.errorCode());
+    }
+
+    @Test
+    void rebalance_rateReportedByAnotherInstance_splitsBalanceAcrossSlots() {
+        UUID otherInstance = UUID.randomUUID();
+        jdbcTemplate.update("""
+                INSERT INTO wallet_slot_rate (wallet_id, instance_id, writes_per_second, reported_at)
+                VALUES (?, ?, 1000, ?)
+                """, walletId, otherInstance, Timestamp.from(Instant.now()));
+        try {
+            allocator.rebalance();
+        } finally {
+            jdbcTemplate.update("DELETE FROM wallet_slot_rate WHERE instance_id = ?", otherInstance);
+        }
+
+        assertAll(
+                () -> assertEquals(4, allocator.slotCount(walletId)),
+                () -> assertEquals(4, slotRows())
+        );
+    }
+
+    @Test
+    void rebalance_briefIdleShardedWallet_keepsSlots() {
+        shard();
+
+        allocator.rebalance();
+        allocator.rebalance();
+
+        assertAll(
+                () -> assertEquals(4, allocator.slotCount(walletId)),
+                () -> assertEquals(4, slotRows())
+        );
+    }
+
+    @Test
+    void rebalance_idleShardedWallet_foldsSlotsBackIntoWallet() {
+        shard();
+        engine.apply(walletId, OperationType.DEPOSIT, Money.parse("10.00"));
+        allocator.rebalance();
+
+        for (int i = 0; i < 3; i++) {
+            allocator.rebalance();
+        }
+
+        assertAll(
+                () -> assertEquals(0, allocator.slotCount(walletId)),
+                () -> assertEquals(0, slotRows()),
+                () -> assertEquals(Money.parse("110.00"), walletRowBalance())
+        );
+    }
+
+    @Test
+    void targetSlots_scalesUpPastCapacityAndDownOnlyWhenMostlyIdle() {
+        assertAll(
+                () -> assertEquals(0, allocator.targetSlots(10, 0)),
+                () -> assertEquals(3, allocator.targetSlots(25, 0)),
+                () -> assertEquals(4, allocator.targetSlots(1000, 2)),
+                () -> assertEquals(4, allocator.targetSlots(15, 4)),
+                () -> assertEquals(0, allocator.targetSlots(10, 4)),
+                () -> assertEquals(2, allocator.targetSlots(0.5, 2))
+        );
+    }
+
+    private void shard() {
+        for (int i = 0; i < 1000; i++) {
+            allocator.recordWrite(walletId);
+        }
+        allocator.rebalance();
+    }
+
+    private int slotRows() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM wallet_slot WHERE wallet_id = ?", Integer.class, walletId);
+    }
+
+    private Money walletRowBalance() {
+        return Money.of(jdbcTemplate.queryForObject("SELECT balance FROM wallet WHERE wallet_id = ?",
+                BigDecimal.class, walletId));
+    }
+}
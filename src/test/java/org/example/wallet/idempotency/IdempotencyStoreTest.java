@@ -0,0 +1,230 @@
+package org.example.wallet.idempotency;
+
+import org.example.wallet.api.dtos.wallet.OperationType;
+import org.example.wallet.api.dtos.wallet.WalletRequestDto;
+import org.example.wallet.api.errors.ServerErrorCode;
+import org.example.wallet.api.errors.ServerException;
+import org.example.wallet.engine.WalletOperationResult;
+import org.example.wallet.store.repo.BalanceUpdate;
+import org.example.wallet.store.repo.WalletOperationRepositoryImpl;
+import org.example.wallet.money.Money;
+import org.example.wallet.store.sql.SqlDialect;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@JdbcTest
+@Import(SqlDialect.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class IdempotencyStoreTest {
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SqlDialect dialect;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private IdempotencyRepository repository;
+    private WalletOperationRepositoryImpl walletOperations;
+
+    private static final UUID WALLET_ID = UUID.fromString("22222222-2222-2222-2222-222222222222");
+    private static final WalletRequestDto WITHDRAW =
+            new WalletRequestDto(WALLET_ID, OperationType.WITHDRAW, Money.parse("100.00"));
+
+    @BeforeEach
+    void setup() {
+        jdbcTemplate.update("DELETE FROM idempotency_key");
+        jdbcTemplate.update("UPDATE wallet SET balance = 500.00 WHERE wallet_id = ?", WALLET_ID);
+        repository = new IdempotencyRepository(jdbcTemplate);
+        walletOperations = new WalletOperationRepositoryImpl(jdbcTemplate, dialect);
+    }
+
+    @Test
+    void execute_replayReturnsStoredBalanceWithoutApplyingAgain() {
+        IdempotencyStore store = newStore(Duration.ofHours(1));
+
+        WalletOperationResult first = store.execute("key-1", WITHDRAW, true, this::apply);
+        WalletOperationResult replay = store.execute("key-1", WITHDRAW, true, this::apply);
+
+        assertAll(
+                () -> assertEquals(Money.parse("400.00"), first.balance()),
+                () -> assertEquals(Money.parse("400.00"), replay.balance()),
+                () -> assertEquals(Money.parse("400.00"), balance())
+        );
+    }
+
+    @Test
+    void execute_replayAfterRestartRollsBackDuplicateApply() {
+        newStore(Duration.ofHours(1)).execute("key-1", WITHDRAW, true, this::apply);
+
+        WalletOperationResult replay = newStore(Duration.ofHours(1)).execute("key-1", WITHDRAW, true, this::apply);
+
+        assertAll(
+                () -> assertEquals(Money.parse("400.00"), replay.balance()),
+                () -> assertEquals(Money.parse("400.00"), balance())
+        );
+    }
+
+    @Test
+    void execute_replayAfterRestart_returnsStoredResultWithoutTouchingWallet() {
+        newStore(Duration.ofHours(1)).execute("key-1", WITHDRAW, true, this::apply);
+        jdbcTemplate.update("UPDATE wallet SET balance = 50.00 WHERE wallet_id = ?", WALLET_ID);
+        WalletRequestDto other = new WalletRequestDto(WALLET_ID, OperationType.WITHDRAW, Money.parse("70.00"));
+
+        WalletOperationResult replay = newStore(Duration.ofHours(1)).execute("key-1", WITHDRAW, true, this::apply);
+        WalletOperationResult reused = newStore(Duration.ofHours(1)).execute("key-1", other, true, this::apply);
+
+        assertAll(
+                () -> assertEquals(Money.parse("400.00"), replay.balance()),
+                () -> assertEquals(ServerErrorCode.IDEMPOTENCY_KEY_REUSED, reused.errorCode()),
+                () -> assertEquals(Money.parse("50.00"), balance())
+        );
+    }
+
+    @Test
+    void execute_keyReusedForDifferentOperation_rejected() {
+        IdempotencyStore store = newStore(Duration.ofHours(1));
+        WalletRequestDto other = new WalletRequestDto(WALLET_ID, OperationType.WITHDRAW, Money.parse("50.00"));
+
+        store.execute("key-1", WITHDRAW, true, this::apply);
+        WalletOperationResult result = store.execute("key-1", other, true, this::apply);
+
+        assertAll(
+                () -> assertEquals(ServerErrorCode.IDEMPOTENCY_KEY_REUSED, result.errorCode()),
+                () -> assertEquals(Money.parse("400.00"), balance())
+        );
+    }
+
+    @Test
+    void execute_rejectedOperation_keyNotRecorded() {
+        IdempotencyStore store = newStore(Duration.ofHours(1));
+        WalletRequestDto tooMuch = new WalletRequestDto(WALLET_ID, OperationType.WITHDRAW, Money.parse("900.00"));
+
+        WalletOperationResult result = store.execute("key-1", tooMuch, true, this::apply);
+
+        assertAll(
+                () -> assertEquals(ServerErrorCode.INSUFFICIENT_FUNDS, result.errorCode()),
+                () -> assertTrue(repository.find("key-1").isEmpty())
+        );
+    }
+
+    @Test
+    void execute_withClaim_inProgressKeyRejected() {
+        repository.insert("key-1", new IdempotentOperation(WITHDRAW, null, Instant.now()));
+
+        WalletOperationResult result = newStore(Duration.ofHours(1)).execute("key-1", WITHDRAW, false, this::apply);
+
+        assertAll(
+                () -> assertEquals(ServerErrorCode.OPERATION_IN_PROGRESS, result.errorCode()),
+                () -> assertEquals(Money.parse("500.00"), balance())
+        );
+    }
+
+    @Test
+    void execute_withClaim_claimPastLeaseIsReleased() {
+        repository.insert("key-1", new IdempotentOperation(WITHDRAW, null, Instant.now().minus(Duration.ofMinutes(1))));
+
+        WalletOperationResult result = newStore(Duration.ofHours(1)).execute("key-1", WITHDRAW, false, this::apply);
+
+        assertAll(
+                () -> assertEquals(Money.parse("400.00"), result.balance()),
+                () -> assertEquals(Money.parse("400.00"), repository.find("key-1").orElseThrow().balance())
+        );
+    }
+
+    @Test
+    void execute_withClaim_failureWithUnknownOutcomeKeepsClaim() {
+        IdempotencyStore store = newStore(Duration.ofHours(1));
+
+        assertThrows(ServerException.class, () -> store.execute("key-1", WITHDRAW, false, dto -> {
+            throw new ServerException(ServerErrorCode.SERVER_OVERLOADED);
+        }));
+        WalletOperationResult retry = store.execute("key-1", WITHDRAW, false, this::apply);
+
+        assertAll(
+                () -> assertEquals(ServerErrorCode.OPERATION_IN_PROGRESS, retry.errorCode()),
+                () -> assertEquals(Money.parse("500.00"), balance())
+        );
+    }
+
+    @Test
+    void execute_withClaim_completesRecord() {
+        WalletOperationResult result = newStore(Duration.ofHours(1)).execute("key-1", WITHDRAW, false, this::apply);
+
+        assertAll(
+                () -> assertEquals(Money.parse("400.00"), result.balance()),
+                () -> assertEquals(Money.parse("400.00"), repository.find("key-1").orElseThrow().balance())
+        );
+    }
+
+    @Test
+    void execute_expiredKey_appliesAgain() {
+        repository.insert("key-1", new IdempotentOperation(WITHDRAW, Money.parse("400.00"),
+                Instant.now().minus(Duration.ofHours(2))));
+
+        WalletOperationResult result = newStore(Duration.ofHours(1)).execute("key-1", WITHDRAW, true, this::apply);
+
+        assertEquals(Money.parse("400.00"), result.balance());
+        assertEquals(Money.parse("400.00"), balance());
+    }
+
+    @Test
+    void purgeExpired_deletesOnlyExpiredKeys() {
+        repository.insert("old", new IdempotentOperation(WITHDRAW, Money.ofMinor(100), Instant.now().minus(Duration.ofHours(2))));
+        repository.insert("new", new IdempotentOperation(WITHDRAW, Money.ofMinor(100), Instant.now()));
+
+        newStore(Duration.ofHours(1)).purgeExpired();
+
+        assertAll(
+                () -> assertTrue(repository.find("old").isEmpty()),
+                () -> assertTrue(repository.find("new").isPresent())
+        );
+    }
+
+    @Test
+    void purgeExpired_releasesClaimsPastLease() {
+        Instant minuteAgo = Instant.now().minus(Duration.ofMinutes(1));
+        repository.insert("stale", new IdempotentOperation(WITHDRAW, null, minuteAgo));
+        repository.insert("done", new IdempotentOperation(WITHDRAW, Money.ofMinor(100), minuteAgo));
+        repository.insert("fresh", new IdempotentOperation(WITHDRAW, null, Instant.now()));
+
+        newStore(Duration.ofHours(1)).purgeExpired();
+
+        assertAll(
+                () -> assertTrue(repository.find("stale").isEmpty()),
+                () -> assertTrue(repository.find("done").isPresent()),
+                () -> assertTrue(repository.find("fresh").isPresent())
+        );
+    }
+
+    private IdempotencyStore newStore(Duration ttl) {
+        return new IdempotencyStore(repository, transactionManager, new IdempotencyProperties(1000, ttl, Duration.ofSeconds(30)));
+    }
+
+    private WalletOperationResult apply(WalletRequestDto dto) {
+        BalanceUpdate update = walletOperations.withdrawReturningBalance(dto.walletId(), dto.amount());
+        return update.isApplied()
+                ? WalletOperationResult.success(update.balance())
+                : WalletOperationResult.rejected(ServerErrorCode.INSUFFICIENT_FUNDS);
+    }
+
+    private Money balance() {
+        return Money.of(jdbcTemplate.queryForObject(
+                "SELECT balance FROM wallet WHERE wallet_id = ?", BigDecimal.class, WALLET_ID));
+    }
+}
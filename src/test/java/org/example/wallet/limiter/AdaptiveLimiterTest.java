@@ -0,0 +1,89 @@
+package org.example.wallet.limiter;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdaptiveLimiterTest {
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(50);
+
+    @Test
+    void tryAcquire_rejectsOnceLimitIsInFlight() {
+        AdaptiveLimiter limiter = limiter(2, 1, 10, Duration.ofMillis(10));
+
+        assertAll(
+                () -> assertTrue(limiter.tryAcquire()),
+                () -> assertTrue(limiter.tryAcquire()),
+                () -> assertFalse(limiter.tryAcquire()),
+                () -> assertEquals(2, limiter.inFlight())
+        );
+    }
+
+    @Test
+    void release_fastSamplesUnderLoad_growLimitAdditively() {
+        AdaptiveLimiter limiter = limiter(4, 1, 5, Duration.ofMillis(10));
+
+        for (int i = 0; i < 100; i++) {
+            while (limiter.tryAcquire()) {
+            }
+            while (limiter.inFlight() > 0) {
+                limiter.release(FAST, false);
+            }
+        }
+
+        assertEquals(5, limiter.limit());
+    }
+
+    @Test
+    void release_idleFastSamples_keepLimit() {
+        AdaptiveLimiter limiter = limiter(10, 1, 100, Duration.ofMillis(10));
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(FAST, false);
+        }
+
+        assertEquals(10, limiter.limit());
+    }
+
+    @Test
+    void release_slowOrFailedSamples_backOffMultiplicativelyDownToMinimum() throws InterruptedException {
+        AdaptiveLimiter limiter = limiter(100, 20, 100, Duration.ofNanos(1));
+
+        limiter.tryAcquire();
+        limiter.release(SLOW, false);
+        int afterSlow = limiter.limit();
+        for (int i = 0; i < 50; i++) {
+            Thread.sleep(0, 1000);
+            limiter.tryAcquire();
+            limiter.release(FAST, true);
+        }
+
+        assertAll(
+                () -> assertEquals(90, afterSlow),
+                () -> assertEquals(20, limiter.limit())
+        );
+    }
+
+    @Test
+    void release_burstOfSlowSamples_decreasesOncePerLatencyWindow() {
+        AdaptiveLimiter limiter = limiter(100, 1, 100, Duration.ofSeconds(10));
+
+        for (int i = 0; i < 50; i++) {
+            limiter.tryAcquire();
+        }
+        for (int i = 0; i < 50; i++) {
+            limiter.release(TimeUnit.SECONDS.toNanos(11), false);
+        }
+
+        assertEquals(90, limiter.limit());
+    }
+
+    private static AdaptiveLimiter limiter(int initial, int min, int max, Duration threshold) {
+        return new AdaptiveLimiter(new LimiterProperties.Limit(initial, min, max, threshold, 0.9));
+    }
+}
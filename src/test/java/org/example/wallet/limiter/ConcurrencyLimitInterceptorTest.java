@@ -0,0 +1,124 @@
+package org.example.wallet.limiter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.wallet.api.controllers.WalletController;
+import org.example.wallet.api.dtos.wallet.OperationType;
+import org.example.wallet.api.dtos.wallet.WalletBalanceDto;
+import org.example.wallet.api.dtos.wallet.WalletOperationResponseDto;
+import org.example.wallet.api.dtos.wallet.WalletRequestDto;
+import org.example.wallet.api.services.WalletEventService;
+import org.example.wallet.api.services.WalletService;
+import org.example.wallet.api.services.WalletTransactionService;
+import org.example.wallet.money.Money;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = WalletController.class, properties = {
+        "wallet.limiter.enabled=true",
+        "wallet.limiter.write.initial-limit=1",
+        "wallet.limiter.write.min-limit=1",
+        "wallet.limiter.write.max-limit=1"
+})
+public class ConcurrencyLimitInterceptorTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WalletService walletService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private static final UUID WALLET_ID = UUID.fromString("11111111-1111-1111-1111-111111111111");
+
+    @TestConfiguration
+    static class MockConfig {
+        @Bean
+        public WalletService walletService() {
+            return mock(WalletService.class);
+        }
+
+        @Bean
+        public WalletTransactionService walletTransactionService() {
+            return mock(WalletTransactionService.class);
+        }
+
+        @Bean
+        public WalletEventService walletEventService() {
+            return mock(WalletEventService.class);
+        }
+
+        @Bean
+        public MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Test
+    void writeLimitReached_rejectsWritesWithServiceUnavailableButAdmitsReads() throws Exception {
+        WalletRequestDto request = new WalletRequestDto(WALLET_ID, OperationType.DEPOSIT, Money.parse("10.00"));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(walletService.doOperation(request, null)).thenAnswer(invocation -> {
+            started.countDown();
+            assertTrue(release.await(5, TimeUnit.SECONDS));
+            return new WalletOperationResponseDto("DEPOSIT", Money.parse("10.00"), Money.parse("110.00"));
+        });
+        when(walletService.getBalance(WALLET_ID)).thenReturn(new WalletBalanceDto(Money.parse("100.00")));
+        String body = objectMapper.writeValueAsString(request);
+
+        CompletableFuture<Integer> first = CompletableFuture.supplyAsync(() -> {
+            try {
+                return mockMvc.perform(post("/api/v1/wallet").contentType(MediaType.APPLICATION_JSON).content(body))
+                        .andReturn().getResponse().getStatus();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        mockMvc.perform(post("/api/v1/wallet").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.errors[0].errorCode").value("SERVER_OVERLOADED"))
+                .andExpect(jsonPath("$.errors[0].message").value("Сервис перегружен, повторите попытку позже."));
+        mockMvc.perform(get("/api/v1/wallet/{wallet_uuid}", WALLET_ID))
+                .andExpect(status().isOk());
+
+        release.countDown();
+        assertEquals(200, first.get(5, TimeUnit.SECONDS));
+        mockMvc.perform(post("/api/v1/wallet").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk());
+
+        assertAll(
+                () -> assertEquals(1.0, meterRegistry.get("wallet.limiter.rejected").tag("group", "write").counter().count()),
+                () -> assertEquals(0.0, meterRegistry.get("wallet.limiter.rejected").tag("group", "read").counter().count()),
+                () -> assertEquals(1.0, meterRegistry.get("wallet.limiter.limit").tag("group", "write").gauge().value()),
+                () -> assertEquals(0.0, meterRegistry.get("wallet.limiter.inflight").tag("group", "write").gauge().value())
+        );
+    }
+}
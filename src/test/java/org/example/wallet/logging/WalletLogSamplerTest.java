@@ -0,0 +1,38 @@
+package org.example.wallet.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WalletLogSamplerTest {
+
+    @Test
+    void isSampled_fullRate_samplesEveryWallet() {
+        WalletLogSampler sampler = new WalletLogSampler(new WalletLoggingProperties(1.0));
+
+        assertTrue(IntStream.range(0, 1000).allMatch(i -> sampler.isSampled(UUID.randomUUID())));
+    }
+
+    @Test
+    void isSampled_zeroRate_samplesNothing() {
+        WalletLogSampler sampler = new WalletLogSampler(new WalletLoggingProperties(0.0));
+
+        assertTrue(IntStream.range(0, 1000).noneMatch(i -> sampler.isSampled(UUID.randomUUID())));
+    }
+
+    @Test
+    void isSampled_partialRate_isStablePerWalletAndNearRate() {
+        WalletLogSampler sampler = new WalletLogSampler(new WalletLoggingProperties(0.1));
+        UUID walletId = UUID.randomUUID();
+
+        long sampled = IntStream.range(0, 20000).filter(i -> sampler.isSampled(UUID.randomUUID())).count();
+
+        assertAll(
+                () -> assertEquals(sampler.isSampled(walletId), sampler.isSampled(walletId)),
+                () -> assertTrue(sampled > 1500 && sampled < 2500, "sampled " + sampled)
+        );
+    }
+}
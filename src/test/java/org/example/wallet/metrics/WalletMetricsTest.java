@@ -0,0 +1,56 @@
+package org.example.wallet.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.wallet.api.dtos.wallet.OperationType;
+import org.example.wallet.api.errors.ServerErrorCode;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WalletMetricsTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final WalletMetrics walletMetrics = new WalletMetrics(meterRegistry);
+
+    @Test
+    void record_stageTimerAndNextStart() {
+        long start = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(5);
+
+        long next = walletMetrics.record(OperationStage.OPERATION_APPLY, start);
+
+        var timer = meterRegistry.get("wallet.operation.stage")
+                .tag("operation", "doOperation")
+                .tag("stage", "apply")
+                .timer();
+        assertAll(
+                () -> assertEquals(1, timer.count()),
+                () -> assertTrue(timer.totalTime(TimeUnit.MILLISECONDS) >= 5),
+                () -> assertTrue(next > start)
+        );
+    }
+
+    @Test
+    void recordOperation_countsByTypeAndOutcome() {
+        walletMetrics.recordOperation(OperationType.DEPOSIT, null);
+        walletMetrics.recordOperation(OperationType.WITHDRAW, ServerErrorCode.INSUFFICIENT_FUNDS);
+        walletMetrics.recordOperation(OperationType.WITHDRAW, ServerErrorCode.INSUFFICIENT_FUNDS);
+
+        assertAll(
+                () -> assertEquals(1, meterRegistry.get("wallet.operations")
+                        .tag("type", "DEPOSIT").tag("outcome", "SUCCESS").counter().count()),
+                () -> assertEquals(2, meterRegistry.get("wallet.operations")
+                        .tag("type", "WITHDRAW").tag("outcome", "INSUFFICIENT_FUNDS").counter().count()),
+                () -> assertEquals(0, meterRegistry.get("wallet.operations")
+                        .tag("type", "WITHDRAW").tag("outcome", "SUCCESS").counter().count())
+        );
+    }
+
+    @Test
+    void recordBalance_countsByOutcome() {
+        walletMetrics.recordBalance(ServerErrorCode.WALLET_NOT_FOUND);
+
+        assertEquals(1, meterRegistry.get("wallet.balance.requests")
+                .tag("outcome", "WALLET_NOT_FOUND").counter().count());
+    }
+}
@@ -0,0 +1,40 @@
+package org.example.wallet.migration;
+
+import liquibase.integration.spring.SpringLiquibase;
+import org.example.wallet.engine.WalletEngine;
+import org.example.wallet.outbox.OutboxRelay;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.config.ScheduledTaskHolder;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MigrationApplicationTest {
+
+    @Test
+    void isRequested_readsCommandLineFlag() {
+        assertAll(
+                () -> assertTrue(MigrationApplication.isRequested("--wallet.migration.exit-after-migrate=true")),
+                () -> assertFalse(MigrationApplication.isRequested("--spring.profiles.active=prod"))
+        );
+    }
+
+    @Test
+    void application_runsOnlyLiquibase() {
+        try (ConfigurableApplicationContext context = MigrationApplication.application()
+                .run("--spring.datasource.url=jdbc:h2:mem:migration;DB_CLOSE_DELAY=-1")) {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(context.getBean(DataSource.class));
+
+            assertAll(
+                    () -> assertEquals(1, context.getBeansOfType(SpringLiquibase.class).size()),
+                    () -> assertTrue(context.getBeansOfType(WalletEngine.class).isEmpty()),
+                    () -> assertTrue(context.getBeansOfType(OutboxRelay.class).isEmpty()),
+                    () -> assertTrue(context.getBeansOfType(ScheduledTaskHolder.class).isEmpty()),
+                    () -> assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM wallet", Integer.class))
+            );
+        }
+    }
+}
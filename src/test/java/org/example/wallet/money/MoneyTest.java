@@ -0,0 +1,78 @@
+package org.example.wallet.money;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MoneyTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @ParameterizedTest
+    @CsvSource({
+            "100, 10000",
+            "100.5, 10050",
+            "100.05, 10005",
+            "0.01, 1",
+            "-15.00, -1500",
+            "12.300, 1230",
+            "1e2, 10000"
+    })
+    void parse_validAmount_returnsMinorUnits(String text, long minorUnits) {
+        assertEquals(minorUnits, Money.parse(text).minorUnits());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"10.005", "0.001", "", "-", "1.2.3", "abc", "99999999999999999999"})
+    void parse_invalidAmount_throws(String text) {
+        assertThrows(NumberFormatException.class, () -> Money.parse(text));
+    }
+
+    @Test
+    void of_bigDecimal_roundTripsThroughMinorUnits() {
+        Money money = Money.of(new BigDecimal("1000.00"));
+
+        assertAll(
+                () -> assertEquals(100000, money.minorUnits()),
+                () -> assertEquals(0, new BigDecimal("1000.00").compareTo(money.toBigDecimal())),
+                () -> assertThrows(NumberFormatException.class, () -> Money.of(new BigDecimal("1.234")))
+        );
+    }
+
+    @Test
+    void arithmetic_keepsMinorUnitsExact() {
+        Money balance = Money.parse("0.10").plus(Money.parse("0.20"));
+
+        assertAll(
+                () -> assertEquals(Money.parse("0.30"), balance),
+                () -> assertEquals(-1, Money.parse("0.30").minus(Money.parse("0.31")).signum()),
+                () -> assertEquals("-0.01", Money.parse("0.30").minus(Money.parse("0.31")).toString())
+        );
+    }
+
+    @Test
+    void json_keepsTwoDecimalNumberFormat() throws Exception {
+        assertAll(
+                () -> assertEquals("1000.00", objectMapper.writeValueAsString(Money.ofMinor(100000))),
+                () -> assertEquals("0.05", objectMapper.writeValueAsString(Money.ofMinor(5))),
+                () -> assertEquals("-12.30", objectMapper.writeValueAsString(Money.ofMinor(-1230))),
+                () -> assertEquals(Money.parse("250.50"), objectMapper.readValue("250.5", Money.class)),
+                () -> assertEquals(Money.parse("250.00"), objectMapper.readValue("250", Money.class)),
+                () -> assertEquals(Money.parse("250.50"), objectMapper.readValue("\"250.50\"", Money.class))
+        );
+    }
+
+    @Test
+    void json_moreThanTwoDecimals_isRejectedAtParseTime() {
+        InvalidFormatException ex = assertThrows(InvalidFormatException.class,
+                () -> objectMapper.readValue("10.005", Money.class));
+
+        assertEquals(Money.class, ex.getTargetType());
+    }
+}
@@ -0,0 +1,50 @@
+package org.example.wallet.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.wallet.money.Money;
+import org.example.wallet.store.sql.SqlDialect;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@JdbcTest
+@Import(SqlDialect.class)
+public class BroadcastOutboxSinkTest {
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SqlDialect dialect;
+
+    private static final UUID WALLET_ID = UUID.fromString("11111111-1111-1111-1111-111111111111");
+    private static final UUID OTHER_WALLET_ID = UUID.fromString("22222222-2222-2222-2222-222222222222");
+
+    @Test
+    void publish_withoutPostgres_dispatchesToLocalListeners() {
+        BalanceEventListeners listeners = new BalanceEventListeners();
+        List<WalletBalanceEvent> received = new ArrayList<>();
+        Runnable unsubscribe = listeners.subscribe(WALLET_ID, received::add);
+        BroadcastOutboxSink sink = new BroadcastOutboxSink(jdbcTemplate, dialect, listeners, new ObjectMapper());
+
+        WalletBalanceEvent event = event(1, WALLET_ID);
+        sink.publish(List.of(event, event(2, OTHER_WALLET_ID)));
+        unsubscribe.run();
+        sink.publish(List.of(event(3, WALLET_ID)));
+
+        assertEquals(List.of(event), received);
+    }
+
+    private static WalletBalanceEvent event(long eventId, UUID walletId) {
+        return new WalletBalanceEvent(eventId, walletId, "DEPOSIT", null, Money.parse("1.00"), Money.parse("2.00"),
+                Instant.EPOCH);
+    }
+}
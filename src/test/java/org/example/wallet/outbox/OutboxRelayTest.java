@@ -0,0 +1,145 @@
+package org.example.wallet.outbox;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.wallet.money.Money;
+import org.example.wallet.store.repo.WalletOperationRepositoryImpl;
+import org.example.wallet.store.repo.WalletTransferRepository;
+import org.example.wallet.store.sql.SqlDialect;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@JdbcTest
+@Import(SqlDialect.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class OutboxRelayTest {
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SqlDialect dialect;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private WalletOperationRepositoryImpl operationRepository;
+    private final List<WalletBalanceEvent> published = new ArrayList<>();
+    private SimpleMeterRegistry meterRegistry;
+
+    private static final UUID WALLET_ID = UUID.fromString("eeeeeeee-0000-0000-0000-000000000001");
+    private static final UUID OTHER_WALLET_ID = UUID.fromString("eeeeeeee-0000-0000-0000-000000000002");
+
+    @BeforeEach
+    void setup() {
+        jdbcTemplate.update("DELETE FROM wallet_outbox");
+        jdbcTemplate.update("DELETE FROM wallet_transaction WHERE wallet_id IN (?, ?)", WALLET_ID, OTHER_WALLET_ID);
+        jdbcTemplate.update("DELETE FROM wallet WHERE wallet_id IN (?, ?)", WALLET_ID, OTHER_WALLET_ID);
+        jdbcTemplate.update("INSERT INTO wallet (wallet_id, balance) VALUES (?, 100.00)", WALLET_ID);
+        jdbcTemplate.update("INSERT INTO wallet (wallet_id, balance) VALUES (?, 0.00)", OTHER_WALLET_ID);
+        operationRepository = new WalletOperationRepositoryImpl(jdbcTemplate, dialect);
+        published.clear();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void drain_publishesJournalledChangesInOrderAndClearsOutbox() {
+        operationRepository.depositReturningBalance(WALLET_ID, Money.parse("25.00"));
+        operationRepository.withdrawReturningBalance(WALLET_ID, Money.parse("500.00"));
+        operationRepository.withdrawReturningBalance(WALLET_ID, Money.parse("5.00"));
+        new WalletTransferRepository(jdbcTemplate, dialect).transfer(WALLET_ID, OTHER_WALLET_ID, new BigDecimal("20.00"));
+
+        relay(2, published::addAll).drain();
+
+        assertAll(
+                () -> assertEquals(List.of("DEPOSIT", "WITHDRAW", "WITHDRAW", "DEPOSIT"),
+                        published.stream().map(WalletBalanceEvent::operationType).toList()),
+                () -> assertEquals(List.of(WALLET_ID, WALLET_ID, WALLET_ID, OTHER_WALLET_ID),
+                        published.stream().map(WalletBalanceEvent::walletId).toList()),
+                () -> assertEquals(List.of(Money.parse("125.00"), Money.parse("120.00"), Money.parse("100.00"),
+                        Money.parse("20.00")), published.stream().map(WalletBalanceEvent::balance).toList()),
+                () -> assertEquals(jdbcTemplate.queryForList(
+                                "SELECT transaction_id FROM wallet_transaction WHERE wallet_id IN (?, ?) "
+                                        + "ORDER BY transaction_id", Long.class, WALLET_ID, OTHER_WALLET_ID),
+                        published.stream().map(WalletBalanceEvent::eventId).toList()),
+                () -> assertEquals(0, outboxSize()),
+                () -> assertEquals(4.0, meterRegistry.counter("wallet.outbox.published").count())
+        );
+    }
+
+    @Test
+    void drain_sinkFailure_keepsEventsForRetry() {
+        operationRepository.depositReturningBalance(WALLET_ID, Money.parse("1.00"));
+
+        relay(10, events -> {
+            throw new IllegalStateException("sink unavailable");
+        }).drain();
+        assertEquals(1, outboxSize());
+
+        relay(10, published::addAll).drain();
+        assertAll(
+                () -> assertEquals(1, published.size()),
+                () -> assertEquals(0, outboxSize())
+        );
+    }
+
+    @Test
+    void drain_skipsRowsLockedByAnotherRelay() throws InterruptedException {
+        operationRepository.depositReturningBalance(WALLET_ID, Money.parse("1.00"));
+        operationRepository.depositReturningBalance(OTHER_WALLET_ID, Money.parse("2.00"));
+
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        OutboxRelay slowRelay = relay(1, events -> {
+            locked.countDown();
+            await(release);
+        });
+        Thread slow = new Thread(slowRelay::drain);
+        slow.start();
+        assertTrue(locked.await(5, TimeUnit.SECONDS));
+
+        relay(1, published::addAll).drain();
+        release.countDown();
+        slow.join(5000);
+
+        assertAll(
+                () -> assertEquals(List.of(OTHER_WALLET_ID),
+                        published.stream().map(WalletBalanceEvent::walletId).toList()),
+                () -> assertEquals(0, outboxSize())
+        );
+    }
+
+    private OutboxRelay relay(int batchSize, OutboxSink sink) {
+        return new OutboxRelay(new OutboxRepository(jdbcTemplate), List.of(sink), transactionManager,
+                new OutboxProperties(true, batchSize, Duration.ofMinutes(1), null), meterRegistry);
+    }
+
+    private int outboxSize() {
+        return new TransactionTemplate(transactionManager).execute(status ->
+                jdbcTemplate.queryForObject("SELECT COUNT(*) FROM wallet_outbox", Integer.class));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.wallet.pool;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.BindException;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PoolSizingPostProcessorTest {
+
+    @Test
+    void poolSize_isBoundedByDatabaseCapacityPerInstance() {
+        assertAll(
+                () -> assertEquals(17, properties(8, 1, 100, 10, 1).poolSize()),
+                () -> assertEquals(11, properties(8, 1, 100, 12, 8).poolSize()),
+                () -> assertEquals(2, properties(1, 0, 20, 19, 4).poolSize())
+        );
+    }
+
+    @Test
+    void autoSize_requiresDatabaseCores() {
+        assertThrows(IllegalArgumentException.class, () -> properties(0, 1, 100, 10, 1));
+    }
+
+    @Test
+    void postProcess_sizesPrimaryPoolAndSkipsReplica() {
+        PoolSizingPostProcessor processor = new PoolSizingPostProcessor();
+        processor.setEnvironment(new MockEnvironment()
+                .withProperty("wallet.pool.auto-size", "true")
+                .withProperty("wallet.pool.db-cores", "4")
+                .withProperty("wallet.pool.effective-spindles", "2"));
+        HikariDataSource primary = new HikariDataSource();
+        HikariDataSource replica = new HikariDataSource();
+        replica.setPoolName("replica");
+
+        processor.postProcessBeforeInitialization(primary, "dataSource");
+        processor.postProcessBeforeInitialization(replica, "replicaDataSource");
+
+        assertAll(
+                () -> assertEquals(10, primary.getMaximumPoolSize()),
+                () -> assertEquals(10, primary.getMinimumIdle()),
+                () -> assertEquals(10, replica.getMaximumPoolSize())
+        );
+    }
+
+    @Test
+    void setEnvironment_autoSizeWithoutDatabaseCores_fails() {
+        PoolSizingPostProcessor processor = new PoolSizingPostProcessor();
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("wallet.pool.auto-size", "true")
+                .withProperty("wallet.pool.db-cores", "0");
+
+        assertThrows(BindException.class, () -> processor.setEnvironment(environment));
+    }
+
+    @Test
+    void postProcess_leavesPoolUntouchedWhenAutoSizeDisabled() {
+        PoolSizingPostProcessor processor = new PoolSizingPostProcessor();
+        processor.setEnvironment(new MockEnvironment().withProperty("wallet.pool.db-cores", "64"));
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setMaximumPoolSize(7);
+
+        processor.postProcessBeforeInitialization(dataSource, "dataSource");
+
+        assertEquals(7, dataSource.getMaximumPoolSize());
+    }
+
+    private static PoolSizingProperties properties(int cores, int spindles, int maxConnections, int reserved,
+                                                   int instances) {
+        return new PoolSizingProperties(true, cores, spindles, maxConnections, reserved, instances, 2);
+    }
+}
@@ -0,0 +1,128 @@
+package org.example.wallet.replica;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "wallet.replica.enabled=true",
+        "wallet.replica.url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "wallet.replica.username=sa",
+        "wallet.replica.password=",
+        "wallet.replica.read-your-writes-window=5s"
+})
+@AutoConfigureMockMvc
+public class ReplicaRoutingTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private HikariDataSource replicaDataSource;
+
+    @Autowired
+    private ReplicaHealth replicaHealth;
+
+    private JdbcTemplate replicaJdbcTemplate;
+    private UUID walletId;
+
+    @BeforeEach
+    void setUp() {
+        replicaJdbcTemplate = new JdbcTemplate(replicaDataSource);
+        replicaJdbcTemplate.execute("""
+                CREATE TABLE IF NOT EXISTS wallet (
+                    wallet_id UUID PRIMARY KEY,
+                    balance NUMERIC(19, 2) NOT NULL
+                )
+                """);
+        walletId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO wallet (wallet_id, balance) VALUES (?, 100.00)", walletId);
+        replicaJdbcTemplate.update("INSERT INTO wallet (wallet_id, balance) VALUES (?, 90.00)", walletId);
+        replicaHealth.check();
+    }
+
+    @Test
+    void getBalance_readOnly_isServedByReplica() throws Exception {
+        assertTrue(replicaHealth.isAvailable());
+
+        mockMvc.perform(get("/api/v1/wallet/{id}", walletId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance").value(90.00));
+    }
+
+    @Test
+    void getBalance_recentWriteToken_isServedByPrimary() throws Exception {
+        mockMvc.perform(get("/api/v1/wallet/{id}", walletId)
+                        .header(ReadYourWritesFilter.WRITE_TOKEN, System.currentTimeMillis()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance").value(100.00));
+    }
+
+    @Test
+    void getBalance_expiredWriteToken_isServedByReplica() throws Exception {
+        mockMvc.perform(get("/api/v1/wallet/{id}", walletId)
+                        .header(ReadYourWritesFilter.WRITE_TOKEN, System.currentTimeMillis() - 60_000))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance").value(90.00));
+    }
+
+    @Test
+    void getBalance_invalidWriteToken_isServedByReplica() throws Exception {
+        mockMvc.perform(get("/api/v1/wallet/{id}", walletId)
+                        .header(ReadYourWritesFilter.WRITE_TOKEN, "not-a-token"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance").value(90.00));
+    }
+
+    @Test
+    void doOperation_writesToPrimaryAndPinsFollowingReads() throws Exception {
+        mockMvc.perform(post("/api/v1/wallet")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"walletId": "%s", "operationType": "DEPOSIT", "amount": 10.00}
+                                """.formatted(walletId)))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(ReadYourWritesFilter.WRITE_TOKEN))
+                .andExpect(jsonPath("$.balance").value(110.00));
+
+        mockMvc.perform(get("/api/v1/wallet/{id}", walletId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance").value(110.00));
+
+        assertEquals(0, new BigDecimal("90.00").compareTo(replicaJdbcTemplate.queryForObject(
+                "SELECT balance FROM wallet WHERE wallet_id = ?", BigDecimal.class, walletId)));
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void getBalance_replicaDown_fallsBackToPrimary() throws Exception {
+        replicaDataSource.close();
+        replicaHealth.check();
+
+        assertFalse(replicaHealth.isAvailable());
+        mockMvc.perform(get("/api/v1/wallet/{id}", walletId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance").value(100.00));
+    }
+}
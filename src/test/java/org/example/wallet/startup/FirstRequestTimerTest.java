@@ -0,0 +1,58 @@
+package org.example.wallet.startup;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FirstRequestTimerTest {
+
+    @Test
+    void record_publishesTimeFromProcessStart() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        FirstRequestTimer timer = new FirstRequestTimer(registry);
+        Instant start = Instant.parse("2026-01-01T00:00:00Z");
+
+        timer.record(Optional.of(start), start.plusMillis(850));
+
+        assertEquals(850, registry.get("wallet.startup.first-request").timeGauge().value(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void doFilter_recordsOnlyFirstRequest() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        FirstRequestTimer timer = new FirstRequestTimer(registry);
+
+        timer.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), new MockFilterChain());
+        double first = registry.get("wallet.startup.first-request").timeGauge().value(TimeUnit.MILLISECONDS);
+        Thread.sleep(5);
+        timer.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertAll(
+                () -> assertTrue(first > 0),
+                () -> assertEquals(first, registry.get("wallet.startup.first-request").timeGauge()
+                        .value(TimeUnit.MILLISECONDS))
+        );
+    }
+
+    @Test
+    void residentSetBytes_parsesProcStatus(@TempDir Path dir) throws IOException {
+        Path status = Files.writeString(dir.resolve("status"), "Name:\tjava\nVmRSS:\t  204800 kB\nThreads:\t12\n");
+
+        assertAll(
+                () -> assertEquals(204800.0 * 1024, FirstRequestTimer.residentSetBytes(status)),
+                () -> assertTrue(Double.isNaN(FirstRequestTimer.residentSetBytes(dir.resolve("missing"))))
+        );
+    }
+}
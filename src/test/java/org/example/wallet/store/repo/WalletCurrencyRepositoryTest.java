@@ -0,0 +1,95 @@
+package org.example.wallet.store.repo;
+
+import org.example.wallet.api.dtos.wallet.CurrencyBalanceDto;
+import org.example.wallet.money.Money;
+import org.example.wallet.store.sql.SqlDialect;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Currency;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@JdbcTest
+@Import(SqlDialect.class)
+public class WalletCurrencyRepositoryTest {
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SqlDialect dialect;
+
+    private WalletCurrencyRepository walletCurrencyRepository;
+
+    private static final UUID WALLET_ID = UUID.fromString("11111111-1111-1111-1111-111111111111");
+    private static final UUID UNKNOWN_ID = UUID.fromString("99999999-9999-9999-9999-999999999999");
+    private static final Currency USD = Currency.getInstance("USD");
+    private static final Currency EUR = Currency.getInstance("EUR");
+
+    @BeforeEach
+    void setup() {
+        walletCurrencyRepository = new WalletCurrencyRepository(jdbcTemplate, dialect);
+        jdbcTemplate.update("DELETE FROM wallet_balance");
+        jdbcTemplate.update("DELETE FROM wallet_transaction");
+        jdbcTemplate.update("DELETE FROM wallet_outbox");
+    }
+
+    @Test
+    void deposit_createsAndThenIncrementsCurrencyBalance() {
+        BalanceUpdate first = walletCurrencyRepository.deposit(WALLET_ID, USD, Money.parse("10.00"));
+        BalanceUpdate second = walletCurrencyRepository.deposit(WALLET_ID, USD, Money.parse("2.50"));
+
+        assertAll(
+                () -> assertEquals(Money.parse("10.00"), first.balance()),
+                () -> assertEquals(Money.parse("12.50"), second.balance()),
+                () -> assertEquals(2, jdbcTemplate.queryForObject(
+                        "SELECT COUNT(*) FROM wallet_transaction WHERE wallet_id = ? AND currency = 'USD'",
+                        Integer.class, WALLET_ID)),
+                () -> assertEquals(2, jdbcTemplate.queryForObject(
+                        "SELECT COUNT(*) FROM wallet_outbox WHERE wallet_id = ? AND currency = 'USD'",
+                        Integer.class, WALLET_ID))
+        );
+    }
+
+    @Test
+    void withdraw_insufficientOrMissingBalance_notApplied() {
+        walletCurrencyRepository.deposit(WALLET_ID, USD, Money.parse("5.00"));
+
+        BalanceUpdate tooMuch = walletCurrencyRepository.withdraw(WALLET_ID, USD, Money.parse("6.00"));
+        BalanceUpdate noBalance = walletCurrencyRepository.withdraw(WALLET_ID, EUR, Money.parse("1.00"));
+        BalanceUpdate applied = walletCurrencyRepository.withdraw(WALLET_ID, USD, Money.parse("5.00"));
+
+        assertAll(
+                () -> assertTrue(tooMuch.walletFound()),
+                () -> assertFalse(tooMuch.isApplied()),
+                () -> assertTrue(noBalance.walletFound()),
+                () -> assertFalse(noBalance.isApplied()),
+                () -> assertEquals(Money.ZERO, applied.balance())
+        );
+    }
+
+    @Test
+    void unknownWallet_notFound() {
+        assertAll(
+                () -> assertFalse(walletCurrencyRepository.deposit(UNKNOWN_ID, USD, Money.parse("1.00")).walletFound()),
+                () -> assertFalse(walletCurrencyRepository.withdraw(UNKNOWN_ID, USD, Money.parse("1.00")).walletFound()),
+                () -> assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM wallet_balance", Integer.class))
+        );
+    }
+
+    @Test
+    void findBalances_returnsAllCurrenciesInOrder() {
+        walletCurrencyRepository.deposit(WALLET_ID, USD, Money.parse("3.00"));
+        walletCurrencyRepository.deposit(WALLET_ID, EUR, Money.parse("4.00"));
+
+        assertEquals(List.of(new CurrencyBalanceDto("EUR", Money.parse("4.00")),
+                        new CurrencyBalanceDto("USD", Money.parse("3.00"))),
+                walletCurrencyRepository.findBalances(WALLET_ID));
+    }
+}
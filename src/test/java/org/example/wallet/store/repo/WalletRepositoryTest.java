@@ -1,9 +1,13 @@
 package org.example.wallet.store.repo;
 
+import org.example.wallet.money.Money;
 import org.example.wallet.store.entities.Wallet;
+import org.example.wallet.store.sql.SqlDialect;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 import java.math.BigDecimal;
 import java.util.UUID;
@@ -11,17 +15,21 @@ import java.util.UUID;
 import static org.junit.jupiter.api.Assertions.*;
 
 @DataJpaTest
+@Import(SqlDialect.class)
 public class WalletRepositoryTest {
     @Autowired
     private WalletRepository walletRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private static final UUID WALLET_ID_1 = UUID.fromString("11111111-1111-1111-1111-111111111111");
     private static final UUID WALLET_ID_2 = UUID.fromString("22222222-2222-2222-2222-222222222222");
 
     @Test
     void testFindById() {
         Wallet wallet = walletRepository.findById(WALLET_ID_1).orElseThrow();
-        assertEquals(new BigDecimal("1000.00"), wallet.getBalance());
+        assertEquals(Money.parse("1000.00"), wallet.getBalance());
     }
 
     @Test
@@ -31,38 +39,69 @@ public class WalletRepositoryTest {
     }
 
     @Test
-    void testWithdrawSuccess() {
-        BigDecimal amount = new BigDecimal("200.00");
-        int updated = walletRepository.withdraw(WALLET_ID_1, amount);
-        Wallet wallet = walletRepository.findById(WALLET_ID_1).orElseThrow();
+    void testFindBalanceById() {
+        assertEquals(Money.parse("1000.00"), walletRepository.findBalanceById(WALLET_ID_1).orElseThrow());
+        assertTrue(walletRepository.findBalanceById(UUID.fromString("99999999-9999-9999-9999-999999999999")).isEmpty());
+    }
+
+    @Test
+    void testReturningBalance_writesJournalEntry() {
+        walletRepository.depositReturningBalance(WALLET_ID_2, Money.parse("25.00"));
+        walletRepository.withdrawReturningBalance(WALLET_ID_2, Money.parse("900.00"));
+
+        var entries = jdbcTemplate.queryForList(
+                "SELECT operation_type, amount, balance FROM wallet_transaction WHERE wallet_id = ?", WALLET_ID_2);
 
         assertAll(
-                () -> assertEquals(1, updated),
-                () -> assertEquals(new BigDecimal("800.00"), wallet.getBalance())
+                () -> assertEquals(1, entries.size()),
+                () -> assertEquals("DEPOSIT", entries.get(0).get("OPERATION_TYPE")),
+                () -> assertEquals(new BigDecimal("25.00"), entries.get(0).get("AMOUNT")),
+                () -> assertEquals(new BigDecimal("525.00"), entries.get(0).get("BALANCE"))
         );
     }
 
     @Test
-    void testWithdrawFailDueToInsufficientFunds() {
-        BigDecimal amount = new BigDecimal("600.00");
-        int updated = walletRepository.withdraw(WALLET_ID_2, amount);
-        Wallet wallet = walletRepository.findById(WALLET_ID_2).orElseThrow();
+    void testWithdrawReturningBalance() {
+        BalanceUpdate update = walletRepository.withdrawReturningBalance(WALLET_ID_1, Money.parse("200.00"));
 
         assertAll(
-                () -> assertEquals(0, updated),
-                () -> assertEquals(new BigDecimal("500.00"), wallet.getBalance())
+                () -> assertTrue(update.walletFound()),
+                () -> assertTrue(update.isApplied()),
+                () -> assertEquals(Money.parse("800.00"), update.balance())
         );
     }
 
     @Test
-    void testDeposit() {
-        BigDecimal amount = new BigDecimal("150.00");
-        int updated = walletRepository.deposit(WALLET_ID_2, amount);
+    void testWithdrawReturningBalance_InsufficientFunds() {
+        BalanceUpdate update = walletRepository.withdrawReturningBalance(WALLET_ID_2, Money.parse("600.00"));
         Wallet wallet = walletRepository.findById(WALLET_ID_2).orElseThrow();
 
         assertAll(
-                () -> assertEquals(1, updated),
-                () -> assertEquals(new BigDecimal("650.00"), wallet.getBalance())
+                () -> assertTrue(update.walletFound()),
+                () -> assertFalse(update.isApplied()),
+                () -> assertEquals(Money.parse("500.00"), wallet.getBalance())
+        );
+    }
+
+    @Test
+    void testDepositReturningBalance() {
+        BalanceUpdate update = walletRepository.depositReturningBalance(WALLET_ID_2, Money.parse("150.00"));
+
+        assertAll(
+                () -> assertTrue(update.isApplied()),
+                () -> assertEquals(Money.parse("650.00"), update.balance())
+        );
+    }
+
+    @Test
+    void testReturningBalance_NotFound() {
+        UUID nonExistentId = UUID.fromString("99999999-9999-9999-9999-999999999999");
+        BalanceUpdate withdraw = walletRepository.withdrawReturningBalance(nonExistentId, Money.ofMinor(100));
+        BalanceUpdate deposit = walletRepository.depositReturningBalance(nonExistentId, Money.ofMinor(100));
+
+        assertAll(
+                () -> assertFalse(withdraw.walletFound()),
+                () -> assertFalse(deposit.walletFound())
         );
     }
 }
\ No newline at end of file
@@ -0,0 +1,63 @@
+package org.example.wallet.store.repo;
+
+import org.example.wallet.api.dtos.wallet.WalletTransactionDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@JdbcTest
+public class WalletTransactionRepositoryTest {
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private WalletTransactionRepository walletTransactionRepository;
+
+    private static final UUID WALLET_ID = UUID.fromString("33333333-3333-3333-3333-333333333333");
+    private static final OffsetDateTime T1 = OffsetDateTime.parse("2026-09-30T23:59:59Z");
+    private static final OffsetDateTime T2 = OffsetDateTime.parse("2026-10-01T00:00:00Z");
+
+    @BeforeEach
+    void setup() {
+        walletTransactionRepository = new WalletTransactionRepository(jdbcTemplate);
+        insert(1, T1);
+        insert(2, T2);
+        insert(3, T2);
+        insert(4, T2);
+    }
+
+    @Test
+    void findFirstPage_newestFirst() {
+        List<WalletTransactionDto> page = walletTransactionRepository.findFirstPage(WALLET_ID, 2);
+
+        assertEquals(List.of(4L, 3L), ids(page));
+    }
+
+    @Test
+    void findPageBefore_continuesAfterCursorIncludingEqualTimestamps() {
+        List<WalletTransactionDto> page = walletTransactionRepository.findPageBefore(WALLET_ID, T2, 1_000_003, 10);
+
+        assertAll(
+                () -> assertEquals(List.of(2L, 1L), ids(page)),
+                () -> assertEquals(T1.toInstant(), page.get(1).createdAt().toInstant())
+        );
+    }
+
+    private void insert(long id, OffsetDateTime createdAt) {
+        jdbcTemplate.update("""
+                INSERT INTO wallet_transaction (transaction_id, wallet_id, operation_type, amount, balance, created_at)
+                VALUES (?, ?, 'DEPOSIT', 10.00, 1010.00, ?)
+                """, id + 1_000_000, WALLET_ID, createdAt);
+    }
+
+    private static List<Long> ids(List<WalletTransactionDto> page) {
+        return page.stream().map(transaction -> transaction.transactionId() - 1_000_000).toList();
+    }
+}
@@ -0,0 +1,83 @@
+package org.example.wallet.store.repo;
+
+import org.example.wallet.store.sql.SqlDialect;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@JdbcTest
+@Import(SqlDialect.class)
+public class WalletTransferRepositoryTest {
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SqlDialect dialect;
+
+    private WalletTransferRepository walletTransferRepository;
+
+    private static final UUID WALLET_ID_1 = UUID.fromString("11111111-1111-1111-1111-111111111111");
+    private static final UUID WALLET_ID_2 = UUID.fromString("22222222-2222-2222-2222-222222222222");
+    private static final UUID UNKNOWN_ID = UUID.fromString("99999999-9999-9999-9999-999999999999");
+
+    @BeforeEach
+    void setup() {
+        walletTransferRepository = new WalletTransferRepository(jdbcTemplate, dialect);
+        jdbcTemplate.update("DELETE FROM wallet_transaction");
+        jdbcTemplate.update("UPDATE wallet SET balance = 1000.00 WHERE wallet_id = ?", WALLET_ID_1);
+        jdbcTemplate.update("UPDATE wallet SET balance = 500.00 WHERE wallet_id = ?", WALLET_ID_2);
+    }
+
+    @Test
+    void transfer_success() {
+        TransferUpdate update = walletTransferRepository.transfer(WALLET_ID_2, WALLET_ID_1, new BigDecimal("200.00"));
+
+        assertAll(
+                () -> assertTrue(update.isApplied()),
+                () -> assertEquals(new BigDecimal("300.00"), update.sourceBalance()),
+                () -> assertEquals(new BigDecimal("1200.00"), update.targetBalance()),
+                () -> assertEquals(new BigDecimal("300.00"), balance(WALLET_ID_2)),
+                () -> assertEquals(new BigDecimal("1200.00"), balance(WALLET_ID_1)),
+                () -> assertEquals(2, jdbcTemplate.queryForObject(
+                        "SELECT COUNT(*) FROM wallet_transaction WHERE wallet_id IN (?, ?)", Integer.class,
+                        WALLET_ID_1, WALLET_ID_2))
+        );
+    }
+
+    @Test
+    void transfer_insufficientFunds_leavesBothWalletsUntouched() {
+        TransferUpdate update = walletTransferRepository.transfer(WALLET_ID_2, WALLET_ID_1, new BigDecimal("600.00"));
+
+        assertAll(
+                () -> assertTrue(update.sourceFound()),
+                () -> assertTrue(update.targetFound()),
+                () -> assertFalse(update.isApplied()),
+                () -> assertEquals(new BigDecimal("500.00"), balance(WALLET_ID_2)),
+                () -> assertEquals(new BigDecimal("1000.00"), balance(WALLET_ID_1))
+        );
+    }
+
+    @Test
+    void transfer_unknownTarget_notApplied() {
+        TransferUpdate update = walletTransferRepository.transfer(WALLET_ID_1, UNKNOWN_ID, new BigDecimal("10.00"));
+
+        assertAll(
+                () -> assertTrue(update.sourceFound()),
+                () -> assertFalse(update.targetFound()),
+                () -> assertFalse(update.isApplied()),
+                () -> assertEquals(new BigDecimal("1000.00"), balance(WALLET_ID_1))
+        );
+    }
+
+    private BigDecimal balance(UUID walletId) {
+        return jdbcTemplate.queryForObject("SELECT balance FROM wallet WHERE wallet_id = ?", BigDecimal.class, walletId);
+    }
+}